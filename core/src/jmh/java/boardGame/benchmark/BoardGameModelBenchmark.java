@@ -0,0 +1,106 @@
+package boardGame.benchmark;
+
+import boardGame.BoardGameModel.BoardGameModel;
+import boardGame.BoardGameModel.BoardState;
+import boardGame.Movement.Position;
+import boardGame.Stone.StoneColor;
+import boardGame.Stone.StoneDirection;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks of the queries and moves of the board game model from the initial position.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BoardGameModelBenchmark {
+
+    private static final StoneDirection[] DIRECTIONS = StoneDirection.values();
+
+    private BoardGameModel model;
+    private BoardState state;
+    private Position bluePosition;
+    private Position redPosition;
+
+    @Setup
+    public void setUp() {
+        model = new BoardGameModel();
+        state = model.copyState();
+        bluePosition = new Position(0, 4);
+        redPosition = new Position(4, 3);
+    }
+
+    @Benchmark
+    public int isValidMove() {
+        int valid = 0;
+        for (int stone = 0; stone < model.getStoneCount(); stone++) {
+            for (var direction : DIRECTIONS) {
+                if (model.isValidMove(stone, direction)) {
+                    valid++;
+                }
+            }
+        }
+        return valid;
+    }
+
+    @Benchmark
+    public void getValidMoves(Blackhole blackhole) {
+        for (int stone = 0; stone < model.getStoneCount(); stone++) {
+            blackhole.consume(model.getValidMoves(stone));
+        }
+    }
+
+    @Benchmark
+    public void move() {
+        model.move(3, StoneDirection.DOWN_DIAGONAL_RIGHT);
+        model.move(3, StoneDirection.UP_DIAGONAL_LEFT);
+    }
+
+    @Benchmark
+    public void makeUnmakeMove() {
+        int move = BoardState.encodeMove(3, StoneDirection.DOWN_DIAGONAL_RIGHT);
+        model.makeMove(move);
+        model.unmakeMove(move);
+    }
+
+    @Benchmark
+    public void getPositions(Blackhole blackhole) {
+        blackhole.consume(model.getBluePositions());
+        blackhole.consume(model.getRedPositions());
+    }
+
+    @Benchmark
+    public void getStoneNumber(Blackhole blackhole) {
+        blackhole.consume(model.getBlueStoneNumber(bluePosition));
+        blackhole.consume(model.getRedStoneNumber(redPosition));
+    }
+
+    /**
+     * The list containment check of {@code BoardGameController.checkWinner}.
+     */
+    @Benchmark
+    public boolean controllerWinCheck() {
+        return model.getRedPositions().containsAll(model.blueInitialPositions)
+                | model.getBluePositions().containsAll(model.redInitialPositions);
+    }
+
+    @Benchmark
+    public boolean stateWinCheck() {
+        return state.hasWon(StoneColor.BLUE) | state.hasWon(StoneColor.RED);
+    }
+}
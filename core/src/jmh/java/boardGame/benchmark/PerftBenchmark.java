@@ -0,0 +1,50 @@
+package boardGame.benchmark;
+
+import boardGame.BoardGameModel.BoardGameModel;
+import boardGame.BoardGameModel.BoardState;
+import boardGame.Search.Perft;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmark counting every move sequence from the initial position, failing on a count
+ * that differs from {@link Perft#INITIAL_COUNTS}.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PerftBenchmark {
+
+    @Param({"4", "5", "6"})
+    public int depth;
+
+    private BoardState state;
+
+    @Setup
+    public void setUp() {
+        state = new BoardGameModel().copyState();
+    }
+
+    @Benchmark
+    public long perft() {
+        long nodes = Perft.perft(state, depth);
+        if (nodes != Perft.INITIAL_COUNTS[depth]) {
+            throw new IllegalStateException("perft(" + depth + ") = " + nodes);
+        }
+        return nodes;
+    }
+}
@@ -0,0 +1,4 @@
+/**
+ * Includes the JMH benchmarks of the game rules, run with the {@code benchmark} Maven profile.
+ */
+package boardGame.benchmark;
@@ -0,0 +1,15 @@
+package boardGame.BoardGameModel;
+
+/**
+ * Interface of the observers of a {@link BoardGameModel} told about the changes of its board.
+ */
+@FunctionalInterface
+public interface BoardChangeListener {
+
+    /**
+     * Called once the moves of a change are all made.
+     *
+     * @param event the stones moved by the change
+     */
+    void boardChanged(BoardChanged event);
+}
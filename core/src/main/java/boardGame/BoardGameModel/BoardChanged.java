@@ -0,0 +1,44 @@
+package boardGame.BoardGameModel;
+
+import boardGame.Movement.Position;
+
+import java.util.List;
+
+/**
+ * Class extending the Record class that holds the difference between two boards of a model,
+ * published once for a move made, undone or redone, or once for a whole sequence of moves.
+ * A stone moved several times appears once, with its first and last position, and a stone back
+ * where it started does not appear at all.
+ *
+ * @param changes the stones whose position differs, in the order they first moved
+ */
+public record BoardChanged(List<StoneChange> changes) {
+
+    /**
+     * Class extending the Record class that holds the change of position of a single stone.
+     *
+     * @param stoneNumber the number of the stone
+     * @param from        the position of the stone before the change
+     * @param to          the position of the stone after the change
+     */
+    public record StoneChange(int stoneNumber, Position from, Position to) {
+    }
+
+    /**
+     * Creates an event holding a copy of the changes given.
+     *
+     * @param changes the stones whose position differs
+     */
+    public BoardChanged {
+        changes = List.copyOf(changes);
+    }
+
+    /**
+     * Returns whether no stone changed position.
+     *
+     * @return whether the event holds no change
+     */
+    public boolean isEmpty() {
+        return changes.isEmpty();
+    }
+}
@@ -0,0 +1,640 @@
+package boardGame.BoardGameModel;
+
+import boardGame.Metrics.Metrics;
+import boardGame.Movement.Position;
+import boardGame.Movement.PositionTable;
+import boardGame.Stone.Stone;
+import boardGame.Stone.StoneColor;
+import boardGame.Stone.StoneDirection;
+import boardGame.Tablebase.Tablebase;
+import boardGame.Tablebase.TablebaseValue;
+
+import java.util.*;
+
+/**
+ * Class representing the board game model, stones initial positioning and the rules of the game.
+ * The rules are evaluated by a {@link BoardState}, which also holds the stone positions.
+ * Observers register a {@link BoardChangeListener}, the model itself has no user interface dependency
+ * and a model that is never observed neither allocates nor notifies anybody on a move.
+ * Each move made, undone or redone is published as one {@link BoardChanged} event, and the moves
+ * made between {@link #beginBatch()} and {@link #endBatch()} are published together as a single event.
+ * The moves made are kept in a bounded history, so they can be undone and redone.
+ * The positions reached are kept in a {@link PositionHistory}, so the {@link DrawRule} of the model
+ * can draw a game repeating itself or running too long.
+ */
+public class BoardGameModel {
+
+    /**
+     * The number of rows and columns of the board of the original game.
+     */
+    public static final int DEFAULT_SIZE = 5;
+
+    private final int size;
+
+    /**
+     * The number of moves that can be undone.
+     */
+    public static final int HISTORY_LIMIT = 1024;
+
+    private final BoardState state;
+
+    private final PositionTable positions;
+
+    private BoardChangeListener[] listeners = new BoardChangeListener[0];
+    private final int[] changedFrom;
+    private final int[] changedStones;
+    private int changedCount;
+    private int batchDepth;
+
+    private final int[] history = new int[HISTORY_LIMIT];
+    private int historyEnd;
+    private int historySize;
+    private final int[] redoMoves = new int[HISTORY_LIMIT];
+    private int redoSize;
+
+    private final PositionHistory positionHistory = new PositionHistory(HISTORY_LIMIT + 1);
+    private int plyCount;
+    private DrawRule drawRule = DrawRule.DEFAULT;
+
+    public List<Position> blueInitialPositions = new ArrayList<>();
+    public List<Position> redInitialPositions = new ArrayList<>();
+
+    /**
+     * Class that represents the initial positioning of the stones corresponding to row and column.
+     */
+    public BoardGameModel() {
+        this(BoardLayout.DEFAULT);
+    }
+
+    /**
+     * Creates a model with the stones of the generated layout given.
+     *
+     * @param layout the board size and initial layout of the stones
+     */
+    public BoardGameModel(BoardLayout layout) {
+        this(layout.size(), layout.createStones());
+    }
+
+    /**
+     * Creates a model of the original board size with the stones given.
+     *
+     * @param stones the stones in their initial positions
+     */
+    public BoardGameModel(Stone... stones) {
+        this(DEFAULT_SIZE, stones);
+    }
+
+    /**
+     * Creates a model of the board size given with the stones given.
+     *
+     * @param size   the number of rows and columns of the board
+     * @param stones the stones in their initial positions
+     */
+    public BoardGameModel(int size, Stone... stones) {
+        if (size < 1 || size > BoardState.MAX_SIZE) {
+            throw new IllegalArgumentException();
+        }
+        this.size = size;
+        this.positions = PositionTable.of(size);
+        checkStones(stones);
+        var colors = new StoneColor[stones.length];
+        var squares = new int[stones.length];
+        for (int i = 0; i < stones.length; i++) {
+            colors[i] = stones[i].getColor();
+            squares[i] = stones[i].getPosition().row() * size + stones[i].getPosition().col();
+        }
+        this.state = new BoardState(size, colors, squares);
+        positionHistory.push(state.getHash());
+        this.changedFrom = new int[stones.length];
+        this.changedStones = new int[stones.length];
+        Arrays.fill(changedFrom, -1);
+    }
+
+    /**
+     * creating a HashSet for the stones on the board and adding each color to its separate list.
+     * @param stones the array of stones on the board
+     */
+    private void checkStones(Stone[] stones) {
+        var seen = new HashSet<Position>();
+        for (var stone : stones) {
+            if (!isOnBoard(stone.getPosition()) || seen.contains(stone.getPosition())) {
+                throw new IllegalArgumentException();
+            }
+            if (stone.getColor() == StoneColor.BLUE) {
+                blueInitialPositions.add(stone.getPosition());
+            } else {
+                redInitialPositions.add(stone.getPosition());
+            }
+            seen.add(stone.getPosition());
+        }
+    }
+
+    /**
+     * Returns the number of rows and columns of the board.
+     *
+     * @return the board size
+     */
+    public int getSize() {
+        return size;
+    }
+
+    /**
+     * Returns the shared positions of the board of this model.
+     *
+     * @return the position table of the board size
+     */
+    public PositionTable getPositionTable() {
+        return positions;
+    }
+
+    /**
+     * Returns the number of the stones on the game board.
+     *
+     * @return the number of the stones
+     */
+    public int getStoneCount() {
+        return state.getStoneCount();
+    }
+
+    /**
+     * Returns the color the stone specified by the number given.
+     *
+     * @param stoneNumber the value representing the stone number
+     * @return the stone color whether blue or red
+     */
+    public StoneColor getStoneColor(int stoneNumber) {
+        return state.getStoneColor(stoneNumber);
+    }
+
+    /**
+     * Returns the stone position on the game board for the specific stone
+     * according to the stone number specified.
+     *
+     * @param stoneNumber the value representing the stone number
+     * @return the stone position on the game board
+     */
+    public Position getStonePosition(int stoneNumber) {
+        return positions.get(state.getSquare(stoneNumber));
+    }
+
+    /**
+     * Registers a listener told about every change of the board from now on.
+     *
+     * @param listener the listener to add
+     */
+    public void addBoardChangeListener(BoardChangeListener listener) {
+        listeners = Arrays.copyOf(listeners, listeners.length + 1);
+        listeners[listeners.length - 1] = Objects.requireNonNull(listener);
+    }
+
+    /**
+     * Unregisters a listener added before, nothing happens if it is not registered.
+     *
+     * @param listener the listener to remove
+     */
+    public void removeBoardChangeListener(BoardChangeListener listener) {
+        for (int i = 0; i < listeners.length; i++) {
+            if (listeners[i] == listener) {
+                var rest = new BoardChangeListener[listeners.length - 1];
+                System.arraycopy(listeners, 0, rest, 0, i);
+                System.arraycopy(listeners, i + 1, rest, i, rest.length - i);
+                listeners = rest;
+                return;
+            }
+        }
+    }
+
+    /**
+     * Starts collecting the moves made, undone and redone, so they are published as a single event
+     * by the matching {@link #endBatch()}. Batches can be nested, the outermost one publishes the event.
+     */
+    public void beginBatch() {
+        batchDepth++;
+    }
+
+    /**
+     * Ends a batch started by {@link #beginBatch()}, publishing the changes of the board once
+     * the outermost batch ends.
+     *
+     * @throws IllegalStateException if no batch is started
+     */
+    public void endBatch() {
+        if (batchDepth == 0) {
+            throw new IllegalStateException();
+        }
+        if (--batchDepth == 0) {
+            publishChanges();
+        }
+    }
+
+    /**
+     * Returns boolean value checking if a move is valid or not for the specified stone number.
+     *
+     * @param stoneNumber the value representing the stone number
+     * @param direction   the movement of the stone
+     * @return boolean value whether the move is valid or not
+     */
+    public boolean isValidMove(int stoneNumber, StoneDirection direction) {
+        if (stoneNumber < 0 || stoneNumber >= state.getStoneCount()) {
+            throw new IllegalArgumentException();
+        }
+        return state.isValidMove(stoneNumber, direction);
+    }
+
+    /**
+     * A set that contains all possible moves for the specified stone number.
+     *
+     * @param stoneNumber the value representing the stone number
+     * @return a set containing all possible moves for that stone
+     */
+    public Set<StoneDirection> getValidMoves(int stoneNumber) {
+        EnumSet<StoneDirection> validMoves = EnumSet.noneOf(StoneDirection.class);
+        for (var direction : StoneDirection.values()) {
+            if (isValidMove(stoneNumber, direction)) {
+                validMoves.add(direction);
+            }
+        }
+        return validMoves;
+    }
+
+    /**
+     * Returns the new position of the moving stone.
+     *
+     * @param stoneNumber the value representing the stone number
+     * @param direction   the new position of the stone
+     * @throws IllegalArgumentException if the move is not valid or moves a stone of the side not to move
+     */
+    public void move(int stoneNumber, StoneDirection direction) {
+        makeMove(BoardState.encodeMove(stoneNumber, direction));
+    }
+
+    /**
+     * Makes an encoded move, see {@link BoardState#encodeMove(int, StoneDirection)}, and adds it to the history.
+     * Making a move forgets the moves that could be redone.
+     *
+     * @param move the encoded move
+     * @throws IllegalArgumentException if the move is not valid or moves a stone of the side not to move
+     */
+    public void makeMove(int move) {
+        long start = Metrics.ENABLED ? System.nanoTime() : 0;
+        int stone = BoardState.moveStone(move);
+        if (!isValidMove(stone, BoardState.moveDirection(move)) || state.getStoneColor(stone) != getSideToMove()) {
+            if (Metrics.ENABLED) {
+                Metrics.GLOBAL.illegalMoveAttempted();
+            }
+            throw new IllegalArgumentException();
+        }
+        apply(move);
+        push(move);
+        redoSize = 0;
+        if (Metrics.ENABLED) {
+            Metrics.GLOBAL.moveApplied(System.nanoTime() - start);
+        }
+    }
+
+    /**
+     * Takes back an encoded move, which must be the last move made, and removes it from the history.
+     * Unlike {@link #undo()} the move cannot be redone, and the moves undone before are forgotten
+     * as they no longer follow the position.
+     *
+     * @param move the encoded move
+     * @throws IllegalArgumentException if the move is not the last move made
+     */
+    public void unmakeMove(int move) {
+        if (historySize == 0 || lastMove() != move) {
+            throw new IllegalArgumentException();
+        }
+        pop();
+        takeBack(move);
+        redoSize = 0;
+    }
+
+    /**
+     * Returns whether there is a move in the history to undo.
+     *
+     * @return whether a move can be undone
+     */
+    public boolean canUndo() {
+        return historySize > 0;
+    }
+
+    /**
+     * Returns whether there is an undone move to redo.
+     *
+     * @return whether a move can be redone
+     */
+    public boolean canRedo() {
+        return redoSize > 0;
+    }
+
+    /**
+     * Takes back the last move made.
+     *
+     * @return the encoded move taken back
+     * @throws IllegalStateException if there is no move to undo
+     */
+    public int undo() {
+        if (!canUndo()) {
+            throw new IllegalStateException();
+        }
+        int move = pop();
+        takeBack(move);
+        redoMoves[redoSize++] = move;
+        return move;
+    }
+
+    /**
+     * Makes the last move undone again.
+     *
+     * @return the encoded move made
+     * @throws IllegalStateException if there is no move to redo
+     */
+    public int redo() {
+        if (!canRedo()) {
+            throw new IllegalStateException();
+        }
+        int move = redoMoves[--redoSize];
+        apply(move);
+        push(move);
+        return move;
+    }
+
+    private void apply(int move) {
+        recordChange(BoardState.moveStone(move));
+        state.makeMove(move);
+        positionHistory.push(state.getHash());
+        plyCount++;
+        if (batchDepth == 0) {
+            publishChanges();
+        }
+    }
+
+    private void takeBack(int move) {
+        recordChange(BoardState.moveStone(move));
+        state.unmakeMove(move);
+        positionHistory.pop();
+        plyCount--;
+        if (batchDepth == 0) {
+            publishChanges();
+        }
+    }
+
+    private void recordChange(int stoneNumber) {
+        if (listeners.length > 0 && changedFrom[stoneNumber] < 0) {
+            changedFrom[stoneNumber] = state.getSquare(stoneNumber);
+            changedStones[changedCount++] = stoneNumber;
+        }
+    }
+
+    private void publishChanges() {
+        if (changedCount == 0) {
+            return;
+        }
+        var changes = new ArrayList<BoardChanged.StoneChange>(changedCount);
+        for (int i = 0; i < changedCount; i++) {
+            int stoneNumber = changedStones[i];
+            int from = changedFrom[stoneNumber];
+            changedFrom[stoneNumber] = -1;
+            if (from != state.getSquare(stoneNumber)) {
+                changes.add(new BoardChanged.StoneChange(stoneNumber, positions.get(from),
+                        getStonePosition(stoneNumber)));
+            }
+        }
+        changedCount = 0;
+        if (changes.isEmpty()) {
+            return;
+        }
+        var event = new BoardChanged(changes);
+        for (var listener : listeners) {
+            listener.boardChanged(event);
+        }
+    }
+
+    private void push(int move) {
+        history[historyEnd] = move;
+        historyEnd = (historyEnd + 1) % HISTORY_LIMIT;
+        historySize = Math.min(historySize + 1, HISTORY_LIMIT);
+    }
+
+    private int pop() {
+        historyEnd = (historyEnd + HISTORY_LIMIT - 1) % HISTORY_LIMIT;
+        historySize--;
+        return history[historyEnd];
+    }
+
+    private int lastMove() {
+        return history[(historyEnd + HISTORY_LIMIT - 1) % HISTORY_LIMIT];
+    }
+
+    /**
+     * Writes the encoded valid moves of the side to move into the array given.
+     *
+     * @param moves the array receiving the moves, it must hold four moves per stone
+     * @return the number of valid moves
+     */
+    public int generateMoves(int[] moves) {
+        return state.generateMoves(moves);
+    }
+
+    /**
+     * Returns whether every stone of the color given stands on a goal square.
+     * The stones on goal squares are counted as they move, so this takes constant time.
+     *
+     * @param color the color to check
+     * @return whether the color has won
+     */
+    public boolean hasWon(StoneColor color) {
+        return state.hasWon(color);
+    }
+
+    /**
+     * Returns the result of the game, see {@link BoardState#getResult()}, a game that can still be played
+     * is a draw once the draw rule of the model says so.
+     *
+     * @return the result of the game
+     */
+    public GameResult getResult() {
+        var result = state.getResult();
+        if (!result.isOver() && drawRule.isDrawn(getRepetitionCount(), plyCount)) {
+            return GameResult.DRAW;
+        }
+        return result;
+    }
+
+    /**
+     * Returns the rule drawing unfinished games, {@link DrawRule#DEFAULT} unless another one is set.
+     *
+     * @return the draw rule
+     */
+    public DrawRule getDrawRule() {
+        return drawRule;
+    }
+
+    /**
+     * Sets the rule drawing unfinished games.
+     *
+     * @param drawRule the draw rule
+     */
+    public void setDrawRule(DrawRule drawRule) {
+        this.drawRule = Objects.requireNonNull(drawRule);
+    }
+
+    /**
+     * Returns the number of plies played, the moves undone excluded.
+     *
+     * @return the number of plies played
+     */
+    public int getPlyCount() {
+        return plyCount;
+    }
+
+    /**
+     * Returns the number of times the current position occurred with the same side to move,
+     * counting at least the positions since the oldest move that can be undone.
+     *
+     * @return the number of occurrences of the current position, at least one
+     */
+    public int getRepetitionCount() {
+        return positionHistory.count(state.getHash());
+    }
+
+    /**
+     * Returns a copy of the positions reached in the game, the current position last,
+     * which a search can extend to detect cycles.
+     *
+     * @return a copy of the position history
+     */
+    public PositionHistory copyPositionHistory() {
+        return new PositionHistory(positionHistory);
+    }
+
+    /**
+     * Returns the color whose turn it is.
+     *
+     * @return the side to move
+     */
+    public StoneColor getSideToMove() {
+        return state.getSideToMove();
+    }
+
+    /**
+     * Returns the Zobrist hash of the current position, which is updated on every move.
+     *
+     * @return the hash of the current position
+     */
+    public long getHash() {
+        return state.getHash();
+    }
+
+    /**
+     * Returns the exact result of the current position for the side to move, looked up in the tablebase given.
+     *
+     * @param tablebase a tablebase solved for the variant of this model
+     * @return the result of the current position
+     */
+    public TablebaseValue probe(Tablebase tablebase) {
+        return tablebase.probe(state);
+    }
+
+    /**
+     * Returns a copy of the state engine behind this model, which can be searched
+     * without notifying the observers of the model.
+     *
+     * @return a copy of the current state
+     */
+    public BoardState copyState() {
+        return state.copy();
+    }
+
+    /**
+     * Returns a boolean value of whether the position is or isn't on the board.
+     *
+     * @param position the position meant to be checked
+     * @return a boolean value of whether the position is or isn't on the board
+     */
+    public boolean isOnBoard(Position position) {
+        return 0 <= position.row() && position.row() < size
+                && 0 <= position.col() && position.col() < size;
+    }
+
+    /**
+     * Returns a list of current positioning of the blue stones.
+     *
+     * @return a list of current positioning of the blue stones
+     */
+    public List<Position> getBluePositions() {
+        List<Position> positions = new ArrayList<>(state.getStoneCount(StoneColor.BLUE));
+        for (int i = 0; i < state.getStoneCount(); i++) {
+            if (state.getStoneColor(i) == StoneColor.BLUE) {
+                positions.add(getStonePosition(i));
+            }
+        }
+        return positions;
+    }
+
+    /**
+     * Returns a list of current positioning of the red stones.
+     *
+     * @return a list of current positioning of the red stones
+     */
+    public List<Position> getRedPositions() {
+        List<Position> positions = new ArrayList<>(state.getStoneCount(StoneColor.RED));
+        for (int i = 0; i < state.getStoneCount(); i++) {
+            if (state.getStoneColor(i) == StoneColor.RED) {
+                positions.add(getStonePosition(i));
+            }
+        }
+        return positions;
+    }
+
+    /**
+     * Returns an optional integer number of the blue stone in a specific position.
+     *
+     * @param position the position of the blue stone
+     * @return an optional integer number of the blue stone
+     */
+    public OptionalInt getBlueStoneNumber(Position position) {
+        return getStoneNumber(position, StoneColor.BLUE);
+    }
+
+    /**
+     * Returns an optional integer number of the red stone in a specific position.
+     *
+     * @param position the position of the red stone
+     * @return an optional integer number of the red stone
+     */
+    public OptionalInt getRedStoneNumber(Position position) {
+        return getStoneNumber(position, StoneColor.RED);
+    }
+
+    private OptionalInt getStoneNumber(Position position, StoneColor color) {
+        if (!isOnBoard(position)) {
+            return OptionalInt.empty();
+        }
+        int stoneNumber = state.getStoneAt(positions.square(position));
+        if (stoneNumber < 0 || state.getStoneColor(stoneNumber) != color) {
+            return OptionalInt.empty();
+        }
+        return OptionalInt.of(stoneNumber);
+    }
+
+    /**
+     * Returns a string of joined elements.
+     *
+     * @returna string of joined elements
+     */
+    public String toString() {
+        StringJoiner joiner = new StringJoiner(",\n", "[", "]");
+        for (int i = 0; i < state.getStoneCount(); i++) {
+            joiner.add(state.getStoneColor(i).toString() + getStonePosition(i));
+        }
+        return joiner.toString();
+    }
+
+    public static void main(String[] args) {
+        BoardGameModel model = new BoardGameModel();
+        System.out.println(model);
+        System.out.println(model.blueInitialPositions);
+        System.out.println(model.redInitialPositions);
+    }
+}
@@ -0,0 +1,68 @@
+package boardGame.BoardGameModel;
+
+import boardGame.Movement.PositionTable;
+import boardGame.Stone.Stone;
+import boardGame.Stone.StoneColor;
+
+/**
+ * Class extending the Record class that describes a generated initial layout of the stones.
+ * Blue fills the first {@code homeRows} rows and the two corner squares of the row below them,
+ * red takes the mirrored squares at the bottom of the board. With a single home row on a
+ * five by five board this is the layout of the original game.
+ *
+ * @param size     the number of rows and columns of the board
+ * @param homeRows the number of rows filled completely by each side
+ */
+public record BoardLayout(int size, int homeRows) {
+
+    /**
+     * The layout of the original game.
+     */
+    public static final BoardLayout DEFAULT = new BoardLayout(5, 1);
+
+    /**
+     * Creates a layout, the home rows and the corner rows of the sides must not meet.
+     *
+     * @param size     the number of rows and columns of the board
+     * @param homeRows the number of rows filled completely by each side
+     */
+    public BoardLayout {
+        if (size < 2 || size > BoardState.MAX_SIZE || homeRows < 1 || 2 * homeRows + 2 > size) {
+            throw new IllegalArgumentException();
+        }
+    }
+
+    /**
+     * Returns the number of stones of each side.
+     *
+     * @return the number of stones of a side
+     */
+    public int stonesPerSide() {
+        return homeRows * size + 2;
+    }
+
+    /**
+     * Returns the stones of the layout, the blue stones first. The stones of a side start with
+     * the left corner stone, followed by the home rows from the edge of the board inwards and
+     * the right corner stone.
+     *
+     * @return the stones in their initial positions
+     */
+    public Stone[] createStones() {
+        var stones = new Stone[2 * stonesPerSide()];
+        var positions = PositionTable.of(size);
+        int count = 0;
+        for (var color : StoneColor.values()) {
+            int cornerRow = color == StoneColor.BLUE ? homeRows : size - 1 - homeRows;
+            stones[count++] = new Stone(color, positions.get(cornerRow, 0));
+            for (int i = 0; i < homeRows; i++) {
+                int row = color == StoneColor.BLUE ? i : size - 1 - i;
+                for (int col = 0; col < size; col++) {
+                    stones[count++] = new Stone(color, positions.get(row, col));
+                }
+            }
+            stones[count++] = new Stone(color, positions.get(cornerRow, size - 1));
+        }
+        return stones;
+    }
+}
@@ -0,0 +1,774 @@
+package boardGame.BoardGameModel;
+
+import boardGame.Movement.Position;
+import boardGame.Stone.StoneColor;
+import boardGame.Stone.StoneDirection;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Headless state engine holding the stone placement and the side to move.
+ * Squares are numbered row by row, so the square of {@code (row, col)} is {@code row * size + col}.
+ * A flat square-to-stone index and a table of diagonal neighbours make move validation and stone
+ * lookup constant time on boards of any size, and the stones of each side standing on a goal square
+ * are counted as the stones move, so win detection is constant time too.
+ * Boards up to {@link #MAX_MASK_SIZE} squares a side also keep the occupancy of each side as a bitmask,
+ * which the evaluation and the tablebase work on. Nothing allocates after construction.
+ * The hashes of the images of the position under the symmetries of the variant are kept up to date
+ * as well, the smallest of them is the canonical hash shared by all symmetric positions.
+ */
+public final class BoardState {
+
+    /**
+     * The largest board side length.
+     */
+    public static final int MAX_SIZE = 64;
+
+    /**
+     * The largest board side length whose squares fit into a single {@code long} mask.
+     */
+    public static final int MAX_MASK_SIZE = 8;
+
+    private static final StoneDirection[] DIRECTIONS = StoneDirection.values();
+    private static final int EMPTY = -1;
+
+    private final int size;
+    private final boolean masked;
+    private final long boardMask;
+    private final long notFirstColumn;
+    private final long notLastColumn;
+    private final StoneColor[] colors;
+    private final int[] squares;
+    private final int[] stoneAt;
+    private final int[] neighbours;
+    private final byte[] goalSquares;
+    private final int[] stoneCounts = new int[2];
+    private final int[] goalCounts = new int[2];
+    private final long[] occupancy = new long[2];
+    private final long[] goals = new long[2];
+    private final Symmetry[] symmetries;
+    private final int[][] symmetrySquares;
+    private final long[] symmetryHashes;
+    private StoneColor sideToMove = StoneColor.BLUE;
+    private long hash;
+
+    /**
+     * Creates a state on a square board with the stones given by their colors and squares.
+     *
+     * @param size    the number of rows and columns of the board
+     * @param colors  the color of each stone
+     * @param squares the square of each stone
+     */
+    public BoardState(int size, StoneColor[] colors, int[] squares) {
+        if (size < 1 || size > MAX_SIZE || colors.length != squares.length) {
+            throw new IllegalArgumentException();
+        }
+        this.size = size;
+        this.masked = size <= MAX_MASK_SIZE;
+        this.boardMask = !masked ? 0 : size == MAX_MASK_SIZE ? -1L : (1L << (size * size)) - 1;
+        long firstColumn = 0;
+        for (int row = 0; masked && row < size; row++) {
+            firstColumn |= 1L << (row * size);
+        }
+        this.notFirstColumn = boardMask & ~firstColumn;
+        this.notLastColumn = boardMask & ~(firstColumn << (size - 1));
+        this.colors = colors.clone();
+        this.squares = squares.clone();
+        this.stoneAt = new int[size * size];
+        Arrays.fill(stoneAt, EMPTY);
+        this.neighbours = new int[size * size * DIRECTIONS.length];
+        for (int square = 0; square < size * size; square++) {
+            for (var direction : DIRECTIONS) {
+                int row = row(square) + direction.getRowChange();
+                int col = col(square) + direction.getColChange();
+                boolean onBoard = 0 <= row && row < size && 0 <= col && col < size;
+                neighbours[square * DIRECTIONS.length + direction.ordinal()] = onBoard ? row * size + col : EMPTY;
+            }
+        }
+        for (int i = 0; i < squares.length; i++) {
+            if (squares[i] < 0 || squares[i] >= size * size || stoneAt[squares[i]] != EMPTY) {
+                throw new IllegalArgumentException();
+            }
+            stoneAt[squares[i]] = i;
+            stoneCounts[colors[i].ordinal()]++;
+            if (masked) {
+                occupancy[colors[i].ordinal()] |= bit(squares[i]);
+            }
+            hash ^= Zobrist.squareKey(colors[i], squares[i]);
+        }
+        this.goalSquares = new byte[size * size];
+        for (int i = 0; i < squares.length; i++) {
+            goalSquares[squares[i]] = (byte) goalFlag(opponent(colors[i]));
+        }
+        for (int i = 0; i < squares.length; i++) {
+            if (isGoal(colors[i], squares[i])) {
+                goalCounts[colors[i].ordinal()]++;
+            }
+        }
+        goals[StoneColor.BLUE.ordinal()] = occupancy[StoneColor.RED.ordinal()];
+        goals[StoneColor.RED.ordinal()] = occupancy[StoneColor.BLUE.ordinal()];
+        this.symmetries = findSymmetries();
+        this.symmetrySquares = new int[symmetries.length][size * size];
+        for (int k = 0; k < symmetries.length; k++) {
+            for (int square = 0; square < size * size; square++) {
+                symmetrySquares[k][square] = symmetries[k].mapSquare(size, square);
+            }
+        }
+        this.symmetryHashes = new long[symmetries.length];
+        computeSymmetryHashes();
+    }
+
+    /**
+     * Returns the symmetries other than the identity that carry the goal squares of each color
+     * onto the goal squares of its image color.
+     */
+    private Symmetry[] findSymmetries() {
+        return Arrays.stream(Symmetry.values()).filter(symmetry -> {
+            if (symmetry == Symmetry.IDENTITY) {
+                return false;
+            }
+            for (var color : StoneColor.values()) {
+                for (int square = 0; square < size * size; square++) {
+                    if (isGoal(color, square) != isGoal(symmetry.mapColor(color), symmetry.mapSquare(size, square))) {
+                        return false;
+                    }
+                }
+            }
+            return true;
+        }).toArray(Symmetry[]::new);
+    }
+
+    private void computeSymmetryHashes() {
+        for (int k = 0; k < symmetries.length; k++) {
+            var symmetry = symmetries[k];
+            long image = symmetry.mapColor(sideToMove) == StoneColor.RED ? Zobrist.sideKey() : 0;
+            for (int i = 0; i < squares.length; i++) {
+                image ^= Zobrist.squareKey(symmetry.mapColor(colors[i]), symmetrySquares[k][squares[i]]);
+            }
+            symmetryHashes[k] = image;
+        }
+    }
+
+    private BoardState(BoardState other) {
+        this.size = other.size;
+        this.masked = other.masked;
+        this.boardMask = other.boardMask;
+        this.notFirstColumn = other.notFirstColumn;
+        this.notLastColumn = other.notLastColumn;
+        this.colors = other.colors;
+        this.squares = other.squares.clone();
+        this.stoneAt = other.stoneAt.clone();
+        this.neighbours = other.neighbours;
+        this.goalSquares = other.goalSquares;
+        this.stoneCounts[0] = other.stoneCounts[0];
+        this.stoneCounts[1] = other.stoneCounts[1];
+        this.goalCounts[0] = other.goalCounts[0];
+        this.goalCounts[1] = other.goalCounts[1];
+        this.occupancy[0] = other.occupancy[0];
+        this.occupancy[1] = other.occupancy[1];
+        this.goals[0] = other.goals[0];
+        this.goals[1] = other.goals[1];
+        this.symmetries = other.symmetries;
+        this.symmetrySquares = other.symmetrySquares;
+        this.symmetryHashes = other.symmetryHashes.clone();
+        this.sideToMove = other.sideToMove;
+        this.hash = other.hash;
+    }
+
+    /**
+     * Returns an independent copy of this state.
+     *
+     * @return an independent copy of this state
+     */
+    public BoardState copy() {
+        return new BoardState(this);
+    }
+
+    /**
+     * Overwrites this state with the position of a state of the same variant, without allocating.
+     *
+     * @param other a copy of this state, possibly moved since
+     */
+    public void copyFrom(BoardState other) {
+        if (other.squares.length != squares.length || other.size != size) {
+            throw new IllegalArgumentException();
+        }
+        System.arraycopy(other.squares, 0, squares, 0, squares.length);
+        System.arraycopy(other.stoneAt, 0, stoneAt, 0, stoneAt.length);
+        goalCounts[0] = other.goalCounts[0];
+        goalCounts[1] = other.goalCounts[1];
+        occupancy[0] = other.occupancy[0];
+        occupancy[1] = other.occupancy[1];
+        System.arraycopy(other.symmetryHashes, 0, symmetryHashes, 0, symmetryHashes.length);
+        sideToMove = other.sideToMove;
+        hash = other.hash;
+    }
+
+    /**
+     * Returns the number of rows and columns of the board.
+     *
+     * @return the number of rows and columns of the board
+     */
+    public int getSize() {
+        return size;
+    }
+
+    /**
+     * Returns the number of stones on the board.
+     *
+     * @return the number of stones
+     */
+    public int getStoneCount() {
+        return squares.length;
+    }
+
+    /**
+     * Returns the color of the stone specified by the number given.
+     *
+     * @param stoneNumber the value representing the stone number
+     * @return the stone color
+     */
+    public StoneColor getStoneColor(int stoneNumber) {
+        return colors[stoneNumber];
+    }
+
+    /**
+     * Returns the square of the stone specified by the number given.
+     *
+     * @param stoneNumber the value representing the stone number
+     * @return the square index of the stone
+     */
+    public int getSquare(int stoneNumber) {
+        return squares[stoneNumber];
+    }
+
+    /**
+     * Returns the number of the stone on the square given.
+     *
+     * @param square the square index
+     * @return the stone number, or {@code -1} if the square is empty
+     */
+    public int getStoneAt(int square) {
+        return stoneAt[square];
+    }
+
+    /**
+     * Returns the square reached from the square given by a single step in the direction given.
+     *
+     * @param square    the square index
+     * @param direction the direction of the step
+     * @return the square index reached, or {@code -1} if the step leaves the board
+     */
+    public int getNeighbour(int square, StoneDirection direction) {
+        return neighbours[square * DIRECTIONS.length + direction.ordinal()];
+    }
+
+    /**
+     * Returns whether the square given is a goal square of the color given, which is a square
+     * initially occupied by the opponent.
+     *
+     * @param color  the color of the stones
+     * @param square the square index
+     * @return whether the square is a goal of that color
+     */
+    public boolean isGoal(StoneColor color, int square) {
+        return (goalSquares[square] & goalFlag(color)) != 0;
+    }
+
+    /**
+     * Returns the number of stones of the color given.
+     *
+     * @param color the color of the stones
+     * @return the number of stones of that color
+     */
+    public int getStoneCount(StoneColor color) {
+        return stoneCounts[color.ordinal()];
+    }
+
+    /**
+     * Returns the number of stones of the color given standing on one of its goal squares.
+     *
+     * @param color the color of the stones
+     * @return the number of stones on goal squares
+     */
+    public int getGoalCount(StoneColor color) {
+        return goalCounts[color.ordinal()];
+    }
+
+    /**
+     * Returns whether the occupancy bitmasks are kept, which is the case for boards up to
+     * {@link #MAX_MASK_SIZE} squares a side.
+     *
+     * @return whether the bitmask methods can be used
+     */
+    public boolean hasMasks() {
+        return masked;
+    }
+
+    /**
+     * Returns the color whose turn it is.
+     *
+     * @return the side to move
+     */
+    public StoneColor getSideToMove() {
+        return sideToMove;
+    }
+
+    /**
+     * Returns the Zobrist hash of the stone placement and the side to move, see {@link Zobrist}.
+     * It is updated incrementally by every move.
+     *
+     * @return the hash of this state
+     */
+    public long getHash() {
+        return hash;
+    }
+
+    /**
+     * Returns the symmetries of the variant, the identity first. A symmetry belongs to the variant
+     * when it carries the goal squares of each color onto those of the image color, so the image
+     * of a position is worth the same to the image of its side to move.
+     *
+     * @return the symmetries of the variant
+     */
+    public List<Symmetry> getSymmetries() {
+        var list = new ArrayList<Symmetry>(symmetries.length + 1);
+        list.add(Symmetry.IDENTITY);
+        list.addAll(Arrays.asList(symmetries));
+        return list;
+    }
+
+    /**
+     * Returns the smallest of the hashes of the images of this position under the symmetries of the variant,
+     * symmetric positions share their canonical hash.
+     *
+     * @return the canonical hash of this state
+     */
+    public long getCanonicalHash() {
+        long canonical = hash;
+        for (long image : symmetryHashes) {
+            canonical = Math.min(canonical, image);
+        }
+        return canonical;
+    }
+
+    /**
+     * Returns the symmetry carrying this position onto the image with the canonical hash.
+     *
+     * @return the symmetry of the canonical image
+     */
+    public Symmetry getCanonicalSymmetry() {
+        long canonical = hash;
+        var symmetry = Symmetry.IDENTITY;
+        for (int k = 0; k < symmetries.length; k++) {
+            if (symmetryHashes[k] < canonical) {
+                canonical = symmetryHashes[k];
+                symmetry = symmetries[k];
+            }
+        }
+        return symmetry;
+    }
+
+    /**
+     * Returns a move of this position as the matching move of its canonical image, identified by
+     * the starting square and direction of the image, see {@link #fromCanonicalMove(int)}.
+     *
+     * @param move the encoded move
+     * @return the canonical move, the starting square times four plus the direction
+     */
+    public int toCanonicalMove(int move) {
+        var symmetry = getCanonicalSymmetry();
+        int from = symmetry.mapSquare(size, squares[moveStone(move)]);
+        return from * DIRECTIONS.length + symmetry.mapDirection(moveDirection(move)).ordinal();
+    }
+
+    /**
+     * Returns the move of this position matching a move of its canonical image, see {@link #toCanonicalMove(int)}.
+     *
+     * @param canonicalMove the canonical move
+     * @return the encoded move, or {@code -1} if it is not a valid move of the side to move
+     */
+    public int fromCanonicalMove(int canonicalMove) {
+        var symmetry = getCanonicalSymmetry();
+        int image = canonicalMove / DIRECTIONS.length;
+        if (canonicalMove < 0 || image >= size * size) {
+            return -1;
+        }
+        int stone = stoneAt[symmetry.mapSquare(size, image)];
+        var direction = symmetry.mapDirection(DIRECTIONS[canonicalMove % DIRECTIONS.length]);
+        if (stone == EMPTY || colors[stone] != sideToMove || !isValidMove(stone, direction)) {
+            return -1;
+        }
+        return encodeMove(stone, direction);
+    }
+
+    /**
+     * Returns the occupancy mask of the stones of the color given.
+     *
+     * @param color the color of the stones
+     * @return a mask with one bit set for every square occupied by that color
+     */
+    public long getOccupancy(StoneColor color) {
+        checkMasks();
+        return occupancy[color.ordinal()];
+    }
+
+    /**
+     * Returns the mask of the squares the color given has to reach, which are the squares
+     * initially occupied by the opponent.
+     *
+     * @param color the color of the stones
+     * @return the mask of the goal squares of that color
+     */
+    public long getGoals(StoneColor color) {
+        checkMasks();
+        return goals[color.ordinal()];
+    }
+
+    /**
+     * Returns whether every stone of the color given stands on one of its goal squares.
+     *
+     * @param color the color of the stones
+     * @return whether that color has won
+     */
+    public boolean hasWon(StoneColor color) {
+        int stones = stoneCounts[color.ordinal()];
+        return stones != 0 && goalCounts[color.ordinal()] == stones;
+    }
+
+    /**
+     * Returns the result of the game, a side to move without a valid move is a draw.
+     * The wins are read from the goal counters, the search for a valid move stops at the first one
+     * found, so this takes constant time unless the side to move is nearly blocked.
+     *
+     * @return the result of the game
+     */
+    public GameResult getResult() {
+        if (hasWon(StoneColor.BLUE)) {
+            return GameResult.BLUE_WON;
+        }
+        if (hasWon(StoneColor.RED)) {
+            return GameResult.RED_WON;
+        }
+        return hasValidMove() ? GameResult.IN_PROGRESS : GameResult.DRAW;
+    }
+
+    private boolean hasValidMove() {
+        for (int i = 0; i < squares.length; i++) {
+            if (colors[i] == sideToMove && countTargets(squares[i]) > 0) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Returns the occupancy mask of all stones.
+     *
+     * @return a mask with one bit set for every occupied square
+     */
+    public long occupied() {
+        checkMasks();
+        return occupancy[0] | occupancy[1];
+    }
+
+    /**
+     * Returns the mask of the squares reached by moving every square of the mask given in the direction
+     * given, dropping the ones that would leave the board.
+     *
+     * @param mask      the squares to move from
+     * @param direction the direction of the movement
+     * @return the squares reached on the board
+     */
+    public long shift(long mask, StoneDirection direction) {
+        checkMasks();
+        long from = mask & (direction.getColChange() > 0 ? notLastColumn : notFirstColumn);
+        int delta = direction.getRowChange() * size + direction.getColChange();
+        return (delta > 0 ? from << delta : from >>> -delta) & boardMask;
+    }
+
+    /**
+     * Returns boolean value checking if a move is valid or not for the specified stone number.
+     *
+     * @param stoneNumber the value representing the stone number
+     * @param direction   the movement of the stone
+     * @return boolean value whether the move is valid or not
+     */
+    public boolean isValidMove(int stoneNumber, StoneDirection direction) {
+        int target = neighbours[squares[stoneNumber] * DIRECTIONS.length + direction.ordinal()];
+        return target != EMPTY && stoneAt[target] == EMPTY;
+    }
+
+    /**
+     * Returns the mask of empty squares that the stones of the color given can move to in the direction given.
+     *
+     * @param color     the color of the stones
+     * @param direction the direction of the movement
+     * @return the reachable empty squares
+     */
+    public long getTargets(StoneColor color, StoneDirection direction) {
+        checkMasks();
+        return shift(occupancy[color.ordinal()], direction) & ~occupied();
+    }
+
+    /**
+     * Returns the number of valid moves of the color given.
+     *
+     * @param color the color of the stones
+     * @return the number of valid moves
+     */
+    public int countValidMoves(StoneColor color) {
+        int count = 0;
+        if (masked) {
+            for (var direction : DIRECTIONS) {
+                count += Long.bitCount(getTargets(color, direction));
+            }
+            return count;
+        }
+        for (int i = 0; i < squares.length; i++) {
+            if (colors[i] == color) {
+                count += countTargets(squares[i]);
+            }
+        }
+        return count;
+    }
+
+    private int countTargets(int square) {
+        int count = 0;
+        int base = square * DIRECTIONS.length;
+        for (int d = 0; d < DIRECTIONS.length; d++) {
+            int target = neighbours[base + d];
+            if (target != EMPTY && stoneAt[target] == EMPTY) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Places the stones on the squares given and sets the side to move, keeping the colors,
+     * the stone count and the goals of this state. Stones of the same color are placed in
+     * ascending order of their numbers and squares. Only boards with bitmasks are supported.
+     *
+     * @param blue       the squares of the blue stones
+     * @param red        the squares of the red stones
+     * @param sideToMove the color whose turn it is
+     */
+    public void setPosition(long blue, long red, StoneColor sideToMove) {
+        checkMasks();
+        if ((blue & red) != 0 || ((blue | red) & ~boardMask) != 0
+                || Long.bitCount(blue) != Long.bitCount(occupancy[StoneColor.BLUE.ordinal()])
+                || Long.bitCount(red) != Long.bitCount(occupancy[StoneColor.RED.ordinal()])) {
+            throw new IllegalArgumentException();
+        }
+        long[] rest = {blue, red};
+        for (int i = 0; i < squares.length; i++) {
+            int color = colors[i].ordinal();
+            squares[i] = Long.numberOfTrailingZeros(rest[color]);
+            rest[color] &= rest[color] - 1;
+        }
+        placeStones(sideToMove);
+    }
+
+    /**
+     * Places every stone on the square given for it and sets the side to move, keeping the colors,
+     * the stone count and the goals of this state. Unlike {@link #setPosition(long, long, StoneColor)}
+     * the stone numbers are kept, and boards of every size are supported.
+     *
+     * @param squares    the square of each stone
+     * @param sideToMove the color whose turn it is
+     */
+    public void setPosition(int[] squares, StoneColor sideToMove) {
+        if (squares.length != this.squares.length) {
+            throw new IllegalArgumentException();
+        }
+        var taken = new boolean[size * size];
+        for (int square : squares) {
+            if (square < 0 || square >= size * size || taken[square]) {
+                throw new IllegalArgumentException();
+            }
+            taken[square] = true;
+        }
+        System.arraycopy(squares, 0, this.squares, 0, squares.length);
+        placeStones(sideToMove);
+    }
+
+    private void placeStones(StoneColor sideToMove) {
+        Arrays.fill(stoneAt, EMPTY);
+        occupancy[0] = 0;
+        occupancy[1] = 0;
+        goalCounts[0] = 0;
+        goalCounts[1] = 0;
+        hash = sideToMove == StoneColor.RED ? Zobrist.sideKey() : 0;
+        for (int i = 0; i < squares.length; i++) {
+            int color = colors[i].ordinal();
+            stoneAt[squares[i]] = i;
+            if (masked) {
+                occupancy[color] |= bit(squares[i]);
+            }
+            if (isGoal(colors[i], squares[i])) {
+                goalCounts[color]++;
+            }
+            hash ^= Zobrist.squareKey(colors[i], squares[i]);
+        }
+        this.sideToMove = sideToMove;
+        computeSymmetryHashes();
+    }
+
+    /**
+     * Writes the valid moves of the side to move into the array given, ordered by stone number
+     * and then by direction, and returns their number.
+     *
+     * @param moves the array receiving the encoded moves, at least four times the stone count long
+     * @return the number of moves written
+     */
+    public int generateMoves(int[] moves) {
+        int count = 0;
+        for (int i = 0; i < squares.length; i++) {
+            if (colors[i] != sideToMove) {
+                continue;
+            }
+            int base = squares[i] * DIRECTIONS.length;
+            for (int d = 0; d < DIRECTIONS.length; d++) {
+                int target = neighbours[base + d];
+                if (target != EMPTY && stoneAt[target] == EMPTY) {
+                    moves[count++] = i << 2 | d;
+                }
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Moves the specified stone in the direction given and passes the turn to the other side.
+     * The move is not validated.
+     *
+     * @param stoneNumber the value representing the stone number
+     * @param direction   the movement of the stone
+     */
+    public void move(int stoneNumber, StoneDirection direction) {
+        int from = squares[stoneNumber];
+        int to = from + direction.getRowChange() * size + direction.getColChange();
+        var color = colors[stoneNumber];
+        int side = color.ordinal();
+        goalCounts[side] += (goalSquares[to] >> side & 1) - (goalSquares[from] >> side & 1);
+        if (masked) {
+            occupancy[side] ^= bit(from) | bit(to);
+        }
+        stoneAt[from] = EMPTY;
+        stoneAt[to] = stoneNumber;
+        squares[stoneNumber] = to;
+        sideToMove = opponent(sideToMove);
+        hash ^= Zobrist.squareKey(color, from) ^ Zobrist.squareKey(color, to) ^ Zobrist.sideKey();
+        for (int k = 0; k < symmetries.length; k++) {
+            var image = symmetries[k].mapColor(color);
+            symmetryHashes[k] ^= Zobrist.squareKey(image, symmetrySquares[k][from])
+                    ^ Zobrist.squareKey(image, symmetrySquares[k][to]) ^ Zobrist.sideKey();
+        }
+    }
+
+    /**
+     * Applies an encoded move, see {@link #encodeMove(int, StoneDirection)}.
+     *
+     * @param move the encoded move
+     */
+    public void makeMove(int move) {
+        move(moveStone(move), moveDirection(move));
+    }
+
+    /**
+     * Takes back an encoded move that was the last one applied to this state.
+     *
+     * @param move the encoded move
+     */
+    public void unmakeMove(int move) {
+        move(moveStone(move), moveDirection(move).opposite());
+    }
+
+    /**
+     * Returns a move packed into an integer, the stone number above the two bits of the direction.
+     *
+     * @param stoneNumber the value representing the stone number
+     * @param direction   the movement of the stone
+     * @return the encoded move
+     */
+    public static int encodeMove(int stoneNumber, StoneDirection direction) {
+        return stoneNumber << 2 | direction.ordinal();
+    }
+
+    /**
+     * Returns the stone number of an encoded move.
+     *
+     * @param move the encoded move
+     * @return the stone number
+     */
+    public static int moveStone(int move) {
+        return move >>> 2;
+    }
+
+    /**
+     * Returns the direction of an encoded move.
+     *
+     * @param move the encoded move
+     * @return the direction of the stone
+     */
+    public static StoneDirection moveDirection(int move) {
+        return DIRECTIONS[move & 3];
+    }
+
+    /**
+     * Returns the row of the square given.
+     *
+     * @param square the square index
+     * @return the row of the square
+     */
+    public int row(int square) {
+        return square / size;
+    }
+
+    /**
+     * Returns the column of the square given.
+     *
+     * @param square the square index
+     * @return the column of the square
+     */
+    public int col(int square) {
+        return square % size;
+    }
+
+    /**
+     * Returns the square index of the position given.
+     *
+     * @param position the position on the board
+     * @return the square index
+     */
+    public int square(Position position) {
+        return position.row() * size + position.col();
+    }
+
+    /**
+     * Returns the color playing against the color given.
+     *
+     * @param color the color of a side
+     * @return the other color
+     */
+    public static StoneColor opponent(StoneColor color) {
+        return color == StoneColor.BLUE ? StoneColor.RED : StoneColor.BLUE;
+    }
+
+    private void checkMasks() {
+        if (!masked) {
+            throw new IllegalStateException("No bitmasks on a board of size " + size);
+        }
+    }
+
+    private static int goalFlag(StoneColor color) {
+        return 1 << color.ordinal();
+    }
+
+    private static long bit(int square) {
+        return 1L << square;
+    }
+}
@@ -0,0 +1,45 @@
+package boardGame.BoardGameModel;
+
+/**
+ * Class extending the Record class that describes when an unfinished game is scored as a draw.
+ * Stones can always move back, so without such a rule two players can shuffle forever.
+ *
+ * @param repetitions the number of occurrences of the same position with the same side to move
+ *                    that draws the game, or {@code 0} for no repetition rule
+ * @param maxPlies    the number of plies after which the game is a draw, or {@code 0} for no move cap
+ */
+public record DrawRule(int repetitions, int maxPlies) {
+
+    /**
+     * The rule of a new model, the third occurrence of a position draws the game.
+     */
+    public static final DrawRule DEFAULT = new DrawRule(3, 0);
+
+    /**
+     * The rule never drawing a game that can still be played.
+     */
+    public static final DrawRule NONE = new DrawRule(0, 0);
+
+    /**
+     * Creates a rule, a repetition rule needs at least two occurrences.
+     *
+     * @param repetitions the number of occurrences drawing the game, or {@code 0}
+     * @param maxPlies    the number of plies drawing the game, or {@code 0}
+     */
+    public DrawRule {
+        if (repetitions < 0 || repetitions == 1 || maxPlies < 0) {
+            throw new IllegalArgumentException();
+        }
+    }
+
+    /**
+     * Returns whether a game is drawn by this rule.
+     *
+     * @param occurrences the number of occurrences of the current position
+     * @param plies       the number of plies played
+     * @return whether the game is a draw
+     */
+    public boolean isDrawn(int occurrences, int plies) {
+        return repetitions > 0 && occurrences >= repetitions || maxPlies > 0 && plies >= maxPlies;
+    }
+}
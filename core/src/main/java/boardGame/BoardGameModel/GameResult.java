@@ -0,0 +1,48 @@
+package boardGame.BoardGameModel;
+
+import boardGame.Stone.StoneColor;
+
+/**
+ * Enum representing the state of a game as seen by the user interface and the headless players.
+ */
+public enum GameResult {
+
+    IN_PROGRESS(null),
+    BLUE_WON(StoneColor.BLUE),
+    RED_WON(StoneColor.RED),
+    DRAW(null);
+
+    private final StoneColor winner;
+
+    GameResult(StoneColor winner) {
+        this.winner = winner;
+    }
+
+    /**
+     * Returns the color that won the game.
+     *
+     * @return the winning color, or {@code null} if there is none
+     */
+    public StoneColor getWinner() {
+        return winner;
+    }
+
+    /**
+     * Returns whether the game has ended.
+     *
+     * @return whether the game is over
+     */
+    public boolean isOver() {
+        return this != IN_PROGRESS;
+    }
+
+    /**
+     * Returns the result of a game won by the color given.
+     *
+     * @param color the winning color
+     * @return the result of the game
+     */
+    public static GameResult wonBy(StoneColor color) {
+        return color == StoneColor.BLUE ? BLUE_WON : RED_WON;
+    }
+}
@@ -0,0 +1,219 @@
+package boardGame.BoardGameModel;
+
+/**
+ * Class representing the hashes of the positions of a game since its last irreversible point,
+ * counting how many times each position occurred so repetitions are found in constant time.
+ * The hashes are kept in a ring of primitive longs, once it is full the oldest position is forgotten.
+ * Removing a position remembers again the position its addition forgot, as long as no more than the
+ * capacity of positions were added since, so a search adding and removing the positions of its line
+ * leaves a full history as it found it.
+ * The occurrences are counted in an open-addressing table at most half full, whose entries are removed
+ * by shifting the following entries of their probe run back, so no tombstones pile up.
+ * The ring and the table start small and double as the game grows until they reach the capacity,
+ * so a short game costs a few hundred bytes whatever the capacity.
+ */
+public final class PositionHistory {
+
+    /**
+     * The number of positions remembered when no capacity is given.
+     */
+    public static final int DEFAULT_CAPACITY = 1024;
+
+    private static final int INITIAL_SIZE = 16;
+
+    private final int capacity;
+    private long[] ring;
+    private long[] forgotten;
+    private int forgottenCount;
+    private int ringMask;
+    private int end;
+    private int size;
+    private long[] keys;
+    private int[] counts;
+    private int tableMask;
+
+    /**
+     * Creates an empty history remembering {@link #DEFAULT_CAPACITY} positions.
+     */
+    public PositionHistory() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Creates an empty history remembering at least the number of positions given.
+     *
+     * @param capacity the number of positions to remember, rounded up to a power of two
+     */
+    public PositionHistory(int capacity) {
+        if (capacity < 1 || capacity > 1 << 29) {
+            throw new IllegalArgumentException();
+        }
+        int highest = Integer.highestOneBit(capacity);
+        this.capacity = highest == capacity ? capacity : highest << 1;
+        allocate(Math.min(INITIAL_SIZE, this.capacity));
+    }
+
+    /**
+     * Creates a copy of the history given.
+     *
+     * @param other the history to copy
+     */
+    public PositionHistory(PositionHistory other) {
+        this.capacity = other.capacity;
+        this.ring = other.ring.clone();
+        this.forgotten = other.forgotten == null ? null : other.forgotten.clone();
+        this.forgottenCount = other.forgottenCount;
+        this.ringMask = other.ringMask;
+        this.end = other.end;
+        this.size = other.size;
+        this.keys = other.keys.clone();
+        this.counts = other.counts.clone();
+        this.tableMask = other.tableMask;
+    }
+
+    /**
+     * Returns the number of positions the history remembers at most.
+     *
+     * @return the capacity of the history
+     */
+    public int getCapacity() {
+        return capacity;
+    }
+
+    /**
+     * Returns the number of positions remembered.
+     *
+     * @return the number of positions
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Adds the position with the hash given, forgetting the oldest position if the history is full.
+     *
+     * @param hash the hash of the position
+     * @return the number of times the position occurs in the history, including this one
+     */
+    public int push(long hash) {
+        if (size == ring.length && ring.length < capacity) {
+            grow();
+        }
+        if (size == ring.length) {
+            if (forgotten == null) {
+                forgotten = new long[ring.length];
+            }
+            forgotten[end] = ring[end];
+            forgottenCount = Math.min(forgottenCount + 1, ring.length);
+            decrement(ring[end]);
+        } else {
+            size++;
+        }
+        ring[end] = hash;
+        end = (end + 1) & ringMask;
+        return increment(hash);
+    }
+
+    /**
+     * Removes the position added last, remembering again the position its addition forgot if any.
+     *
+     * @return the hash of the position removed
+     * @throws IllegalStateException if the history is empty
+     */
+    public long pop() {
+        if (size == 0) {
+            throw new IllegalStateException();
+        }
+        end = (end - 1) & ringMask;
+        long hash = ring[end];
+        decrement(hash);
+        if (forgottenCount > 0) {
+            forgottenCount--;
+            ring[end] = forgotten[end];
+            increment(forgotten[end]);
+        } else {
+            size--;
+        }
+        return hash;
+    }
+
+    /**
+     * Returns the number of times the position with the hash given occurs in the history.
+     *
+     * @param hash the hash of the position
+     * @return the number of occurrences
+     */
+    public int count(long hash) {
+        return counts[slot(hash)];
+    }
+
+    /**
+     * Forgets every position, to be called at an irreversible point of the game.
+     */
+    public void clear() {
+        forgottenCount = 0;
+        while (size > 0) {
+            pop();
+        }
+    }
+
+    private void allocate(int ringSize) {
+        ring = new long[ringSize];
+        ringMask = ringSize - 1;
+        keys = new long[ringSize * 2];
+        counts = new int[ringSize * 2];
+        tableMask = ringSize * 2 - 1;
+    }
+
+    private void grow() {
+        long[] oldRing = ring;
+        long[] oldKeys = keys;
+        int[] oldCounts = counts;
+        int oldStart = (end - size) & ringMask;
+        allocate(oldRing.length * 2);
+        for (int i = 0; i < size; i++) {
+            ring[i] = oldRing[(oldStart + i) & (oldRing.length - 1)];
+        }
+        end = size;
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldCounts[i] != 0) {
+                int slot = slot(oldKeys[i]);
+                keys[slot] = oldKeys[i];
+                counts[slot] = oldCounts[i];
+            }
+        }
+    }
+
+    private int slot(long hash) {
+        int slot = (int) hash & tableMask;
+        while (counts[slot] != 0 && keys[slot] != hash) {
+            slot = (slot + 1) & tableMask;
+        }
+        return slot;
+    }
+
+    private int increment(long hash) {
+        int slot = slot(hash);
+        if (counts[slot] == 0) {
+            keys[slot] = hash;
+        }
+        return ++counts[slot];
+    }
+
+    private void decrement(long hash) {
+        int slot = slot(hash);
+        if (--counts[slot] > 0) {
+            return;
+        }
+        int hole = slot;
+        for (int next = (hole + 1) & tableMask; counts[next] != 0; next = (next + 1) & tableMask) {
+            int home = (int) keys[next] & tableMask;
+            if (((next - home) & tableMask) >= ((next - hole) & tableMask)) {
+                keys[hole] = keys[next];
+                counts[hole] = counts[next];
+                counts[next] = 0;
+                hole = next;
+            }
+        }
+    }
+}
@@ -0,0 +1,108 @@
+package boardGame.BoardGameModel;
+
+import boardGame.Stone.StoneColor;
+import boardGame.Stone.StoneDirection;
+
+/**
+ * Enum representing the symmetries of a square board that keep the diagonal moves of the game.
+ * The rotation and the vertical flip also swap the colors of the stones and the side to move,
+ * since they carry the home rows of a side onto those of the other. Each symmetry is its own inverse.
+ * Whether a symmetry applies to a variant depends on its goal squares, see {@link BoardState#getSymmetries()}.
+ */
+public enum Symmetry {
+
+    /**
+     * Leaves the board unchanged.
+     */
+    IDENTITY(false, false),
+
+    /**
+     * Mirrors the board left to right.
+     */
+    MIRROR(false, true),
+
+    /**
+     * Rotates the board by 180 degrees and swaps the colors.
+     */
+    ROTATION(true, true),
+
+    /**
+     * Mirrors the board top to bottom and swaps the colors.
+     */
+    FLIP(true, false);
+
+    private final boolean flipRows;
+    private final boolean flipCols;
+    private final StoneDirection[] directionImages = new StoneDirection[StoneDirection.values().length];
+
+    Symmetry(boolean flipRows, boolean flipCols) {
+        this.flipRows = flipRows;
+        this.flipCols = flipCols;
+        for (var direction : StoneDirection.values()) {
+            directionImages[direction.ordinal()] = StoneDirection.of(
+                    flipRows ? -direction.getRowChange() : direction.getRowChange(),
+                    flipCols ? -direction.getColChange() : direction.getColChange());
+        }
+    }
+
+    /**
+     * Returns whether the symmetry swaps the colors of the stones and the side to move.
+     *
+     * @return whether the colors are swapped
+     */
+    public boolean swapsColors() {
+        return flipRows;
+    }
+
+    /**
+     * Returns the image of the square given on a board of the size given.
+     *
+     * @param size   the number of rows and columns of the board
+     * @param square the square index
+     * @return the index of the image square
+     */
+    public int mapSquare(int size, int square) {
+        int row = square / size;
+        int col = square % size;
+        return (flipRows ? size - 1 - row : row) * size + (flipCols ? size - 1 - col : col);
+    }
+
+    /**
+     * Returns the image of the squares of a bitmask on a board of at most
+     * {@link BoardState#MAX_MASK_SIZE} squares a side.
+     *
+     * @param size the number of rows and columns of the board
+     * @param mask the squares to map
+     * @return the mask of the image squares
+     */
+    public long mapMask(int size, long mask) {
+        if (this == IDENTITY) {
+            return mask;
+        }
+        long image = 0;
+        for (long rest = mask; rest != 0; rest &= rest - 1) {
+            image |= 1L << mapSquare(size, Long.numberOfTrailingZeros(rest));
+        }
+        return image;
+    }
+
+    /**
+     * Returns the image of the direction given.
+     *
+     * @param direction the direction of a move
+     * @return the direction of the image move
+     */
+    public StoneDirection mapDirection(StoneDirection direction) {
+        return directionImages[direction.ordinal()];
+    }
+
+    /**
+     * Returns the image of the color given.
+     *
+     * @param color the color of a stone or of the side to move
+     * @return the color of the image
+     */
+    public StoneColor mapColor(StoneColor color) {
+        return swapsColors() ? BoardState.opponent(color) : color;
+    }
+}
@@ -0,0 +1,53 @@
+package boardGame.BoardGameModel;
+
+import boardGame.Stone.StoneColor;
+
+import java.util.SplittableRandom;
+
+/**
+ * Class holding the random keys of Zobrist hashing, a position hashes to the exclusive or
+ * of the keys of its occupied squares and of the side to move.
+ * The keys are generated from a fixed seed, so hashes are stable between runs.
+ */
+public final class Zobrist {
+
+    private static final long SEED = 0x5EED_5701_E5L;
+
+    private static final long[][] SQUARE_KEYS = new long[2][BoardState.MAX_SIZE * BoardState.MAX_SIZE];
+
+    private static final long SIDE_KEY;
+
+    static {
+        var random = new SplittableRandom(SEED);
+        for (var keys : SQUARE_KEYS) {
+            for (int square = 0; square < keys.length; square++) {
+                keys[square] = random.nextLong();
+            }
+        }
+        SIDE_KEY = random.nextLong();
+    }
+
+    private Zobrist() {
+    }
+
+    /**
+     * Returns the key of a stone of the color given standing on the square given.
+     *
+     * @param color  the color of the stone
+     * @param square the square index
+     * @return the key of the stone
+     */
+    public static long squareKey(StoneColor color, int square) {
+        return SQUARE_KEYS[color.ordinal()][square];
+    }
+
+    /**
+     * Returns the key toggled whenever the turn passes to the other side, it is part of
+     * the hash when red is to move.
+     *
+     * @return the key of the side to move
+     */
+    public static long sideKey() {
+        return SIDE_KEY;
+    }
+}
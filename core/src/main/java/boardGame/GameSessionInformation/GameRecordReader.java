@@ -0,0 +1,141 @@
+package boardGame.GameSessionInformation;
+
+import boardGame.BoardGameModel.BoardGameModel;
+import boardGame.BoardGameModel.BoardState;
+
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * Class reading a game record written by a {@link GameRecordWriter} one move at a time.
+ * The reader never reads past the end byte, so records stored back to back in a stream
+ * are read by creating a new reader on the same stream after each game.
+ */
+public class GameRecordReader implements Closeable {
+
+    private final DataInputStream input;
+    private final GameSessionInformation information = new GameSessionInformation();
+    private final int stoneCount;
+    private boolean ended;
+    private boolean finished;
+
+    /**
+     * Creates a reader and reads the header of the record from the stream given.
+     *
+     * @param input the stream holding the record
+     * @throws IOException if the header cannot be read or is not the header of a game record
+     */
+    public GameRecordReader(InputStream input) throws IOException {
+        this.input = new DataInputStream(input);
+        if (this.input.readInt() != GameRecordWriter.MAGIC) {
+            throw new IOException("Not a game record");
+        }
+        int version = this.input.readUnsignedByte();
+        if (version != GameRecordWriter.VERSION) {
+            throw new IOException("Unsupported game record version " + version);
+        }
+        information.setZonedDateTime(this.input.readUTF());
+        information.setFirstPlayerName(this.input.readUTF());
+        information.setSecondPlayerName(this.input.readUTF());
+        this.stoneCount = this.input.readUnsignedByte();
+    }
+
+    /**
+     * Returns the session information stored in the header.
+     *
+     * @return the session information of the game
+     */
+    public GameSessionInformation getSessionInformation() {
+        return information;
+    }
+
+    /**
+     * Returns the number of stones of the recorded game.
+     *
+     * @return the number of stones
+     */
+    public int getStoneCount() {
+        return stoneCount;
+    }
+
+    /**
+     * Returns whether the record ended with the end byte of a finished game.
+     * It is only known once {@link #readMove()} has returned {@code -1}.
+     *
+     * @return whether the recorded game was finished
+     */
+    public boolean isFinished() {
+        return finished;
+    }
+
+    /**
+     * Returns the next encoded move of the record, or {@link GameRecordWriter#UNDO} if the last move
+     * was taken back.
+     *
+     * @return the encoded move or the undo marker, or {@code -1} after the last move
+     * @throws IOException if the record cannot be read or holds a stone number out of range
+     */
+    public int readMove() throws IOException {
+        if (ended) {
+            return -1;
+        }
+        int value = input.read();
+        if (value < 0 || value == GameRecordWriter.END) {
+            ended = true;
+            finished = value == GameRecordWriter.END;
+            return -1;
+        }
+        if (value == GameRecordWriter.UNDO) {
+            return value;
+        }
+        if (BoardState.moveStone(value) >= stoneCount) {
+            throw new IOException("Stone number out of range " + BoardState.moveStone(value));
+        }
+        return value;
+    }
+
+    /**
+     * Plays the remaining moves of the record on the model given, taking back the undone ones.
+     * The observers of the model are told about the whole replay as a single change.
+     *
+     * @param model the board game model receiving the moves
+     * @return the number of moves played, not counting the undone ones
+     * @throws IOException if the record cannot be read
+     * @throws IllegalArgumentException if the model has a different number of stones
+     *                                  or a recorded move is not valid on it
+     * @throws IllegalStateException if the record takes back a move the model does not have
+     */
+    public int replay(BoardGameModel model) throws IOException {
+        if (model.getStoneCount() != stoneCount) {
+            throw new IllegalArgumentException();
+        }
+        int count = 0;
+        model.beginBatch();
+        try {
+            for (int move = readMove(); move >= 0; move = readMove()) {
+                if (move == GameRecordWriter.UNDO) {
+                    model.undo();
+                    count--;
+                } else {
+                    model.makeMove(move);
+                    count++;
+                }
+            }
+        } finally {
+            model.endBatch();
+        }
+        return count;
+    }
+
+    /**
+     * Closes the underlying stream.
+     *
+     * @throws IOException if the stream cannot be closed
+     */
+    @Override
+    public void close() throws IOException {
+        input.close();
+    }
+}
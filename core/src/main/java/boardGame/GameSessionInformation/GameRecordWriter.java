@@ -0,0 +1,135 @@
+package boardGame.GameSessionInformation;
+
+import boardGame.BoardGameModel.BoardState;
+import boardGame.Stone.StoneDirection;
+
+import java.io.Closeable;
+import java.io.DataOutputStream;
+import java.io.Flushable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Objects;
+
+/**
+ * Class writing a game record as the moves are made.
+ * A record starts with the magic number {@code SGR1}, a format version byte, the date and the two
+ * player names of the session in modified UTF-8 and the number of stones. Every move follows as a
+ * single byte holding the stone number times four plus the direction ordinal, the byte {@code 0xFE}
+ * takes back the last move, and the byte {@code 0xFF} ends a finished game. A record without the
+ * end byte is a game still in progress.
+ */
+public class GameRecordWriter implements Closeable, Flushable {
+
+    /**
+     * The magic number opening every game record.
+     */
+    public static final int MAGIC = 0x53475231;
+
+    /**
+     * The version of the format written.
+     */
+    public static final int VERSION = 1;
+
+    /**
+     * The byte marking the end of a finished game.
+     */
+    public static final int END = 0xFF;
+
+    /**
+     * The byte taking back the last move.
+     */
+    public static final int UNDO = 0xFE;
+
+    /**
+     * The largest number of stones whose moves fit into a byte besides the end byte.
+     */
+    public static final int MAX_STONES = 63;
+
+    private final DataOutputStream output;
+    private final int stoneCount;
+    private boolean finished;
+
+    /**
+     * Creates a writer and writes the header of the record to the stream given.
+     *
+     * @param output      the stream receiving the record
+     * @param information the session information of the game
+     * @param stoneCount  the number of stones of the game
+     * @throws IOException if the header cannot be written
+     */
+    public GameRecordWriter(OutputStream output, GameSessionInformation information, int stoneCount)
+            throws IOException {
+        if (stoneCount < 1 || stoneCount > MAX_STONES) {
+            throw new IllegalArgumentException();
+        }
+        this.output = new DataOutputStream(output);
+        this.stoneCount = stoneCount;
+        this.output.writeInt(MAGIC);
+        this.output.writeByte(VERSION);
+        this.output.writeUTF(Objects.requireNonNullElse(information.getZonedDateTime(), ""));
+        this.output.writeUTF(Objects.requireNonNullElse(information.getFirstPlayerName(), ""));
+        this.output.writeUTF(Objects.requireNonNullElse(information.getSecondPlayerName(), ""));
+        this.output.writeByte(stoneCount);
+    }
+
+    /**
+     * Appends a move to the record.
+     *
+     * @param stoneNumber the number of the moved stone
+     * @param direction   the direction the stone moved in
+     * @throws IOException if the move cannot be written
+     */
+    public void writeMove(int stoneNumber, StoneDirection direction) throws IOException {
+        if (stoneNumber < 0 || stoneNumber >= stoneCount) {
+            throw new IllegalArgumentException();
+        }
+        if (finished) {
+            throw new IllegalStateException();
+        }
+        output.writeByte(BoardState.encodeMove(stoneNumber, direction));
+    }
+
+    /**
+     * Appends the taking back of the last move to the record.
+     *
+     * @throws IOException if the undo cannot be written
+     */
+    public void writeUndo() throws IOException {
+        if (finished) {
+            throw new IllegalStateException();
+        }
+        output.writeByte(UNDO);
+    }
+
+    /**
+     * Marks the game as finished, no move can be appended afterwards.
+     *
+     * @throws IOException if the end byte cannot be written
+     */
+    public void finish() throws IOException {
+        if (!finished) {
+            output.writeByte(END);
+            finished = true;
+        }
+    }
+
+    /**
+     * Flushes the moves written so far to the underlying stream.
+     *
+     * @throws IOException if the stream cannot be flushed
+     */
+    @Override
+    public void flush() throws IOException {
+        output.flush();
+    }
+
+    /**
+     * Closes the underlying stream, leaving the record unfinished unless {@link #finish()} was called.
+     *
+     * @throws IOException if the stream cannot be closed
+     */
+    @Override
+    public void close() throws IOException {
+        output.close();
+    }
+}
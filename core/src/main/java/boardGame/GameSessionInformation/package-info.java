@@ -0,0 +1,4 @@
+/**
+ * Includes the game session information and the binary game records.
+ */
+package boardGame.GameSessionInformation;
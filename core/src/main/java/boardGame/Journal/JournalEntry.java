@@ -0,0 +1,39 @@
+package boardGame.Journal;
+
+import boardGame.GameSessionInformation.GameSessionInformation;
+
+/**
+ * Class extending the Record class that holds a single entry of the session journal.
+ *
+ * @param sequence         the number of the entry, counting from zero in the order of writing
+ * @param timeMillis       the time the entry was appended in milliseconds since the epoch
+ * @param type             whether the entry starts a session or records the result of its game
+ * @param zonedDateTime    the date of the session as shown to the players
+ * @param firstPlayerName  the name of the first player
+ * @param secondPlayerName the name of the second player
+ * @param result           the result of the game, empty for the start of a session
+ */
+public record JournalEntry(long sequence, long timeMillis, Type type, String zonedDateTime,
+                           String firstPlayerName, String secondPlayerName, String result) {
+
+    /**
+     * The kinds of journal entries.
+     */
+    public enum Type {
+        SESSION,
+        RESULT
+    }
+
+    /**
+     * Returns the session information of the entry.
+     *
+     * @return the session information
+     */
+    public GameSessionInformation sessionInformation() {
+        var information = new GameSessionInformation();
+        information.setZonedDateTime(zonedDateTime);
+        information.setFirstPlayerName(firstPlayerName);
+        information.setSecondPlayerName(secondPlayerName);
+        return information;
+    }
+}
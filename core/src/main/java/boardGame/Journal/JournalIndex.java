@@ -0,0 +1,77 @@
+package boardGame.Journal;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Class representing the in-memory index of the journal, mapping player names and append times
+ * to the positions of the entries in the segment files.
+ * Entries are added in sequence order with non-decreasing times, so the times form a sorted array.
+ */
+class JournalIndex {
+
+    private final Map<String, long[]> byPlayer = new HashMap<>();
+    private final Map<String, Integer> playerCounts = new HashMap<>();
+    private long[] times = new long[1024];
+    private long[] positions = new long[1024];
+    private int size;
+
+    synchronized void add(JournalEntry entry, long position) {
+        if (size == times.length) {
+            times = Arrays.copyOf(times, size * 2);
+            positions = Arrays.copyOf(positions, size * 2);
+        }
+        times[size] = entry.timeMillis();
+        positions[size] = position;
+        size++;
+        addPlayer(entry.firstPlayerName(), position);
+        if (!entry.secondPlayerName().equals(entry.firstPlayerName())) {
+            addPlayer(entry.secondPlayerName(), position);
+        }
+    }
+
+    private void addPlayer(String name, long position) {
+        int count = playerCounts.getOrDefault(name, 0);
+        var list = byPlayer.get(name);
+        if (list == null || count == list.length) {
+            list = list == null ? new long[4] : Arrays.copyOf(list, count * 2);
+            byPlayer.put(name, list);
+        }
+        list[count] = position;
+        playerCounts.put(name, count + 1);
+    }
+
+    synchronized int size() {
+        return size;
+    }
+
+    synchronized long lastTime() {
+        return size == 0 ? Long.MIN_VALUE : times[size - 1];
+    }
+
+    synchronized long[] positionsOf(String player) {
+        var list = byPlayer.get(player);
+        return list == null ? new long[0] : Arrays.copyOf(list, playerCounts.get(player));
+    }
+
+    synchronized long[] positionsBetween(long fromMillis, long toMillis) {
+        int from = lowerBound(fromMillis);
+        int to = Math.max(from, lowerBound(toMillis));
+        return Arrays.copyOfRange(positions, from, to);
+    }
+
+    private int lowerBound(long time) {
+        int low = 0;
+        int high = size;
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (times[middle] < time) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return low;
+    }
+}
@@ -0,0 +1,495 @@
+package boardGame.Journal;
+
+import boardGame.GameSessionInformation.GameSessionInformation;
+import org.tinylog.Logger;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.zip.CRC32C;
+
+/**
+ * Class representing an append-only journal of the game sessions and their results.
+ * The journal is a directory of segment files, a new segment is started when the current one
+ * reaches its size limit. Every entry is framed by its length and a CRC32C checksum, so a torn
+ * entry at the end of the last segment, left by a crash, is detected and cut off on opening.
+ * Appending only queues the entry and never blocks. A background thread writes everything queued
+ * so far in one batch and forces it to disk once, completing the futures of the batch afterwards.
+ * A batch failing to be written is removed from the disk again, so no entry is written after a torn one.
+ * The player names and append times of the entries are indexed in memory for lookups.
+ */
+public class SessionJournal implements Closeable {
+
+    /**
+     * The size limit of a segment file when none is given.
+     */
+    public static final long DEFAULT_SEGMENT_BYTES = 16L << 20;
+
+    private static final String SEGMENT_PREFIX = "segment-";
+    private static final String SEGMENT_SUFFIX = ".log";
+    private static final int HEADER_BYTES = 8;
+    private static final int MAX_ENTRY_BYTES = 1 << 20;
+    private static final int MAX_STRING_BYTES = 0xFFFF;
+    private static final int MAX_BATCH = 1024;
+    private static final int OFFSET_BITS = 40;
+
+    private final Path directory;
+    private final long segmentBytes;
+    private final List<FileChannel> segments = new ArrayList<>();
+    private final JournalIndex index = new JournalIndex();
+    private final BlockingQueue<Pending> queue = new LinkedBlockingQueue<>();
+    private final AtomicLong syncs = new AtomicLong();
+    private final Thread writer;
+    private final CRC32C checksum = new CRC32C();
+    private long nextSequence;
+    private long lastTime;
+    private boolean closed;
+    private volatile boolean failed;
+
+    private record Pending(JournalEntry.Type type, long timeMillis, String zonedDateTime, String firstPlayerName,
+                           String secondPlayerName, String result, CompletableFuture<JournalEntry> done) {
+    }
+
+    private static final Pending CLOSE = new Pending(null, 0, null, null, null, null, null);
+
+    private SessionJournal(Path directory, long segmentBytes) {
+        this.directory = directory;
+        this.segmentBytes = segmentBytes;
+        this.writer = new Thread(this::run, "session-journal");
+        this.writer.setDaemon(true);
+    }
+
+    /**
+     * Opens the journal in the directory given with the default segment size, creating it if needed.
+     *
+     * @param directory the directory of the segment files
+     * @return the opened journal
+     * @throws IOException if the journal cannot be read or is corrupted before its last entry
+     */
+    public static SessionJournal open(Path directory) throws IOException {
+        return open(directory, DEFAULT_SEGMENT_BYTES);
+    }
+
+    /**
+     * Opens the journal in the directory given, creating it if needed, and indexes its entries.
+     *
+     * @param directory    the directory of the segment files
+     * @param segmentBytes the size after which a new segment file is started
+     * @return the opened journal
+     * @throws IOException if the journal cannot be read or is corrupted before its last entry
+     */
+    public static SessionJournal open(Path directory, long segmentBytes) throws IOException {
+        if (segmentBytes < HEADER_BYTES || segmentBytes >= 1L << OFFSET_BITS) {
+            throw new IllegalArgumentException();
+        }
+        Files.createDirectories(directory);
+        var journal = new SessionJournal(directory, segmentBytes);
+        try {
+            journal.recover();
+        } catch (IOException e) {
+            journal.closeSegments();
+            throw e;
+        }
+        journal.writer.start();
+        return journal;
+    }
+
+    private void recover() throws IOException {
+        var paths = new ArrayList<Path>();
+        try (var files = Files.list(directory)) {
+            files.filter(path -> path.getFileName().toString().startsWith(SEGMENT_PREFIX)
+                    && path.getFileName().toString().endsWith(SEGMENT_SUFFIX)).sorted().forEach(paths::add);
+        }
+        for (int i = 0; i < paths.size(); i++) {
+            if (!paths.get(i).equals(segmentPath(i))) {
+                throw new IOException("Missing journal segment " + segmentPath(i));
+            }
+            var channel = FileChannel.open(paths.get(i), StandardOpenOption.READ, StandardOpenOption.WRITE);
+            segments.add(channel);
+            long end = scan(i, channel);
+            if (end < channel.size()) {
+                if (i != paths.size() - 1) {
+                    throw new IOException("Corrupted journal segment " + paths.get(i));
+                }
+                Logger.warn("Cutting off a torn entry at {} of {}", end, paths.get(i));
+                channel.truncate(end);
+                channel.force(true);
+            }
+        }
+        if (segments.isEmpty()) {
+            segments.add(createSegment(0));
+        }
+        lastTime = index.lastTime();
+    }
+
+    private long scan(int segment, FileChannel channel) throws IOException {
+        var input = new DataInputStream(new BufferedInputStream(Channels.newInputStream(channel.position(0)), 1 << 16));
+        long position = 0;
+        while (position < channel.size()) {
+            byte[] payload;
+            try {
+                int length = input.readInt();
+                int crc = input.readInt();
+                if (length < 0 || length > MAX_ENTRY_BYTES) {
+                    return position;
+                }
+                payload = new byte[length];
+                input.readFully(payload);
+                if (crc(payload) != crc) {
+                    return position;
+                }
+            } catch (EOFException e) {
+                return position;
+            }
+            var entry = decode(payload);
+            index.add(entry, position(segment, position));
+            nextSequence = entry.sequence() + 1;
+            position += HEADER_BYTES + payload.length;
+        }
+        return position;
+    }
+
+    /**
+     * Queues the start of the session given, the information is copied before returning.
+     *
+     * @param information the session information to journal
+     * @return a future completed with the entry once it is on disk, or failed with an
+     * {@link IllegalArgumentException} if a string of the information is too long to journal
+     */
+    public CompletableFuture<JournalEntry> appendSession(GameSessionInformation information) {
+        return append(JournalEntry.Type.SESSION, information, "");
+    }
+
+    /**
+     * Queues the result of the game of the session given, the information is copied before returning.
+     *
+     * @param information the session information of the game
+     * @param result      the result of the game
+     * @return a future completed with the entry once it is on disk, or failed with an
+     * {@link IllegalArgumentException} if a string of the information or the result is too long to journal
+     */
+    public CompletableFuture<JournalEntry> appendResult(GameSessionInformation information, String result) {
+        return append(JournalEntry.Type.RESULT, information, Objects.requireNonNull(result));
+    }
+
+    private CompletableFuture<JournalEntry> append(JournalEntry.Type type, GameSessionInformation information,
+                                                   String result) {
+        var done = new CompletableFuture<JournalEntry>();
+        var zonedDateTime = Objects.requireNonNullElse(information.getZonedDateTime(), "");
+        var firstPlayerName = Objects.requireNonNullElse(information.getFirstPlayerName(), "");
+        var secondPlayerName = Objects.requireNonNullElse(information.getSecondPlayerName(), "");
+        if (encodedLength(zonedDateTime) > MAX_STRING_BYTES || encodedLength(firstPlayerName) > MAX_STRING_BYTES
+                || encodedLength(secondPlayerName) > MAX_STRING_BYTES || encodedLength(result) > MAX_STRING_BYTES) {
+            done.completeExceptionally(new IllegalArgumentException("Too long to journal"));
+            return done;
+        }
+        synchronized (queue) {
+            if (closed) {
+                done.completeExceptionally(new IllegalStateException("Journal closed"));
+                return done;
+            }
+            if (failed) {
+                done.completeExceptionally(new IllegalStateException("Journal failed"));
+                return done;
+            }
+            queue.add(new Pending(type, System.currentTimeMillis(), zonedDateTime, firstPlayerName,
+                    secondPlayerName, result, done));
+        }
+        return done;
+    }
+
+    /**
+     * Returns the number of bytes {@link DataOutputStream#writeUTF(String)} encodes the string given in.
+     */
+    private static int encodedLength(String string) {
+        int length = 0;
+        for (int i = 0; i < string.length(); i++) {
+            char c = string.charAt(i);
+            length += c >= 0x0001 && c <= 0x007F ? 1 : c <= 0x07FF ? 2 : 3;
+        }
+        return length;
+    }
+
+    /**
+     * Returns the entries on disk naming the player given, in the order they were written.
+     *
+     * @param playerName the name of the first or second player
+     * @return the entries of the player
+     * @throws IOException if an entry cannot be read
+     */
+    public List<JournalEntry> findByPlayer(String playerName) throws IOException {
+        return read(index.positionsOf(playerName));
+    }
+
+    /**
+     * Returns the entries on disk appended in the time range given, in the order they were written.
+     *
+     * @param fromMillis the start of the range in milliseconds since the epoch, inclusive
+     * @param toMillis   the end of the range in milliseconds since the epoch, exclusive
+     * @return the entries of the time range
+     * @throws IOException if an entry cannot be read
+     */
+    public List<JournalEntry> findBetween(long fromMillis, long toMillis) throws IOException {
+        return read(index.positionsBetween(fromMillis, toMillis));
+    }
+
+    /**
+     * Returns the number of entries on disk.
+     *
+     * @return the number of entries
+     */
+    public int size() {
+        return index.size();
+    }
+
+    /**
+     * Returns the number of times the writer forced a batch of entries to disk.
+     *
+     * @return the number of forced writes
+     */
+    public long getSyncCount() {
+        return syncs.get();
+    }
+
+    private List<JournalEntry> read(long[] positions) throws IOException {
+        var entries = new ArrayList<JournalEntry>(positions.length);
+        var header = ByteBuffer.allocate(HEADER_BYTES);
+        for (long position : positions) {
+            FileChannel channel;
+            synchronized (segments) {
+                channel = segments.get((int) (position >>> OFFSET_BITS));
+            }
+            long offset = position & ((1L << OFFSET_BITS) - 1);
+            header.clear();
+            readFully(channel, header, offset);
+            var payload = ByteBuffer.allocate(header.getInt(0));
+            readFully(channel, payload, offset + HEADER_BYTES);
+            entries.add(decode(payload.array()));
+        }
+        return entries;
+    }
+
+    private static void readFully(FileChannel channel, ByteBuffer buffer, long offset) throws IOException {
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer, offset + buffer.position()) < 0) {
+                throw new EOFException();
+            }
+        }
+    }
+
+    private void run() {
+        var batch = new ArrayList<Pending>();
+        try {
+            while (true) {
+                batch.add(queue.take());
+                queue.drainTo(batch, MAX_BATCH - 1);
+                boolean close = batch.remove(CLOSE);
+                write(batch);
+                batch.clear();
+                if (close) {
+                    return;
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void write(List<Pending> batch) {
+        var written = new ArrayList<JournalEntry>();
+        var writtenPositions = new ArrayList<Long>();
+        var firstChannel = activeSegment();
+        int firstSegmentCount;
+        synchronized (segments) {
+            firstSegmentCount = segments.size();
+        }
+        long firstSequence = nextSequence;
+        long batchStart = -1;
+        try {
+            if (failed) {
+                throw new IOException("Journal failed");
+            }
+            var buffer = new ByteArrayOutputStream();
+            var channel = firstChannel;
+            long start = channel.size();
+            batchStart = start;
+            for (var pending : batch) {
+                lastTime = Math.max(lastTime, pending.timeMillis());
+                var entry = new JournalEntry(nextSequence, lastTime, pending.type(), pending.zonedDateTime(),
+                        pending.firstPlayerName(), pending.secondPlayerName(), pending.result());
+                byte[] payload = encode(entry);
+                if (start + buffer.size() > 0 && start + buffer.size() + HEADER_BYTES + payload.length > segmentBytes) {
+                    flush(channel, buffer, start);
+                    channel = roll();
+                    start = 0;
+                }
+                var frame = new DataOutputStream(buffer);
+                writtenPositions.add(position(segments.size() - 1, start + buffer.size()));
+                frame.writeInt(payload.length);
+                frame.writeInt(crc(payload));
+                frame.write(payload);
+                written.add(entry);
+                nextSequence++;
+            }
+            flush(channel, buffer, start);
+        } catch (IOException e) {
+            Logger.error(e, "Writing the session journal failed");
+            nextSequence = firstSequence;
+            if (batchStart >= 0) {
+                rollBack(firstChannel, batchStart, firstSegmentCount);
+            }
+            for (var pending : batch) {
+                pending.done().completeExceptionally(e);
+            }
+            return;
+        }
+        for (int i = 0; i < written.size(); i++) {
+            index.add(written.get(i), writtenPositions.get(i));
+            batch.get(i).done().complete(written.get(i));
+        }
+    }
+
+    /**
+     * Removes what a failed batch left on disk, the segments it started and its frames at the end of the segment
+     * it started in, so the entries appended afterwards follow the last complete entry. If that fails too,
+     * the journal refuses every later append rather than writing after a torn entry cut off on opening.
+     */
+    private void rollBack(FileChannel channel, long start, int segmentCount) {
+        try {
+            synchronized (segments) {
+                while (segments.size() > segmentCount) {
+                    int last = segments.size() - 1;
+                    segments.remove(last).close();
+                    Files.deleteIfExists(segmentPath(last));
+                }
+            }
+            channel.truncate(start);
+            channel.force(true);
+        } catch (IOException e) {
+            Logger.error(e, "Rolling back the session journal failed, refusing further appends");
+            failed = true;
+        }
+    }
+
+    private void flush(FileChannel channel, ByteArrayOutputStream buffer, long start) throws IOException {
+        if (buffer.size() == 0) {
+            return;
+        }
+        var bytes = ByteBuffer.wrap(buffer.toByteArray());
+        while (bytes.hasRemaining()) {
+            channel.write(bytes, start + bytes.position());
+        }
+        channel.force(false);
+        syncs.incrementAndGet();
+        buffer.reset();
+    }
+
+    private FileChannel activeSegment() {
+        synchronized (segments) {
+            return segments.get(segments.size() - 1);
+        }
+    }
+
+    private FileChannel roll() throws IOException {
+        synchronized (segments) {
+            var channel = createSegment(segments.size());
+            segments.add(channel);
+            return channel;
+        }
+    }
+
+    private FileChannel createSegment(int segment) throws IOException {
+        var channel = FileChannel.open(segmentPath(segment), StandardOpenOption.CREATE_NEW,
+                StandardOpenOption.READ, StandardOpenOption.WRITE);
+        try (var directoryChannel = FileChannel.open(directory, StandardOpenOption.READ)) {
+            directoryChannel.force(true);
+        } catch (IOException e) {
+            Logger.debug("The journal directory cannot be forced: {}", e.getMessage());
+        }
+        return channel;
+    }
+
+    private Path segmentPath(int segment) {
+        return directory.resolve(String.format("%s%08d%s", SEGMENT_PREFIX, segment, SEGMENT_SUFFIX));
+    }
+
+    private static long position(int segment, long offset) {
+        return (long) segment << OFFSET_BITS | offset;
+    }
+
+    private int crc(byte[] payload) {
+        synchronized (checksum) {
+            checksum.reset();
+            checksum.update(payload);
+            return (int) checksum.getValue();
+        }
+    }
+
+    private static byte[] encode(JournalEntry entry) throws IOException {
+        var bytes = new ByteArrayOutputStream();
+        var output = new DataOutputStream(bytes);
+        output.writeLong(entry.sequence());
+        output.writeLong(entry.timeMillis());
+        output.writeByte(entry.type().ordinal());
+        output.writeUTF(entry.zonedDateTime());
+        output.writeUTF(entry.firstPlayerName());
+        output.writeUTF(entry.secondPlayerName());
+        output.writeUTF(entry.result());
+        return bytes.toByteArray();
+    }
+
+    private static JournalEntry decode(byte[] payload) throws IOException {
+        var input = new DataInputStream(new ByteArrayInputStream(payload));
+        return new JournalEntry(input.readLong(), input.readLong(), JournalEntry.Type.values()[input.readByte()],
+                input.readUTF(), input.readUTF(), input.readUTF(), input.readUTF());
+    }
+
+    /**
+     * Writes everything queued so far, waits for the writer to finish and closes the segment files.
+     * Later appends fail.
+     *
+     * @throws IOException if a segment file cannot be closed
+     */
+    @Override
+    public void close() throws IOException {
+        synchronized (queue) {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            queue.add(CLOSE);
+        }
+        try {
+            writer.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        closeSegments();
+    }
+
+    private void closeSegments() throws IOException {
+        synchronized (segments) {
+            for (var channel : segments) {
+                channel.close();
+            }
+        }
+    }
+}
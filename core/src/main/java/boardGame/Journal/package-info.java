@@ -0,0 +1,4 @@
+/**
+ * Defines the append-only journal of the game sessions.
+ */
+package boardGame.Journal;
@@ -0,0 +1,245 @@
+package boardGame.Metrics;
+
+import org.tinylog.Logger;
+
+import javax.management.JMException;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.util.Locale;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Class holding the runtime metrics of the engines and sessions of the process.
+ * Metrics are only recorded when the {@code boardGame.metrics} system property is {@code true}.
+ * The recording sites test the constant {@link #ENABLED}, so the disabled ones are removed by the
+ * compiler, and the enabled ones only add to striped counters and lock-free histograms.
+ */
+public class Metrics implements MetricsMXBean {
+
+    /**
+     * Whether metrics are recorded.
+     */
+    public static final boolean ENABLED = Boolean.getBoolean("boardGame.metrics");
+
+    /**
+     * The metrics of the process.
+     */
+    public static final Metrics GLOBAL = new Metrics();
+
+    /**
+     * The name of the management bean of the metrics of the process.
+     */
+    public static final String OBJECT_NAME = "boardGame:type=Metrics";
+
+    private final LongAdder movesApplied = new LongAdder();
+    private final LongAdder illegalMoves = new LongAdder();
+    private final LatencyHistogram moveLatency = new LatencyHistogram();
+    private final LatencyHistogram searchLatency = new LatencyHistogram();
+    private final LongAdder searchNodes = new LongAdder();
+    private final LongAdder searchNanos = new LongAdder();
+    private final LongAdder tableProbes = new LongAdder();
+    private final LongAdder tableHits = new LongAdder();
+    private final LongAdder activeSessions = new LongAdder();
+    private ScheduledExecutorService reporter;
+
+    /**
+     * Records a move applied to a model.
+     *
+     * @param nanos the time taken to validate and apply the move
+     */
+    public void moveApplied(long nanos) {
+        movesApplied.increment();
+        moveLatency.record(nanos);
+    }
+
+    /**
+     * Records a move refused by a model.
+     */
+    public void illegalMoveAttempted() {
+        illegalMoves.increment();
+    }
+
+    /**
+     * Records a finished search.
+     *
+     * @param nodes       the number of nodes searched
+     * @param nanos       the time taken by the search
+     * @param tableProbes the number of transposition table probes
+     * @param tableHits   the number of probes finding an entry
+     */
+    public void searchFinished(long nodes, long nanos, long tableProbes, long tableHits) {
+        searchLatency.record(nanos);
+        searchNodes.add(nodes);
+        searchNanos.add(nanos);
+        this.tableProbes.add(tableProbes);
+        this.tableHits.add(tableHits);
+    }
+
+    /**
+     * Records a game session starting.
+     */
+    public void sessionStarted() {
+        activeSessions.increment();
+    }
+
+    /**
+     * Records a game session ending.
+     */
+    public void sessionEnded() {
+        activeSessions.decrement();
+    }
+
+    /**
+     * Returns the histogram of the time models take to validate and apply a move.
+     *
+     * @return the move latency histogram
+     */
+    public LatencyHistogram getMoveLatency() {
+        return moveLatency;
+    }
+
+    /**
+     * Returns the histogram of the time searches take.
+     *
+     * @return the search latency histogram
+     */
+    public LatencyHistogram getSearchLatency() {
+        return searchLatency;
+    }
+
+    @Override
+    public long getMovesApplied() {
+        return movesApplied.sum();
+    }
+
+    @Override
+    public long getIllegalMoveAttempts() {
+        return illegalMoves.sum();
+    }
+
+    @Override
+    public long getMoveLatencyMedianNanos() {
+        return moveLatency.getPercentile(0.5);
+    }
+
+    @Override
+    public long getMoveLatency99thPercentileNanos() {
+        return moveLatency.getPercentile(0.99);
+    }
+
+    @Override
+    public long getMoveLatencyMaxNanos() {
+        return moveLatency.getMax();
+    }
+
+    @Override
+    public long getSearches() {
+        return searchLatency.getCount();
+    }
+
+    @Override
+    public long getSearchLatency99thPercentileNanos() {
+        return searchLatency.getPercentile(0.99);
+    }
+
+    @Override
+    public long getSearchNodes() {
+        return searchNodes.sum();
+    }
+
+    @Override
+    public double getSearchNodesPerSecond() {
+        long nanos = searchNanos.sum();
+        return nanos == 0 ? 0 : searchNodes.sum() * 1e9 / nanos;
+    }
+
+    @Override
+    public double getTranspositionHitRate() {
+        long probes = tableProbes.sum();
+        return probes == 0 ? 0 : (double) tableHits.sum() / probes;
+    }
+
+    @Override
+    public long getActiveSessions() {
+        return activeSessions.sum();
+    }
+
+    @Override
+    public void reset() {
+        movesApplied.reset();
+        illegalMoves.reset();
+        moveLatency.reset();
+        searchLatency.reset();
+        searchNodes.reset();
+        searchNanos.reset();
+        tableProbes.reset();
+        tableHits.reset();
+    }
+
+    /**
+     * Returns the metrics as plain text, one metric per line.
+     *
+     * @return the metrics as text
+     */
+    public String format() {
+        return String.format(Locale.ROOT, """
+                        moves.applied %d
+                        moves.illegal %d
+                        moves.latency.p50 %d ns
+                        moves.latency.p99 %d ns
+                        moves.latency.max %d ns
+                        search.count %d
+                        search.latency.p99 %d ns
+                        search.nodes %d
+                        search.nodesPerSecond %.0f
+                        search.tableHitRate %.3f
+                        sessions.active %d
+                        """,
+                getMovesApplied(), getIllegalMoveAttempts(), getMoveLatencyMedianNanos(),
+                getMoveLatency99thPercentileNanos(), getMoveLatencyMaxNanos(), getSearches(),
+                getSearchLatency99thPercentileNanos(), getSearchNodes(), getSearchNodesPerSecond(),
+                getTranspositionHitRate(), getActiveSessions());
+    }
+
+    /**
+     * Registers the metrics as the management bean {@value #OBJECT_NAME} and logs them every
+     * {@code boardGame.metrics.interval} seconds, 60 by default. Nothing happens when metrics are disabled
+     * or already started.
+     */
+    public synchronized void start() {
+        if (!ENABLED || reporter != null) {
+            return;
+        }
+        try {
+            ManagementFactory.getPlatformMBeanServer().registerMBean(this, new ObjectName(OBJECT_NAME));
+        } catch (JMException e) {
+            Logger.warn(e, "Registering the metrics bean failed");
+        }
+        long interval = Long.getLong("boardGame.metrics.interval", 60);
+        reporter = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            var thread = new Thread(runnable, "metrics-reporter");
+            thread.setDaemon(true);
+            return thread;
+        });
+        reporter.scheduleAtFixedRate(() -> Logger.info("Metrics\n{}", format()), interval, interval, TimeUnit.SECONDS);
+    }
+
+    /**
+     * Stops logging the metrics and unregisters the management bean.
+     */
+    public synchronized void stop() {
+        if (reporter == null) {
+            return;
+        }
+        reporter.shutdownNow();
+        reporter = null;
+        try {
+            ManagementFactory.getPlatformMBeanServer().unregisterMBean(new ObjectName(OBJECT_NAME));
+        } catch (JMException e) {
+            Logger.warn(e, "Unregistering the metrics bean failed");
+        }
+    }
+}
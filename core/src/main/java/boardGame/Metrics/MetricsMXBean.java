@@ -0,0 +1,89 @@
+package boardGame.Metrics;
+
+/**
+ * Interface of the management bean exposing the {@link Metrics} through JMX.
+ */
+public interface MetricsMXBean {
+
+    /**
+     * Returns the number of moves applied to the models.
+     *
+     * @return the number of moves applied
+     */
+    long getMovesApplied();
+
+    /**
+     * Returns the number of moves refused by the models as not valid.
+     *
+     * @return the number of illegal move attempts
+     */
+    long getIllegalMoveAttempts();
+
+    /**
+     * Returns the median time a model took to validate and apply a move.
+     *
+     * @return the median move latency in nanoseconds
+     */
+    long getMoveLatencyMedianNanos();
+
+    /**
+     * Returns the 99th percentile of the time a model took to validate and apply a move.
+     *
+     * @return the 99th percentile of the move latency in nanoseconds
+     */
+    long getMoveLatency99thPercentileNanos();
+
+    /**
+     * Returns the longest time a model took to validate and apply a move.
+     *
+     * @return the largest move latency in nanoseconds
+     */
+    long getMoveLatencyMaxNanos();
+
+    /**
+     * Returns the number of searches finished.
+     *
+     * @return the number of searches
+     */
+    long getSearches();
+
+    /**
+     * Returns the 99th percentile of the time a search took.
+     *
+     * @return the 99th percentile of the search latency in nanoseconds
+     */
+    long getSearchLatency99thPercentileNanos();
+
+    /**
+     * Returns the number of nodes searched.
+     *
+     * @return the number of nodes
+     */
+    long getSearchNodes();
+
+    /**
+     * Returns the number of nodes searched per second of search.
+     *
+     * @return the search speed in nodes per second
+     */
+    double getSearchNodesPerSecond();
+
+    /**
+     * Returns the fraction of transposition table probes finding an entry.
+     *
+     * @return the hit rate, between 0 and 1
+     */
+    double getTranspositionHitRate();
+
+    /**
+     * Returns the number of game sessions being played.
+     *
+     * @return the number of active sessions
+     */
+    long getActiveSessions();
+
+    /**
+     * Forgets every value recorded, except the number of active sessions.
+     */
+    void reset();
+}
@@ -0,0 +1,4 @@
+/**
+ * Includes the runtime metrics of the engines and sessions, exposed through JMX and periodic dumps.
+ */
+package boardGame.Metrics;
@@ -0,0 +1,119 @@
+package boardGame.Movement;
+
+import boardGame.Stone.StoneDirection;
+
+/**
+ * Class holding one shared {@link Position} instance for every square of a square board, together with
+ * the diagonal neighbours of each square, so hot paths look positions up instead of allocating them.
+ * Squares are numbered row by row, the square of {@code (row, col)} is {@code row * size + col}.
+ * There is a single table for each board size.
+ */
+public final class PositionTable {
+
+    /**
+     * The largest board side length with a table.
+     */
+    public static final int MAX_SIZE = 64;
+
+    /**
+     * The position returned for a step leaving the board.
+     */
+    public static final Position OFF_BOARD = new Position(-1, -1);
+
+    private static final StoneDirection[] DIRECTIONS = StoneDirection.values();
+    private static final PositionTable[] TABLES = new PositionTable[MAX_SIZE + 1];
+
+    private final int size;
+    private final Position[] positions;
+    private final Position[] neighbours;
+
+    private PositionTable(int size) {
+        this.size = size;
+        this.positions = new Position[size * size];
+        for (int square = 0; square < positions.length; square++) {
+            positions[square] = new Position(square / size, square % size);
+        }
+        this.neighbours = new Position[positions.length * DIRECTIONS.length];
+        for (int square = 0; square < positions.length; square++) {
+            for (var direction : DIRECTIONS) {
+                neighbours[square * DIRECTIONS.length + direction.ordinal()] =
+                        get(square / size + direction.getRowChange(), square % size + direction.getColChange());
+            }
+        }
+    }
+
+    /**
+     * Returns the table of the board size given.
+     *
+     * @param size the number of rows and columns of the board
+     * @return the shared table of that size
+     */
+    public static PositionTable of(int size) {
+        if (size < 1 || size > MAX_SIZE) {
+            throw new IllegalArgumentException();
+        }
+        synchronized (TABLES) {
+            if (TABLES[size] == null) {
+                TABLES[size] = new PositionTable(size);
+            }
+            return TABLES[size];
+        }
+    }
+
+    /**
+     * Returns the number of rows and columns of the board.
+     *
+     * @return the board size
+     */
+    public int getSize() {
+        return size;
+    }
+
+    /**
+     * Returns the position of the row and column given.
+     *
+     * @param row the row of the position
+     * @param col the column of the position
+     * @return the shared position, or {@link #OFF_BOARD} if it is not on the board
+     */
+    public Position get(int row, int col) {
+        if (row < 0 || row >= size || col < 0 || col >= size) {
+            return OFF_BOARD;
+        }
+        return positions[row * size + col];
+    }
+
+    /**
+     * Returns the position of the square given.
+     *
+     * @param square the square index
+     * @return the shared position of the square
+     */
+    public Position get(int square) {
+        return positions[square];
+    }
+
+    /**
+     * Returns the square index of the position given.
+     *
+     * @param position a position on the board
+     * @return the square index
+     */
+    public int square(Position position) {
+        return position.row() * size + position.col();
+    }
+
+    /**
+     * Returns the position reached from the position given by a single step in the direction given.
+     *
+     * @param position  a position on the board
+     * @param direction the direction of the step
+     * @return the shared position reached, or {@link #OFF_BOARD} if the step leaves the board
+     */
+    public Position moveTo(Position position, Direction direction) {
+        if (direction instanceof StoneDirection stoneDirection) {
+            return neighbours[square(position) * DIRECTIONS.length + stoneDirection.ordinal()];
+        }
+        return get(position.row() + direction.getRowChange(), position.col() + direction.getColChange());
+    }
+}
@@ -0,0 +1,4 @@
+/**
+ * Defines the Position class, the shared position tables and the Direction interface.
+ */
+package boardGame.Movement;
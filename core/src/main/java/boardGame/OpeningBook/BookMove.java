@@ -0,0 +1,20 @@
+package boardGame.OpeningBook;
+
+/**
+ * Class extending the Record class that holds the statistics of a move of the opening book.
+ *
+ * @param move       the encoded move, see {@link boardGame.BoardGameModel.BoardState#encodeMove}
+ * @param games      the number of games the move was played in
+ * @param halfPoints the points scored by the side making the move, two for a win and one for a draw
+ */
+public record BookMove(int move, int games, int halfPoints) {
+
+    /**
+     * Returns the average result of the move for the side making it.
+     *
+     * @return the score, between 0 for losing every game and 1 for winning every game
+     */
+    public double score() {
+        return games == 0 ? 0 : halfPoints / (2.0 * games);
+    }
+}
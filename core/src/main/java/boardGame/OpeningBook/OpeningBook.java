@@ -0,0 +1,137 @@
+package boardGame.OpeningBook;
+
+import boardGame.BoardGameModel.BoardState;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Class representing an opening book read through memory mapping.
+ * The file holds a header followed by fixed size entries sorted by position hash, then by move,
+ * so the moves of a position are found by a binary search. Positions are keyed by their canonical hash,
+ * so games reaching a mirrored position add to the same entries, and a move is stored as the
+ * canonical move of {@link BoardState#toCanonicalMove(int)}, a starting square and direction
+ * rather than a stone number, since the same placement can be reached with the stones of a color
+ * in a different order.
+ */
+public class OpeningBook implements AutoCloseable {
+
+    static final int MAGIC = 0x53424B31;
+    static final int VERSION = 2;
+    static final int HEADER_BYTES = 16;
+    static final int ENTRY_BYTES = 20;
+
+    private final FileChannel channel;
+    private final MappedByteBuffer entries;
+    private final int size;
+
+    private OpeningBook(FileChannel channel, MappedByteBuffer entries, int size) {
+        this.channel = channel;
+        this.entries = entries;
+        this.size = size;
+    }
+
+    /**
+     * Opens the opening book file given for reading.
+     *
+     * @param path the path of the book file
+     * @return the opened book
+     * @throws IOException if the file cannot be read or is not an opening book
+     */
+    public static OpeningBook open(Path path) throws IOException {
+        var channel = FileChannel.open(path);
+        try {
+            var header = ByteBuffer.allocate(HEADER_BYTES);
+            channel.read(header, 0);
+            header.flip();
+            if (header.remaining() < HEADER_BYTES || header.getInt(0) != MAGIC || header.getInt(4) != VERSION) {
+                throw new IOException("Not an opening book file: " + path);
+            }
+            long size = header.getLong(8);
+            if (size < 0 || size > Integer.MAX_VALUE / ENTRY_BYTES
+                    || channel.size() < HEADER_BYTES + size * ENTRY_BYTES) {
+                throw new IOException("Truncated opening book file: " + path);
+            }
+            var entries = channel.map(FileChannel.MapMode.READ_ONLY, HEADER_BYTES, size * ENTRY_BYTES);
+            return new OpeningBook(channel, entries, (int) size);
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Returns the number of position and move pairs stored in the book.
+     *
+     * @return the number of entries
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Returns the book moves of the state given that are valid on it.
+     *
+     * @param state the state to look up
+     * @return the moves with their statistics, empty if the position is not in the book
+     */
+    public List<BookMove> lookup(BoardState state) {
+        var moves = new ArrayList<BookMove>();
+        long hash = state.getCanonicalHash();
+        for (int entry = firstEntry(hash); entry < size && hash(entry) == hash; entry++) {
+            int move = state.fromCanonicalMove(entries.getInt(entry * ENTRY_BYTES + 8));
+            if (move >= 0) {
+                moves.add(new BookMove(move, entries.getInt(entry * ENTRY_BYTES + 12),
+                        entries.getInt(entry * ENTRY_BYTES + 16)));
+            }
+        }
+        return moves;
+    }
+
+    /**
+     * Returns the book move with the best score for the side to move of the state given, among the moves
+     * played in at least the number of games given. Equal scores are decided by the number of games.
+     *
+     * @param state    the state to look up
+     * @param minGames the number of games a move must have been played in
+     * @return the encoded move, or -1 if the book has no such move
+     */
+    public int bestMove(BoardState state, int minGames) {
+        BookMove best = null;
+        for (var candidate : lookup(state)) {
+            if (candidate.games() >= minGames && (best == null || candidate.score() > best.score()
+                    || candidate.score() == best.score() && candidate.games() > best.games())) {
+                best = candidate;
+            }
+        }
+        return best == null ? -1 : best.move();
+    }
+
+    private int firstEntry(long hash) {
+        int low = 0;
+        int high = size;
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (hash(middle) < hash) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return low;
+    }
+
+    private long hash(int entry) {
+        return entries.getLong(entry * ENTRY_BYTES);
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+}
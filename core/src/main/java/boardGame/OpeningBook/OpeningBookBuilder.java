@@ -0,0 +1,219 @@
+package boardGame.OpeningBook;
+
+import boardGame.BoardGameModel.BoardGameModel;
+import boardGame.BoardGameModel.BoardState;
+import boardGame.BoardGameModel.GameResult;
+import boardGame.GameSessionInformation.GameRecordReader;
+import boardGame.GameSessionInformation.GameRecordWriter;
+import boardGame.Stone.StoneColor;
+import boardGame.Tournament.Player;
+import boardGame.Tournament.PlayerFactory;
+import boardGame.Tournament.Tournament;
+import org.tinylog.Logger;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Class collecting the moves of the first plies of played games, together with the results of the games,
+ * and writing them as an {@link OpeningBook} file.
+ * Games stopped before they are over count as draws.
+ */
+public class OpeningBookBuilder {
+
+    /**
+     * The number of plies of each game added to the book when none is given.
+     */
+    public static final int DEFAULT_BOOK_PLIES = 12;
+
+    private record Key(long hash, int move) {
+    }
+
+    private final int bookPlies;
+    private final Map<Key, int[]> statistics = new HashMap<>();
+    private int games;
+
+    /**
+     * Creates a builder adding the first plies of each game up to the number given.
+     *
+     * @param bookPlies the number of plies of each game added to the book
+     */
+    public OpeningBookBuilder(int bookPlies) {
+        if (bookPlies < 1) {
+            throw new IllegalArgumentException();
+        }
+        this.bookPlies = bookPlies;
+    }
+
+    /**
+     * Returns the number of games added.
+     *
+     * @return the number of games
+     */
+    public int getGames() {
+        return games;
+    }
+
+    /**
+     * Returns the number of distinct position and move pairs collected.
+     *
+     * @return the number of book entries
+     */
+    public int size() {
+        return statistics.size();
+    }
+
+    /**
+     * Adds a game played from the state given.
+     *
+     * @param start  the state the game started from, it is left unchanged
+     * @param moves  the encoded moves of the game
+     * @param count  the number of moves
+     * @param result the result of the game
+     * @throws IllegalArgumentException if a move is not valid
+     */
+    public void addGame(BoardState start, int[] moves, int count, GameResult result) {
+        var state = start.copy();
+        for (int ply = 0; ply < Math.min(count, bookPlies); ply++) {
+            int move = moves[ply];
+            var mover = state.getSideToMove();
+            if (state.getStoneColor(BoardState.moveStone(move)) != mover
+                    || !state.isValidMove(BoardState.moveStone(move), BoardState.moveDirection(move))) {
+                throw new IllegalArgumentException();
+            }
+            var entry = statistics.computeIfAbsent(new Key(state.getCanonicalHash(), state.toCanonicalMove(move)),
+                    key -> new int[2]);
+            entry[0]++;
+            entry[1] += result.getWinner() == null ? 1 : result.getWinner() == mover ? 2 : 0;
+            state.makeMove(move);
+        }
+        games++;
+    }
+
+    /**
+     * Adds the game of the record given, played from the initial layout, taking back the undone moves.
+     *
+     * @param reader the record to read
+     * @throws IOException if the record cannot be read
+     * @throws IllegalArgumentException if the record does not fit the initial layout
+     */
+    public void addRecord(GameRecordReader reader) throws IOException {
+        var model = new BoardGameModel();
+        if (reader.getStoneCount() != model.getStoneCount()) {
+            throw new IllegalArgumentException();
+        }
+        var start = model.copyState();
+        var moves = new int[16];
+        int count = 0;
+        for (int move = reader.readMove(); move >= 0; move = reader.readMove()) {
+            if (move == GameRecordWriter.UNDO) {
+                model.undo();
+                count--;
+            } else {
+                model.makeMove(move);
+                if (count == moves.length) {
+                    moves = Arrays.copyOf(moves, 2 * count);
+                }
+                moves[count++] = move;
+            }
+        }
+        addGame(start, moves, count, model.getResult());
+    }
+
+    /**
+     * Plays games between the players of the factories given from the initial layout and adds them,
+     * the players change colors after each game.
+     *
+     * @param first    the factory of the players taking blue in the even games
+     * @param second   the factory of the players taking blue in the odd games
+     * @param count    the number of games to play
+     * @param maxPlies the number of plies after which a game is a draw
+     */
+    public void selfPlay(PlayerFactory first, PlayerFactory second, int count, int maxPlies) {
+        for (int game = 0; game < count; game++) {
+            var firstPlayer = first.create(2L * game);
+            var secondPlayer = second.create(2L * game + 1);
+            playGame(game % 2 == 0 ? firstPlayer : secondPlayer, game % 2 == 0 ? secondPlayer : firstPlayer, maxPlies);
+        }
+    }
+
+    private void playGame(Player blue, Player red, int maxPlies) {
+        var model = new BoardGameModel();
+        var start = model.copyState();
+        var moves = new int[maxPlies];
+        int ply = 0;
+        while (ply < maxPlies && !model.getResult().isOver()) {
+            var player = model.getSideToMove() == StoneColor.BLUE ? blue : red;
+            int move = player.chooseMove(model);
+            model.makeMove(move);
+            moves[ply++] = move;
+        }
+        addGame(start, moves, ply, model.getResult());
+    }
+
+    /**
+     * Writes the book into the file given, replacing it atomically.
+     *
+     * @param path the book file to write
+     * @throws IOException if the file cannot be written
+     */
+    public void write(Path path) throws IOException {
+        var keys = new ArrayList<>(statistics.keySet());
+        keys.sort(Comparator.comparingLong(Key::hash).thenComparingInt(Key::move));
+        var temporary = path.resolveSibling(path.getFileName() + ".tmp");
+        try (var output = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temporary)))) {
+            output.writeInt(OpeningBook.MAGIC);
+            output.writeInt(OpeningBook.VERSION);
+            output.writeLong(keys.size());
+            for (var key : keys) {
+                var entry = statistics.get(key);
+                output.writeLong(key.hash());
+                output.writeInt(key.move());
+                output.writeInt(entry[0]);
+                output.writeInt(entry[1]);
+            }
+        }
+        Files.move(temporary, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    /**
+     * Builds an opening book from self-play games and from the game records of a directory.
+     * Usage: {@code OpeningBookBuilder <file> <games> <first> <second> [bookPlies] [recordDirectory]}.
+     *
+     * @param args the book file, the number of self-play games, the two players, the number of plies
+     *             added from each game and the directory of {@code .sgr} records
+     * @throws IOException if the book cannot be written or a record cannot be read
+     */
+    public static void main(String[] args) throws IOException {
+        if (args.length < 4) {
+            System.err.println("Usage: OpeningBookBuilder <file> <games> <first> <second> [bookPlies] [recordDirectory]");
+            System.exit(1);
+        }
+        int bookPlies = args.length > 4 ? Integer.parseInt(args[4]) : DEFAULT_BOOK_PLIES;
+        var builder = new OpeningBookBuilder(bookPlies);
+        builder.selfPlay(PlayerFactory.parse(args[2]), PlayerFactory.parse(args[3]), Integer.parseInt(args[1]),
+                Tournament.DEFAULT_MAX_PLIES);
+        if (args.length > 5) {
+            try (var records = Files.newDirectoryStream(Path.of(args[5]), "*.sgr")) {
+                for (var record : records) {
+                    try (var reader = new GameRecordReader(Files.newInputStream(record))) {
+                        builder.addRecord(reader);
+                    } catch (IOException | IllegalArgumentException | IllegalStateException e) {
+                        Logger.warn(e, "Skipping the record {}", record);
+                    }
+                }
+            }
+        }
+        builder.write(Path.of(args[0]));
+        Logger.info("Wrote {} entries from {} games", builder.size(), builder.getGames());
+    }
+}
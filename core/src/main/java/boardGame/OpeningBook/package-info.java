@@ -0,0 +1,4 @@
+/**
+ * Includes the opening book built from played games and its memory-mapped lookup.
+ */
+package boardGame.OpeningBook;
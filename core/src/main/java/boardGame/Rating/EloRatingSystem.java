@@ -0,0 +1,43 @@
+package boardGame.Rating;
+
+/**
+ * Class representing the Elo rating system, moving the rating by a fixed factor times the difference
+ * between the score and the expected score of the game.
+ */
+public class EloRatingSystem implements RatingSystem {
+
+    private final Rating initial;
+    private final double kFactor;
+
+    /**
+     * Creates the system starting players at 1500 with a factor of 32.
+     */
+    public EloRatingSystem() {
+        this(1500, 32);
+    }
+
+    /**
+     * Creates the system with the initial rating and the factor given.
+     *
+     * @param initialRating the rating of a player without games
+     * @param kFactor       the largest change of a rating in one game
+     */
+    public EloRatingSystem(double initialRating, double kFactor) {
+        if (!(kFactor > 0)) {
+            throw new IllegalArgumentException();
+        }
+        this.initial = new Rating(initialRating, 0);
+        this.kFactor = kFactor;
+    }
+
+    @Override
+    public Rating initialRating() {
+        return initial;
+    }
+
+    @Override
+    public Rating rate(Rating player, Rating opponent, double score) {
+        double expected = 1 / (1 + Math.pow(10, (opponent.rating() - player.rating()) / 400));
+        return new Rating(player.rating() + kFactor * (score - expected), 0);
+    }
+}
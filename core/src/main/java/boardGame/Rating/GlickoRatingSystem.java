@@ -0,0 +1,52 @@
+package boardGame.Rating;
+
+/**
+ * Class representing the Glicko rating system, updating the rating after every game as a rating period
+ * of its own. The change of a rating is large while its deviation is large and shrinks as the player plays,
+ * and results against opponents of uncertain rating count less.
+ * The deviation is kept above a floor so the ratings of regular players keep following their form.
+ */
+public class GlickoRatingSystem implements RatingSystem {
+
+    private static final double Q = Math.log(10) / 400;
+
+    private final Rating initial;
+    private final double minDeviation;
+
+    /**
+     * Creates the system starting players at 1500 with a deviation of 350, never going below 50.
+     */
+    public GlickoRatingSystem() {
+        this(1500, 350, 50);
+    }
+
+    /**
+     * Creates the system with the initial rating and the deviations given.
+     *
+     * @param initialRating    the rating of a player without games
+     * @param initialDeviation the deviation of a player without games
+     * @param minDeviation     the smallest deviation of a player
+     */
+    public GlickoRatingSystem(double initialRating, double initialDeviation, double minDeviation) {
+        if (!(minDeviation > 0) || initialDeviation < minDeviation) {
+            throw new IllegalArgumentException();
+        }
+        this.initial = new Rating(initialRating, initialDeviation);
+        this.minDeviation = minDeviation;
+    }
+
+    @Override
+    public Rating initialRating() {
+        return initial;
+    }
+
+    @Override
+    public Rating rate(Rating player, Rating opponent, double score) {
+        double g = 1 / Math.sqrt(1 + 3 * Q * Q * opponent.deviation() * opponent.deviation() / (Math.PI * Math.PI));
+        double expected = 1 / (1 + Math.pow(10, -g * (player.rating() - opponent.rating()) / 400));
+        double dSquared = 1 / (Q * Q * g * g * expected * (1 - expected));
+        double precision = 1 / (player.deviation() * player.deviation()) + 1 / dSquared;
+        double rating = player.rating() + Q / precision * g * (score - expected);
+        return new Rating(rating, Math.max(minDeviation, Math.sqrt(1 / precision)));
+    }
+}
@@ -0,0 +1,277 @@
+package boardGame.Rating;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+/**
+ * Class representing the players ordered by rating, the highest first and ties broken by the lower player number.
+ * The order is kept in a treap augmented with the sizes of its subtrees, so adding, moving and removing a player,
+ * finding its rank and finding the player at a rank all take logarithmic time whatever the number of players.
+ * The tree is stored in primitive arrays indexed by the player numbers, which should be small and dense,
+ * so a million players cost a few tens of megabytes and no object per player.
+ */
+public final class Leaderboard {
+
+    private static final int NONE = -1;
+    private static final int INITIAL_SIZE = 16;
+
+    private final SplittableRandom random = new SplittableRandom(25);
+    private double[] ratings = new double[INITIAL_SIZE];
+    private int[] priorities = new int[INITIAL_SIZE];
+    private int[] left = new int[INITIAL_SIZE];
+    private int[] right = new int[INITIAL_SIZE];
+    private int[] sizes = new int[INITIAL_SIZE];
+    private int root = NONE;
+    private int splitLeft;
+    private int splitRight;
+
+    /**
+     * Returns the number of players on the leaderboard.
+     *
+     * @return the number of players
+     */
+    public int size() {
+        return sizeOf(root);
+    }
+
+    /**
+     * Returns whether the player given is on the leaderboard.
+     *
+     * @param player the number of the player
+     * @return whether the player is ranked
+     */
+    public boolean contains(int player) {
+        return player >= 0 && player < sizes.length && sizes[player] > 0;
+    }
+
+    /**
+     * Returns the rating the player given is ranked by.
+     *
+     * @param player the number of a player on the leaderboard
+     * @return the rating of the player
+     * @throws IllegalArgumentException if the player is not on the leaderboard
+     */
+    public double getRating(int player) {
+        if (!contains(player)) {
+            throw new IllegalArgumentException();
+        }
+        return ratings[player];
+    }
+
+    /**
+     * Adds the player given with the rating given, or moves it if it is already on the leaderboard.
+     *
+     * @param player the number of the player
+     * @param rating the rating of the player
+     */
+    public void put(int player, double rating) {
+        if (player < 0 || Double.isNaN(rating)) {
+            throw new IllegalArgumentException();
+        }
+        if (contains(player)) {
+            root = erase(root, player);
+        } else if (player >= sizes.length) {
+            grow(player + 1);
+        }
+        ratings[player] = rating;
+        priorities[player] = random.nextInt();
+        left[player] = NONE;
+        right[player] = NONE;
+        sizes[player] = 1;
+        root = insert(root, player);
+    }
+
+    /**
+     * Removes the player given from the leaderboard.
+     *
+     * @param player the number of the player
+     * @return whether the player was on the leaderboard
+     */
+    public boolean remove(int player) {
+        if (!contains(player)) {
+            return false;
+        }
+        root = erase(root, player);
+        sizes[player] = 0;
+        return true;
+    }
+
+    /**
+     * Returns the rank of the player given, the best player being ranked {@code 0}.
+     *
+     * @param player the number of the player
+     * @return the rank of the player, or {@code -1} if it is not on the leaderboard
+     */
+    public int rank(int player) {
+        if (!contains(player)) {
+            return -1;
+        }
+        int rank = sizeOf(left[player]);
+        for (int node = root; node != player; ) {
+            if (before(player, node)) {
+                node = left[node];
+            } else {
+                rank += sizeOf(left[node]) + 1;
+                node = right[node];
+            }
+        }
+        return rank;
+    }
+
+    /**
+     * Returns the player with the rank given.
+     *
+     * @param rank the rank of the player, {@code 0} for the best player
+     * @return the number of the player
+     * @throws IndexOutOfBoundsException if the rank is not less than the number of players
+     */
+    public int playerAt(int rank) {
+        if (rank < 0 || rank >= size()) {
+            throw new IndexOutOfBoundsException(rank);
+        }
+        int node = root;
+        while (true) {
+            int leftSize = sizeOf(left[node]);
+            if (rank < leftSize) {
+                node = left[node];
+            } else if (rank == leftSize) {
+                return node;
+            } else {
+                rank -= leftSize + 1;
+                node = right[node];
+            }
+        }
+    }
+
+    /**
+     * Returns the players of the ranks given in rank order, visiting the tree once.
+     *
+     * @param fromRank the first rank
+     * @param count    the largest number of players to return
+     * @return the numbers of the players, fewer than the count given past the last rank
+     */
+    public int[] playersFrom(int fromRank, int count) {
+        if (fromRank < 0 || count < 0) {
+            throw new IllegalArgumentException();
+        }
+        var players = new int[Math.max(0, Math.min(count, size() - fromRank))];
+        int[] stack = new int[64];
+        int depth = 0;
+        int node = root;
+        int skip = fromRank;
+        while (node != NONE) {
+            int leftSize = sizeOf(left[node]);
+            if (skip < leftSize) {
+                stack = push(stack, depth++, node);
+                node = left[node];
+            } else if (skip == leftSize) {
+                stack = push(stack, depth++, node);
+                break;
+            } else {
+                skip -= leftSize + 1;
+                node = right[node];
+            }
+        }
+        for (int i = 0; i < players.length; i++) {
+            node = stack[--depth];
+            players[i] = node;
+            for (int next = right[node]; next != NONE; next = left[next]) {
+                stack = push(stack, depth++, next);
+            }
+        }
+        return players;
+    }
+
+    private static int[] push(int[] stack, int depth, int node) {
+        if (depth == stack.length) {
+            stack = Arrays.copyOf(stack, depth * 2);
+        }
+        stack[depth] = node;
+        return stack;
+    }
+
+    private boolean before(int a, int b) {
+        return ratings[a] > ratings[b] || ratings[a] == ratings[b] && a < b;
+    }
+
+    private int sizeOf(int node) {
+        return node == NONE ? 0 : sizes[node];
+    }
+
+    private int update(int node) {
+        sizes[node] = sizeOf(left[node]) + sizeOf(right[node]) + 1;
+        return node;
+    }
+
+    private int insert(int node, int player) {
+        if (node == NONE) {
+            return player;
+        }
+        if (priorities[player] > priorities[node]) {
+            split(node, player);
+            left[player] = splitLeft;
+            right[player] = splitRight;
+            return update(player);
+        }
+        if (before(player, node)) {
+            left[node] = insert(left[node], player);
+        } else {
+            right[node] = insert(right[node], player);
+        }
+        return update(node);
+    }
+
+    /**
+     * Splits the subtree given into the players ranked before the player given and the others.
+     */
+    private void split(int node, int player) {
+        if (node == NONE) {
+            splitLeft = NONE;
+            splitRight = NONE;
+        } else if (before(node, player)) {
+            split(right[node], player);
+            right[node] = splitLeft;
+            splitLeft = update(node);
+        } else {
+            split(left[node], player);
+            left[node] = splitRight;
+            splitRight = update(node);
+        }
+    }
+
+    private int erase(int node, int player) {
+        if (node == player) {
+            return merge(left[node], right[node]);
+        }
+        if (before(player, node)) {
+            left[node] = erase(left[node], player);
+        } else {
+            right[node] = erase(right[node], player);
+        }
+        return update(node);
+    }
+
+    private int merge(int a, int b) {
+        if (a == NONE) {
+            return b;
+        }
+        if (b == NONE) {
+            return a;
+        }
+        if (priorities[a] > priorities[b]) {
+            right[a] = merge(right[a], b);
+            return update(a);
+        }
+        left[b] = merge(a, left[b]);
+        return update(b);
+    }
+
+    private void grow(int minimum) {
+        int length = Math.max(minimum, sizes.length * 2);
+        ratings = Arrays.copyOf(ratings, length);
+        priorities = Arrays.copyOf(priorities, length);
+        left = Arrays.copyOf(left, length);
+        right = Arrays.copyOf(right, length);
+        sizes = Arrays.copyOf(sizes, length);
+    }
+}
@@ -0,0 +1,12 @@
+package boardGame.Rating;
+
+/**
+ * Class extending the Record class that holds a player of the leaderboard with its rating.
+ *
+ * @param rank   the rank of the player, {@code 1} for the best player
+ * @param name   the name of the player
+ * @param rating the rating of the player
+ * @param games  the number of rated games of the player
+ */
+public record RankedPlayer(int rank, String name, Rating rating, int games) {
+}
@@ -0,0 +1,22 @@
+package boardGame.Rating;
+
+/**
+ * Class extending the Record class that holds the strength of a player as estimated by a {@link RatingSystem}.
+ *
+ * @param rating    the estimated strength, higher is stronger
+ * @param deviation the uncertainty of the estimate, {@code 0} for systems not tracking it
+ */
+public record Rating(double rating, double deviation) {
+
+    /**
+     * Creates a rating, the deviation cannot be negative.
+     *
+     * @param rating    the estimated strength
+     * @param deviation the uncertainty of the estimate
+     */
+    public Rating {
+        if (!Double.isFinite(rating) || !(deviation >= 0) || Double.isInfinite(deviation)) {
+            throw new IllegalArgumentException();
+        }
+    }
+}
@@ -0,0 +1,395 @@
+package boardGame.Rating;
+
+import boardGame.BoardGameModel.GameResult;
+import boardGame.Journal.JournalEntry;
+import boardGame.Journal.SessionJournal;
+import org.tinylog.Logger;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.CheckedInputStream;
+import java.util.zip.CheckedOutputStream;
+import java.util.zip.CRC32C;
+
+/**
+ * Class representing the ratings of the players and their leaderboard, updated incrementally
+ * from the results of the {@link SessionJournal}, which serves as the replay log of the ratings.
+ * The first player of a session plays blue. Every result moves the ratings of its two players and
+ * their places on the {@link Leaderboard}, so ranks and pages of the leaderboard never need the history.
+ * The ratings are written to a snapshot file every few results, together with the sequence number of
+ * the last journal entry applied, and opening the service reads the snapshot and replays the journal
+ * entries written after it. Results are applied at most once, so replaying the journal again is harmless.
+ * The periodic snapshots are copied when they are due and written and forced to disk by a background thread,
+ * so applying a result never waits for the disk, whichever thread completes the journal futures.
+ */
+public class RatingService implements Closeable {
+
+    /**
+     * The number of results applied between two snapshots when none is given.
+     */
+    public static final int DEFAULT_SNAPSHOT_INTERVAL = 1000;
+
+    static final int MAGIC = 0x53525431;
+    static final int VERSION = 1;
+
+    private static final int INITIAL_SIZE = 16;
+
+    private final Path snapshotPath;
+    private final RatingSystem system;
+    private final int snapshotInterval;
+    private final Map<String, Integer> players = new HashMap<>();
+    private final List<String> names = new ArrayList<>();
+    private final Leaderboard leaderboard = new Leaderboard();
+    private final Object snapshotLock = new Object();
+    private final ExecutorService snapshotWriter = Executors.newSingleThreadExecutor(runnable -> {
+        var thread = new Thread(runnable, "rating-snapshots");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private double[] ratings = new double[INITIAL_SIZE];
+    private double[] deviations = new double[INITIAL_SIZE];
+    private int[] games = new int[INITIAL_SIZE];
+    private long lastSequence = -1;
+    private long lastTimeMillis;
+    private int unsavedResults;
+    private long savedSequence = -1;
+
+    private record Snapshot(long lastSequence, long lastTimeMillis, String[] names, double[] ratings,
+                            double[] deviations, int[] games) {
+    }
+
+    private RatingService(Path snapshotPath, RatingSystem system, int snapshotInterval) {
+        this.snapshotPath = snapshotPath;
+        this.system = system;
+        this.snapshotInterval = snapshotInterval;
+    }
+
+    /**
+     * Opens the ratings saved in the snapshot file given with the default snapshot interval.
+     *
+     * @param snapshotPath the snapshot file, created on the first snapshot if missing
+     * @param system       the rating system updating the ratings
+     * @return the opened service
+     * @throws IOException if the snapshot cannot be read or is corrupted
+     */
+    public static RatingService open(Path snapshotPath, RatingSystem system) throws IOException {
+        return open(snapshotPath, system, DEFAULT_SNAPSHOT_INTERVAL);
+    }
+
+    /**
+     * Opens the ratings saved in the snapshot file given.
+     *
+     * @param snapshotPath     the snapshot file, created on the first snapshot if missing
+     * @param system           the rating system updating the ratings
+     * @param snapshotInterval the number of results applied between two snapshots
+     * @return the opened service
+     * @throws IOException if the snapshot cannot be read or is corrupted
+     */
+    public static RatingService open(Path snapshotPath, RatingSystem system, int snapshotInterval)
+            throws IOException {
+        if (snapshotInterval < 1) {
+            throw new IllegalArgumentException();
+        }
+        var service = new RatingService(snapshotPath, system, snapshotInterval);
+        if (Files.exists(snapshotPath)) {
+            service.readSnapshot();
+        }
+        return service;
+    }
+
+    /**
+     * Applies the results of the journal given written after the last result applied.
+     *
+     * @param journal the journal of the sessions
+     * @return the number of results applied
+     * @throws IOException if the journal cannot be read
+     */
+    public synchronized int replay(SessionJournal journal) throws IOException {
+        int applied = 0;
+        for (var entry : journal.findBetween(lastTimeMillis, Long.MAX_VALUE)) {
+            if (apply(entry)) {
+                applied++;
+            }
+        }
+        return applied;
+    }
+
+    /**
+     * Applies the journal entry given if it is the result of a game between two named players written after
+     * the last entry applied, writing a snapshot in the background once enough results were applied since
+     * the last one. Entries are to be applied in the order of the journal, as its futures complete.
+     *
+     * @param entry the journal entry
+     * @return whether ratings changed
+     */
+    public synchronized boolean apply(JournalEntry entry) {
+        if (entry.sequence() <= lastSequence) {
+            return false;
+        }
+        lastSequence = entry.sequence();
+        lastTimeMillis = entry.timeMillis();
+        double blueScore = score(entry);
+        if (Double.isNaN(blueScore)) {
+            return false;
+        }
+        int blue = player(entry.firstPlayerName());
+        int red = player(entry.secondPlayerName());
+        var blueRating = ratingOf(blue);
+        var redRating = ratingOf(red);
+        setRating(blue, system.rate(blueRating, redRating, blueScore));
+        setRating(red, system.rate(redRating, blueRating, 1 - blueScore));
+        if (++unsavedResults >= snapshotInterval) {
+            var snapshot = snapshot();
+            unsavedResults = 0;
+            snapshotWriter.execute(() -> {
+                try {
+                    write(snapshot);
+                } catch (IOException e) {
+                    Logger.error(e, "Writing the rating snapshot failed");
+                }
+            });
+        }
+        return true;
+    }
+
+    private static double score(JournalEntry entry) {
+        if (entry.type() != JournalEntry.Type.RESULT || entry.firstPlayerName().isEmpty()
+                || entry.secondPlayerName().isEmpty() || entry.firstPlayerName().equals(entry.secondPlayerName())) {
+            return Double.NaN;
+        }
+        GameResult result;
+        try {
+            result = GameResult.valueOf(entry.result());
+        } catch (IllegalArgumentException e) {
+            Logger.debug("Not rating the result {}", entry.result());
+            return Double.NaN;
+        }
+        return switch (result) {
+            case BLUE_WON -> 1;
+            case RED_WON -> 0;
+            case DRAW -> 0.5;
+            case IN_PROGRESS -> Double.NaN;
+        };
+    }
+
+    private int player(String name) {
+        var player = players.get(name);
+        if (player != null) {
+            return player;
+        }
+        int number = names.size();
+        if (number == ratings.length) {
+            ratings = Arrays.copyOf(ratings, number * 2);
+            deviations = Arrays.copyOf(deviations, number * 2);
+            games = Arrays.copyOf(games, number * 2);
+        }
+        names.add(name);
+        players.put(name, number);
+        var initial = system.initialRating();
+        ratings[number] = initial.rating();
+        deviations[number] = initial.deviation();
+        return number;
+    }
+
+    private Rating ratingOf(int player) {
+        return new Rating(ratings[player], deviations[player]);
+    }
+
+    private void setRating(int player, Rating rating) {
+        ratings[player] = rating.rating();
+        deviations[player] = rating.deviation();
+        games[player]++;
+        leaderboard.put(player, rating.rating());
+    }
+
+    /**
+     * Returns the player with the name given and its rank.
+     *
+     * @param name the name of the player
+     * @return the player, or an empty optional if it has no rated game
+     */
+    public synchronized Optional<RankedPlayer> getPlayer(String name) {
+        var player = players.get(name);
+        if (player == null) {
+            return Optional.empty();
+        }
+        return Optional.of(ranked(leaderboard.rank(player), player));
+    }
+
+    /**
+     * Returns the best players, the best first.
+     *
+     * @param count the largest number of players to return
+     * @return the best players
+     */
+    public List<RankedPlayer> getTop(int count) {
+        return getPage(1, count);
+    }
+
+    /**
+     * Returns the players ranked from the rank given, in rank order.
+     *
+     * @param fromRank the rank of the first player, {@code 1} for the best player
+     * @param count    the largest number of players to return
+     * @return the players, fewer than the count given past the last rank
+     */
+    public synchronized List<RankedPlayer> getPage(int fromRank, int count) {
+        if (fromRank < 1) {
+            throw new IllegalArgumentException();
+        }
+        int[] page = leaderboard.playersFrom(fromRank - 1, count);
+        var result = new ArrayList<RankedPlayer>(page.length);
+        for (int i = 0; i < page.length; i++) {
+            result.add(ranked(fromRank - 1 + i, page[i]));
+        }
+        return result;
+    }
+
+    private RankedPlayer ranked(int rank, int player) {
+        return new RankedPlayer(rank + 1, names.get(player), ratingOf(player), games[player]);
+    }
+
+    /**
+     * Returns the number of rated players.
+     *
+     * @return the number of players
+     */
+    public synchronized int getPlayerCount() {
+        return names.size();
+    }
+
+    /**
+     * Returns the sequence number of the last journal entry applied.
+     *
+     * @return the sequence number, or {@code -1} if no entry was applied
+     */
+    public synchronized long getLastSequence() {
+        return lastSequence;
+    }
+
+    /**
+     * Writes the ratings to the snapshot file, replacing the previous snapshot only once the new one is on disk.
+     *
+     * @throws IOException if the snapshot cannot be written
+     */
+    public synchronized void writeSnapshot() throws IOException {
+        write(snapshot());
+        unsavedResults = 0;
+    }
+
+    /**
+     * Waits until the snapshots due so far are written.
+     *
+     * @throws InterruptedException if the thread is interrupted while waiting
+     */
+    public void awaitSnapshots() throws InterruptedException {
+        try {
+            snapshotWriter.submit(() -> {
+            }).get();
+        } catch (ExecutionException e) {
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
+    private Snapshot snapshot() {
+        int count = names.size();
+        return new Snapshot(lastSequence, lastTimeMillis, names.toArray(new String[0]),
+                Arrays.copyOf(ratings, count), Arrays.copyOf(deviations, count), Arrays.copyOf(games, count));
+    }
+
+    private void write(Snapshot snapshot) throws IOException {
+        synchronized (snapshotLock) {
+            if (snapshot.lastSequence() < savedSequence) {
+                return;
+            }
+            var temporary = snapshotPath.resolveSibling(snapshotPath.getFileName() + ".tmp");
+            try (var channel = FileChannel.open(temporary, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                    StandardOpenOption.TRUNCATE_EXISTING)) {
+                var checksum = new CRC32C();
+                var output = new DataOutputStream(new CheckedOutputStream(
+                        new BufferedOutputStream(Channels.newOutputStream(channel), 1 << 16), checksum));
+                output.writeInt(MAGIC);
+                output.writeInt(VERSION);
+                output.writeLong(snapshot.lastSequence());
+                output.writeLong(snapshot.lastTimeMillis());
+                output.writeInt(snapshot.names().length);
+                for (int i = 0; i < snapshot.names().length; i++) {
+                    output.writeUTF(snapshot.names()[i]);
+                    output.writeDouble(snapshot.ratings()[i]);
+                    output.writeDouble(snapshot.deviations()[i]);
+                    output.writeInt(snapshot.games()[i]);
+                }
+                output.flush();
+                output.writeInt((int) checksum.getValue());
+                output.flush();
+                channel.force(false);
+            }
+            Files.move(temporary, snapshotPath, StandardCopyOption.REPLACE_EXISTING,
+                    StandardCopyOption.ATOMIC_MOVE);
+            savedSequence = snapshot.lastSequence();
+        }
+    }
+
+    private void readSnapshot() throws IOException {
+        var checksum = new CRC32C();
+        try (var input = new DataInputStream(new CheckedInputStream(
+                new BufferedInputStream(Files.newInputStream(snapshotPath), 1 << 16), checksum))) {
+            if (input.readInt() != MAGIC || input.readInt() != VERSION) {
+                throw new IOException("Not a rating snapshot: " + snapshotPath);
+            }
+            lastSequence = input.readLong();
+            lastTimeMillis = input.readLong();
+            int count = input.readInt();
+            for (int i = 0; i < count; i++) {
+                int player = player(input.readUTF());
+                ratings[player] = input.readDouble();
+                deviations[player] = input.readDouble();
+                games[player] = input.readInt();
+                leaderboard.put(player, ratings[player]);
+            }
+            int expected = (int) checksum.getValue();
+            if (input.readInt() != expected) {
+                throw new IOException("Corrupted rating snapshot: " + snapshotPath);
+            }
+        }
+    }
+
+    /**
+     * Waits for the snapshots being written and writes a snapshot if results were applied since the last one.
+     * No result is to be applied afterwards.
+     *
+     * @throws IOException if the snapshot cannot be written
+     */
+    @Override
+    public synchronized void close() throws IOException {
+        snapshotWriter.shutdown();
+        try {
+            snapshotWriter.awaitTermination(1, TimeUnit.MINUTES);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        if (unsavedResults > 0) {
+            writeSnapshot();
+        }
+    }
+}
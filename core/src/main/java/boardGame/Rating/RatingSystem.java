@@ -0,0 +1,24 @@
+package boardGame.Rating;
+
+/**
+ * Interface of the rating systems updating the rating of a player after each of its games.
+ */
+public interface RatingSystem {
+
+    /**
+     * Returns the rating of a player without games.
+     *
+     * @return the initial rating
+     */
+    Rating initialRating();
+
+    /**
+     * Returns the rating of a player after a game, both ratings given being the ones from before the game.
+     *
+     * @param player   the rating of the player
+     * @param opponent the rating of its opponent
+     * @param score    the score of the player, {@code 1} for a win, {@code 0.5} for a draw and {@code 0} for a loss
+     * @return the new rating of the player
+     */
+    Rating rate(Rating player, Rating opponent, double score);
+}
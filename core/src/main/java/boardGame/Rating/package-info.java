@@ -0,0 +1,4 @@
+/**
+ * Defines the ratings of the players and their leaderboard.
+ */
+package boardGame.Rating;
@@ -0,0 +1,39 @@
+package boardGame.Search;
+
+import java.util.List;
+
+/**
+ * Class extending the Record class that holds the state of the analysis of a position.
+ *
+ * @param hash         the hash of the analysed position, see {@link boardGame.BoardGameModel.BoardState#getHash()}
+ * @param depth        the deepest fully searched depth
+ * @param score        the score of the position for its side to move
+ * @param line         the encoded moves of the best line found, starting with the best move
+ * @param nodes        the number of positions visited
+ * @param elapsedNanos the time spent analysing in nanoseconds
+ */
+public record Analysis(long hash, int depth, int score, List<Integer> line, long nodes, long elapsedNanos) {
+
+    /**
+     * Creates an analysis holding a copy of the line given.
+     *
+     * @param hash         the hash of the analysed position
+     * @param depth        the deepest fully searched depth
+     * @param score        the score of the position for its side to move
+     * @param line         the encoded moves of the best line found
+     * @param nodes        the number of positions visited
+     * @param elapsedNanos the time spent analysing in nanoseconds
+     */
+    public Analysis {
+        line = List.copyOf(line);
+    }
+
+    /**
+     * Returns the best move of the position.
+     *
+     * @return the encoded best move, or {@code -1} if the line is empty
+     */
+    public int bestMove() {
+        return line.isEmpty() ? -1 : line.get(0);
+    }
+}
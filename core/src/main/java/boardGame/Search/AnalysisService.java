@@ -0,0 +1,158 @@
+package boardGame.Search;
+
+import boardGame.BoardGameModel.BoardState;
+import org.tinylog.Logger;
+
+import java.util.Arrays;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+
+/**
+ * Class representing a background analysis of the position of a game, searching it on its own thread
+ * while the players think. Analysing a new position stops the analysis of the previous one.
+ * The analyses are handed to the consumer through the executor given, such as the one of a user
+ * interface thread, at most once per throttle interval, each handing over the latest analysis only.
+ */
+public class AnalysisService implements AutoCloseable {
+
+    /**
+     * The longest time spent analysing a single position when none is given.
+     */
+    public static final long DEFAULT_ANALYSIS_MILLIS = 60_000;
+
+    /**
+     * The shortest time between two analyses handed over when none is given.
+     */
+    public static final long DEFAULT_THROTTLE_MILLIS = 100;
+
+    private final SearchEngine engine;
+    private final Executor callbackExecutor;
+    private final Consumer<Analysis> consumer;
+    private final long throttleNanos;
+    private final ExecutorService searcher;
+    private final ScheduledExecutorService scheduler;
+    private final AtomicReference<Pending> latest = new AtomicReference<>();
+    private final AtomicBoolean flushScheduled = new AtomicBoolean();
+    private final AtomicLong generation = new AtomicLong();
+
+    private volatile long lastDelivery;
+
+    private record Pending(long task, Analysis analysis) {
+    }
+
+    /**
+     * Creates a service analysing with a default engine and handing over the analyses through the executor given.
+     *
+     * @param callbackExecutor the executor running the consumer, such as {@code Platform::runLater}
+     * @param consumer         the consumer of the analyses
+     */
+    public AnalysisService(Executor callbackExecutor, Consumer<Analysis> consumer) {
+        this(new SearchEngine(DEFAULT_ANALYSIS_MILLIS), callbackExecutor, consumer, DEFAULT_THROTTLE_MILLIS);
+    }
+
+    /**
+     * Creates a service analysing with the engine given and handing over the analyses through the executor given.
+     *
+     * @param engine           the engine searching the positions, it must not be used by anybody else
+     * @param callbackExecutor the executor running the consumer
+     * @param consumer         the consumer of the analyses
+     * @param throttleMillis   the shortest time between two analyses handed over
+     */
+    public AnalysisService(SearchEngine engine, Executor callbackExecutor, Consumer<Analysis> consumer,
+                           long throttleMillis) {
+        if (throttleMillis < 0) {
+            throw new IllegalArgumentException();
+        }
+        this.engine = engine;
+        this.callbackExecutor = callbackExecutor;
+        this.consumer = consumer;
+        this.throttleNanos = throttleMillis * 1_000_000L;
+        this.searcher = Executors.newSingleThreadExecutor(runnable -> daemon(runnable, "analysis"));
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> daemon(runnable, "analysis-updates"));
+    }
+
+    private static Thread daemon(Runnable runnable, String name) {
+        var thread = new Thread(runnable, name);
+        thread.setDaemon(true);
+        return thread;
+    }
+
+    /**
+     * Stops the running analysis and starts analysing the state given.
+     *
+     * @param state the state to analyse, it is copied
+     */
+    public void analyze(BoardState state) {
+        var root = state.copy();
+        long task = generation.incrementAndGet();
+        engine.stop();
+        searcher.execute(() -> run(root, task));
+    }
+
+    /**
+     * Stops the running analysis, the analyses not handed over yet are dropped.
+     */
+    public void stop() {
+        generation.incrementAndGet();
+        engine.stop();
+    }
+
+    private void run(BoardState root, long task) {
+        if (task != generation.get()) {
+            return;
+        }
+        try {
+            var result = engine.search(root, iteration -> {
+                if (task != generation.get()) {
+                    engine.stop();
+                    return;
+                }
+                int[] line = engine.principalVariation(root, iteration.depth());
+                if (line.length == 0 && iteration.hasMove()) {
+                    line = new int[]{iteration.move()};
+                }
+                offer(task, new Analysis(root.getHash(), iteration.depth(), iteration.score(),
+                        Arrays.stream(line).boxed().toList(), iteration.nodes(), iteration.elapsedNanos()));
+            });
+            Logger.debug("Analysis finished at depth {} after {} nodes", result.depth(), result.nodes());
+        } catch (RuntimeException e) {
+            Logger.error(e, "Analysis failed");
+        }
+    }
+
+    private void offer(long task, Analysis analysis) {
+        latest.set(new Pending(task, analysis));
+        if (flushScheduled.compareAndSet(false, true)) {
+            long delay = Math.max(0, lastDelivery + throttleNanos - System.nanoTime());
+            scheduler.schedule(this::flush, delay, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    private void flush() {
+        flushScheduled.set(false);
+        var pending = latest.getAndSet(null);
+        if (pending == null || pending.task() != generation.get()) {
+            return;
+        }
+        lastDelivery = System.nanoTime();
+        callbackExecutor.execute(() -> consumer.accept(pending.analysis()));
+    }
+
+    /**
+     * Stops the analysis and its threads, closing the engine.
+     */
+    @Override
+    public void close() {
+        stop();
+        searcher.shutdownNow();
+        scheduler.shutdownNow();
+        engine.close();
+    }
+}
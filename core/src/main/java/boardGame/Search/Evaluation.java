@@ -0,0 +1,90 @@
+package boardGame.Search;
+
+import boardGame.BoardGameModel.BoardState;
+import boardGame.Stone.StoneColor;
+
+/**
+ * Class scoring positions from the point of view of the side to move.
+ * A stone scores by how close it is to the nearest goal square it can reach, moving diagonally
+ * keeps a stone on squares of the same shade, so only goal squares of that shade are counted.
+ */
+public class Evaluation {
+
+    /**
+     * The score of a won position, reduced by the number of plies needed to reach it.
+     */
+    public static final int WIN = 100_000;
+
+    /**
+     * Scores at least this far from zero are wins or losses.
+     */
+    public static final int WIN_THRESHOLD = WIN - 1_000;
+
+    private static final int GOAL_BONUS = 8;
+    private static final int DISTANCE_WEIGHT = 4;
+
+    private final int[][] distances = new int[2][];
+
+    /**
+     * Creates an evaluation for the board and goals of the state given.
+     *
+     * @param state the state whose geometry and goals are evaluated
+     */
+    public Evaluation(BoardState state) {
+        int squareCount = state.getSize() * state.getSize();
+        for (var color : StoneColor.values()) {
+            var distance = new int[squareCount];
+            var goals = new int[squareCount];
+            int goalCount = 0;
+            for (int square = 0; square < squareCount; square++) {
+                if (state.isGoal(color, square)) {
+                    goals[goalCount++] = square;
+                }
+            }
+            for (int square = 0; square < squareCount; square++) {
+                int best = 2 * state.getSize();
+                for (int i = 0; i < goalCount; i++) {
+                    int goal = goals[i];
+                    int rows = Math.abs(state.row(goal) - state.row(square));
+                    int cols = Math.abs(state.col(goal) - state.col(square));
+                    if ((rows + cols) % 2 == 0) {
+                        best = Math.min(best, Math.max(rows, cols));
+                    }
+                }
+                distance[square] = best;
+            }
+            distances[color.ordinal()] = distance;
+        }
+    }
+
+    /**
+     * Returns the number of diagonal moves from the square given to the nearest goal square of the color given
+     * on an empty board.
+     *
+     * @param color  the color of the stone
+     * @param square the square index
+     * @return the distance to the nearest reachable goal square
+     */
+    public int distance(StoneColor color, int square) {
+        return distances[color.ordinal()][square];
+    }
+
+    /**
+     * Returns the score of the state given for its side to move, higher is better.
+     *
+     * @param state the state to evaluate
+     * @return the score of the state
+     */
+    public int evaluate(BoardState state) {
+        var side = state.getSideToMove();
+        var opponent = BoardState.opponent(side);
+        int score = GOAL_BONUS * (state.getGoalCount(side) - state.getGoalCount(opponent))
+                + state.countValidMoves(side) - state.countValidMoves(opponent);
+        for (int i = 0; i < state.getStoneCount(); i++) {
+            var color = state.getStoneColor(i);
+            int distance = DISTANCE_WEIGHT * distances[color.ordinal()][state.getSquare(i)];
+            score += color == side ? -distance : distance;
+        }
+        return score;
+    }
+}
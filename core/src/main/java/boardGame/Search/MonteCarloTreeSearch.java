@@ -0,0 +1,356 @@
+package boardGame.Search;
+
+import boardGame.BoardGameModel.BoardGameModel;
+import boardGame.BoardGameModel.BoardState;
+import boardGame.Stone.StoneColor;
+
+import java.util.ArrayList;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Class representing a computer player choosing moves by Monte Carlo tree search with the UCT selection rule.
+ * The tree lives in primitive arrays allocated once, a node is an index into them and the children of a node
+ * take consecutive indices. Threads share the tree, a thread passing through a node counts its visit before
+ * the playout finishes, which acts as a virtual loss steering the other threads elsewhere.
+ * Playouts reuse a per-thread state and move buffer, so they allocate nothing.
+ */
+public class MonteCarloTreeSearch implements AutoCloseable {
+
+    /**
+     * The number of plies after which a playout is scored as a draw.
+     */
+    public static final int PLAYOUT_LIMIT = 200;
+
+    private static final double EXPLORATION = 1.4;
+    private static final int UNEXPANDED = 0;
+    private static final int EXPANDING = 1;
+    private static final int EXPANDED = 2;
+    private static final int MAX_TREE_DEPTH = 256;
+
+    private final int threads;
+    private final int capacity;
+    private final int[] moves;
+    private final int[] firstChild;
+    private final int[] childCount;
+    private final AtomicIntegerArray expansion;
+    private final AtomicIntegerArray visits;
+    private final AtomicIntegerArray halfPoints;
+    private final AtomicInteger nextFree = new AtomicInteger();
+    private final AtomicLong playouts = new AtomicLong();
+    private ExecutorService helpers;
+
+    private volatile boolean stopped;
+    private BoardState root;
+    private Evaluation evaluation;
+    private long maxPlayouts;
+    private long deadline;
+
+    /**
+     * Creates a search using the number of threads given and holding at most the number of nodes given.
+     *
+     * @param threads  the number of threads running playouts
+     * @param capacity the largest number of tree nodes
+     */
+    public MonteCarloTreeSearch(int threads, int capacity) {
+        if (threads < 1 || capacity < 2) {
+            throw new IllegalArgumentException();
+        }
+        this.threads = threads;
+        this.capacity = capacity;
+        this.moves = new int[capacity];
+        this.firstChild = new int[capacity];
+        this.childCount = new int[capacity];
+        this.expansion = new AtomicIntegerArray(capacity);
+        this.visits = new AtomicIntegerArray(capacity);
+        this.halfPoints = new AtomicIntegerArray(capacity);
+    }
+
+    /**
+     * Returns the number of tree nodes used by the last search, at most the capacity.
+     *
+     * @return the number of nodes
+     */
+    public int getNodeCount() {
+        return nextFree.get();
+    }
+
+    /**
+     * Returns the best move found for the side to move of the model given.
+     *
+     * @param model            the board game model to search, it is left unchanged
+     * @param maxPlayouts      the number of playouts to run
+     * @param timeBudgetMillis the time budget of the move in milliseconds
+     * @return the most visited move, its expected result in thousandths and the number of playouts
+     */
+    public SearchResult search(BoardGameModel model, long maxPlayouts, long timeBudgetMillis) {
+        return search(model.copyState(), maxPlayouts, timeBudgetMillis);
+    }
+
+    /**
+     * Returns the best move found for the side to move of the state given, stopping at whichever
+     * of the playout and time budgets runs out first.
+     * The result holds the expected result of the move in thousandths as its score, the deepest
+     * tree node reached as its depth and the number of playouts as its node count.
+     *
+     * @param state            the state to search, it is left unchanged
+     * @param maxPlayouts      the number of playouts to run
+     * @param timeBudgetMillis the time budget of the move in milliseconds
+     * @return the most visited move and the search statistics
+     */
+    public synchronized SearchResult search(BoardState state, long maxPlayouts, long timeBudgetMillis) {
+        if (maxPlayouts < 1 || timeBudgetMillis <= 0) {
+            throw new IllegalArgumentException();
+        }
+        long start = System.nanoTime();
+        this.root = state.copy();
+        this.evaluation = new Evaluation(root);
+        this.maxPlayouts = maxPlayouts;
+        this.deadline = start + timeBudgetMillis * 1_000_000L;
+        reset();
+
+        var workers = new ArrayList<Worker>();
+        var results = new ArrayList<Future<?>>();
+        for (int id = 1; id < threads; id++) {
+            var worker = new Worker(id);
+            workers.add(worker);
+            results.add(helperPool().submit(worker::run));
+        }
+        var main = new Worker(0);
+        workers.add(main);
+        main.run();
+        for (var result : results) {
+            try {
+                result.get();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } catch (ExecutionException e) {
+                throw new IllegalStateException(e.getCause());
+            }
+        }
+        int depth = 0;
+        for (var worker : workers) {
+            depth = Math.max(depth, worker.maxDepth);
+        }
+        return result(depth, System.nanoTime() - start);
+    }
+
+    private void reset() {
+        stopped = false;
+        playouts.set(0);
+        nextFree.set(1);
+        expansion.set(0, UNEXPANDED);
+        visits.set(0, 0);
+        halfPoints.set(0, 0);
+    }
+
+    private SearchResult result(int depth, long elapsedNanos) {
+        if (expansion.get(0) != EXPANDED || childCount[0] == 0) {
+            int[] list = new int[root.getStoneCount() * 4];
+            int count = root.generateMoves(list);
+            return new SearchResult(count == 0 ? -1 : list[0], 0, depth, playouts.get(), elapsedNanos);
+        }
+        int best = firstChild[0];
+        for (int child = firstChild[0]; child < firstChild[0] + childCount[0]; child++) {
+            if (visits.get(child) > visits.get(best)) {
+                best = child;
+            }
+        }
+        int bestVisits = Math.max(1, visits.get(best));
+        int score = (int) (500L * halfPoints.get(best) / bestVisits);
+        return new SearchResult(moves[best], score, depth, playouts.get(), elapsedNanos);
+    }
+
+    /**
+     * Stops the running search and the worker threads, the search cannot use them afterwards.
+     */
+    @Override
+    public void close() {
+        stopped = true;
+        synchronized (this) {
+            if (helpers != null) {
+                helpers.shutdownNow();
+            }
+        }
+    }
+
+    private ExecutorService helperPool() {
+        if (helpers == null) {
+            helpers = Executors.newFixedThreadPool(threads - 1, runnable -> {
+                var thread = new Thread(runnable, "mcts-worker");
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+        return helpers;
+    }
+
+    /**
+     * A thread descending the shared tree and running playouts on its own copy of the state.
+     */
+    private class Worker {
+
+        private final BoardState state = root.copy();
+        private final int[] path = new int[MAX_TREE_DEPTH + 1];
+        private final int[] buffer = new int[root.getStoneCount() * 4];
+        private final SplittableRandom random;
+        private int maxDepth;
+
+        Worker(int id) {
+            this.random = new SplittableRandom(0x9E3779B97F4A7C15L * (id + 1));
+        }
+
+        void run() {
+            while (!stopped) {
+                long done = playouts.incrementAndGet();
+                if (done > maxPlayouts) {
+                    playouts.decrementAndGet();
+                    stopped = true;
+                    break;
+                }
+                playout();
+                if ((done & 63) == 0 && System.nanoTime() > deadline) {
+                    stopped = true;
+                }
+            }
+        }
+
+        private void playout() {
+            state.copyFrom(root);
+            int length = 0;
+            int node = 0;
+            path[0] = 0;
+            visits.incrementAndGet(0);
+            while (expansion.get(node) == EXPANDED && childCount[node] > 0 && length < MAX_TREE_DEPTH) {
+                node = select(node);
+                state.makeMove(moves[node]);
+                visits.incrementAndGet(node);
+                path[++length] = node;
+            }
+            maxDepth = Math.max(maxDepth, length);
+            if (!finished() && visits.get(node) > 1 && expand(node) && length < MAX_TREE_DEPTH) {
+                node = firstChild[node] + random.nextInt(childCount[node]);
+                state.makeMove(moves[node]);
+                visits.incrementAndGet(node);
+                path[++length] = node;
+            }
+            var winner = simulate();
+            backPropagate(length, winner);
+        }
+
+        private int select(int node) {
+            double logParent = Math.log(Math.max(1, visits.get(node)));
+            int best = firstChild[node];
+            double bestValue = Double.NEGATIVE_INFINITY;
+            for (int child = firstChild[node]; child < firstChild[node] + childCount[node]; child++) {
+                int childVisits = visits.get(child);
+                if (childVisits == 0) {
+                    return child;
+                }
+                double value = halfPoints.get(child) / (2.0 * childVisits)
+                        + EXPLORATION * Math.sqrt(logParent / childVisits);
+                if (value > bestValue) {
+                    bestValue = value;
+                    best = child;
+                }
+            }
+            return best;
+        }
+
+        private boolean expand(int node) {
+            if (!expansion.compareAndSet(node, UNEXPANDED, EXPANDING)) {
+                return expansion.get(node) == EXPANDED && childCount[node] > 0;
+            }
+            int count = state.generateMoves(buffer);
+            int first = reserve(count);
+            if (first < 0) {
+                childCount[node] = 0;
+                expansion.set(node, EXPANDED);
+                return false;
+            }
+            for (int i = 0; i < count; i++) {
+                int child = first + i;
+                moves[child] = buffer[i];
+                firstChild[child] = 0;
+                childCount[child] = 0;
+                expansion.set(child, UNEXPANDED);
+                visits.set(child, 0);
+                halfPoints.set(child, 0);
+            }
+            firstChild[node] = first;
+            childCount[node] = count;
+            expansion.set(node, EXPANDED);
+            return true;
+        }
+
+        /**
+         * Takes the number of nodes given from the pool, and returns the first of them, or {@code -1} if
+         * the pool cannot hold them, leaving the pool unchanged so a full pool is never overrun.
+         */
+        private int reserve(int count) {
+            while (count > 0) {
+                int first = nextFree.get();
+                if (first + count > capacity) {
+                    break;
+                }
+                if (nextFree.compareAndSet(first, first + count)) {
+                    return first;
+                }
+            }
+            return -1;
+        }
+
+        private boolean finished() {
+            return state.hasWon(StoneColor.BLUE) || state.hasWon(StoneColor.RED);
+        }
+
+        /**
+         * Plays random moves, preferring the better of two candidates for progress towards the goals,
+         * and returns the winner, or {@code null} for a draw.
+         */
+        private StoneColor simulate() {
+            for (int ply = 0; ply < PLAYOUT_LIMIT; ply++) {
+                var mover = BoardState.opponent(state.getSideToMove());
+                if (state.hasWon(mover)) {
+                    return mover;
+                }
+                int count = state.generateMoves(buffer);
+                if (count == 0) {
+                    return null;
+                }
+                int move = buffer[random.nextInt(count)];
+                int other = buffer[random.nextInt(count)];
+                if (progress(other) > progress(move)) {
+                    move = other;
+                }
+                state.makeMove(move);
+            }
+            var mover = BoardState.opponent(state.getSideToMove());
+            return state.hasWon(mover) ? mover : null;
+        }
+
+        private int progress(int move) {
+            int stone = BoardState.moveStone(move);
+            var color = state.getStoneColor(stone);
+            int from = state.getSquare(stone);
+            var direction = BoardState.moveDirection(move);
+            int to = from + direction.getRowChange() * state.getSize() + direction.getColChange();
+            return evaluation.distance(color, from) - evaluation.distance(color, to);
+        }
+
+        private void backPropagate(int length, StoneColor winner) {
+            var mover = root.getSideToMove();
+            for (int i = 1; i <= length; i++) {
+                int points = winner == null ? 1 : winner == mover ? 2 : 0;
+                halfPoints.addAndGet(path[i], points);
+                mover = BoardState.opponent(mover);
+            }
+        }
+    }
+}
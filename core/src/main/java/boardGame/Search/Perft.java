@@ -0,0 +1,50 @@
+package boardGame.Search;
+
+import boardGame.BoardGameModel.BoardState;
+
+/**
+ * Class counting the move sequences of a given length, used to verify and time move generation.
+ * A finished game ends a sequence early, so it is not counted.
+ */
+public final class Perft {
+
+    /**
+     * Reference counts from the initial position, indexed by depth.
+     */
+    public static final long[] INITIAL_COUNTS = {1, 8, 62, 564, 4_904, 45_194, 401_150, 3_660_692};
+
+    private Perft() {
+    }
+
+    /**
+     * Returns the number of move sequences of the length given from the state given.
+     *
+     * @param state the state to count from, it is left unchanged
+     * @param depth the number of moves in each sequence
+     * @return the number of move sequences
+     */
+    public static long perft(BoardState state, int depth) {
+        return count(state.copy(), depth, new int[depth + 1][state.getStoneCount() * 4]);
+    }
+
+    private static long count(BoardState state, int depth, int[][] moves) {
+        if (state.hasWon(BoardState.opponent(state.getSideToMove()))) {
+            return depth == 0 ? 1 : 0;
+        }
+        if (depth == 0) {
+            return 1;
+        }
+        int[] list = moves[depth];
+        int count = state.generateMoves(list);
+        if (depth == 1) {
+            return count;
+        }
+        long nodes = 0;
+        for (int i = 0; i < count; i++) {
+            state.makeMove(list[i]);
+            nodes += count(state, depth - 1, moves);
+            state.unmakeMove(list[i]);
+        }
+        return nodes;
+    }
+}
@@ -0,0 +1,512 @@
+package boardGame.Search;
+
+import boardGame.BoardGameModel.BoardGameModel;
+import boardGame.BoardGameModel.BoardState;
+import boardGame.BoardGameModel.PositionHistory;
+import boardGame.Metrics.Metrics;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Class representing a computer player choosing the move of the side to move by a negamax
+ * alpha-beta search with iterative deepening under a hard time budget.
+ * The search works on a single copy of the state, applying and taking back moves in place,
+ * and remembers searched positions in a {@link TranspositionTable} under their canonical hash,
+ * so positions symmetric to one already searched find its entry.
+ * A position repeating one of the game or of the searched line is scored as a draw, since
+ * the side that would lose can repeat it again.
+ * With more than one thread, helper threads search the same position in the Lazy SMP fashion,
+ * sharing only the transposition table, while the main thread alone decides the move.
+ * Closing the engine stops the helper threads, it cannot search with them afterwards.
+ */
+public class SearchEngine implements AutoCloseable {
+
+    /**
+     * The deepest iteration the search can reach.
+     */
+    public static final int MAX_DEPTH = 64;
+
+    /**
+     * The memory budget of the transposition table when none is given.
+     */
+    public static final long DEFAULT_TABLE_BYTES = 16L << 20;
+
+    /**
+     * The time budget of an engine searching every move until it reaches its deepest iteration.
+     */
+    public static final long NO_TIME_LIMIT = Long.MAX_VALUE;
+
+    private static final int INFINITY = Evaluation.WIN + 1;
+    private static final int CHECK_INTERVAL = 1024;
+    private static final int HISTORY_LIMIT = 1 << 24;
+
+    private final long timeBudgetMillis;
+    private final int maxDepth;
+    private final TranspositionTable table;
+    private final int threads;
+    private ExecutorService helpers;
+
+    private volatile boolean stopped;
+    private long deadline;
+    private long start;
+    private SearchListener listener;
+
+    /**
+     * Creates a search engine that spends at most the milliseconds given on each move.
+     *
+     * @param timeBudgetMillis the time budget of a move in milliseconds, or {@link #NO_TIME_LIMIT}
+     */
+    public SearchEngine(long timeBudgetMillis) {
+        this(timeBudgetMillis, MAX_DEPTH);
+    }
+
+    /**
+     * Creates a search engine that spends at most the milliseconds given on each move
+     * and does not search deeper than the depth given.
+     *
+     * @param timeBudgetMillis the time budget of a move in milliseconds, or {@link #NO_TIME_LIMIT}
+     * @param maxDepth         the deepest iteration to search
+     */
+    public SearchEngine(long timeBudgetMillis, int maxDepth) {
+        this(timeBudgetMillis, maxDepth, new TranspositionTable(DEFAULT_TABLE_BYTES));
+    }
+
+    /**
+     * Creates a single-threaded search engine that spends at most the milliseconds given on each move,
+     * does not search deeper than the depth given and remembers positions in the table given.
+     *
+     * @param timeBudgetMillis the time budget of a move in milliseconds, or {@link #NO_TIME_LIMIT}
+     * @param maxDepth         the deepest iteration to search
+     * @param table            the transposition table to use
+     */
+    public SearchEngine(long timeBudgetMillis, int maxDepth, TranspositionTable table) {
+        this(timeBudgetMillis, maxDepth, table, 1);
+    }
+
+    /**
+     * Creates a search engine that spends at most the milliseconds given on each move,
+     * does not search deeper than the depth given, remembers positions in the table given
+     * and searches with the number of threads given.
+     *
+     * @param timeBudgetMillis the time budget of a move in milliseconds, or {@link #NO_TIME_LIMIT}
+     * @param maxDepth         the deepest iteration to search
+     * @param table            the transposition table shared by the threads
+     * @param threads          the number of threads searching each move
+     */
+    public SearchEngine(long timeBudgetMillis, int maxDepth, TranspositionTable table, int threads) {
+        if (timeBudgetMillis <= 0 || maxDepth < 1 || maxDepth > MAX_DEPTH || threads < 1) {
+            throw new IllegalArgumentException();
+        }
+        this.timeBudgetMillis = timeBudgetMillis;
+        this.maxDepth = maxDepth;
+        this.table = table;
+        this.threads = threads;
+    }
+
+    /**
+     * Returns the transposition table of this engine.
+     *
+     * @return the transposition table
+     */
+    public TranspositionTable getTable() {
+        return table;
+    }
+
+    /**
+     * Returns the number of threads searching each move.
+     *
+     * @return the number of threads
+     */
+    public int getThreads() {
+        return threads;
+    }
+
+    /**
+     * Returns the best move found for the side to move of the model given.
+     *
+     * @param model the board game model to search, it is left unchanged
+     * @return the best move and the search statistics
+     */
+    public SearchResult search(BoardGameModel model) {
+        return search(model.copyState(), model.copyPositionHistory(), null);
+    }
+
+    /**
+     * Returns the best move found for the side to move of the state given.
+     *
+     * @param root the state to search, it is left unchanged
+     * @return the best move and the search statistics
+     */
+    public SearchResult search(BoardState root) {
+        return search(root, null);
+    }
+
+    /**
+     * Returns the best move found for the side to move of the state given, telling the listener given
+     * about the best move of every completed iteration as soon as it is known.
+     * The listener is called on the searching thread.
+     *
+     * @param root     the state to search, it is left unchanged
+     * @param listener the listener of the iterations, or {@code null}
+     * @return the best move and the search statistics
+     */
+    public SearchResult search(BoardState root, SearchListener listener) {
+        return search(root, null, listener);
+    }
+
+    /**
+     * Returns the best move found for the side to move of the state given, scoring the moves that repeat
+     * a position of the game history given or of the searched line as draws.
+     * The listener is told about the best move of every completed iteration on the searching thread.
+     *
+     * @param root     the state to search, it is left unchanged
+     * @param history  the positions of the game ending with the root, or {@code null} for none,
+     *                 it is left unchanged
+     * @param listener the listener of the iterations, or {@code null}
+     * @return the best move and the search statistics
+     */
+    public synchronized SearchResult search(BoardState root, PositionHistory history, SearchListener listener) {
+        start = System.nanoTime();
+        deadline = timeBudgetMillis == NO_TIME_LIMIT ? Long.MAX_VALUE : start + timeBudgetMillis * 1_000_000L;
+        this.listener = listener;
+        stopped = false;
+        table.newSearch();
+
+        var helperWorkers = new ArrayList<Worker>();
+        var helperResults = new ArrayList<Future<?>>();
+        for (int id = 1; id < threads; id++) {
+            var worker = new Worker(root, history, id);
+            helperWorkers.add(worker);
+            helperResults.add(helperPool().submit(worker::iterate));
+        }
+        var main = new Worker(root, history, 0);
+        main.iterate();
+        stopped = true;
+
+        long nodes = main.nodes;
+        long probes = main.probes;
+        long hits = main.hits;
+        for (int i = 0; i < helperWorkers.size(); i++) {
+            try {
+                helperResults.get(i).get();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } catch (ExecutionException e) {
+                throw new IllegalStateException(e.getCause());
+            }
+            nodes += helperWorkers.get(i).nodes;
+            probes += helperWorkers.get(i).probes;
+            hits += helperWorkers.get(i).hits;
+        }
+        long elapsed = System.nanoTime() - start;
+        if (Metrics.ENABLED) {
+            Metrics.GLOBAL.searchFinished(nodes, elapsed, probes, hits);
+        }
+        return new SearchResult(main.bestMove, main.bestScore, main.completedDepth, nodes, elapsed);
+    }
+
+    /**
+     * Makes the running search return as soon as possible with the best move of its last completed iteration.
+     * Nothing happens if no search is running.
+     */
+    public void stop() {
+        stopped = true;
+    }
+
+    /**
+     * Returns the line of best moves from the state given stored in the transposition table,
+     * as left by the last search of that state.
+     *
+     * @param root      the state the line starts from, it is left unchanged
+     * @param maxLength the largest number of moves of the line
+     * @return the encoded moves of the line, starting with the best move of the side to move
+     */
+    public int[] principalVariation(BoardState root, int maxLength) {
+        var state = root.copy();
+        var line = new int[maxLength];
+        int length = 0;
+        while (length < maxLength && !state.getResult().isOver()) {
+            long entry = table.probe(state.getCanonicalHash());
+            int move = entry == 0 || TranspositionTable.move(entry) < 0 ? -1
+                    : state.fromCanonicalMove(TranspositionTable.move(entry));
+            if (move < 0) {
+                break;
+            }
+            state.makeMove(move);
+            line[length++] = move;
+        }
+        return Arrays.copyOf(line, length);
+    }
+
+    /**
+     * Stops the running search and the helper threads.
+     */
+    @Override
+    public void close() {
+        stop();
+        synchronized (this) {
+            if (helpers != null) {
+                helpers.shutdownNow();
+            }
+        }
+    }
+
+    private ExecutorService helperPool() {
+        if (helpers == null) {
+            helpers = Executors.newFixedThreadPool(threads - 1, runnable -> {
+                var thread = new Thread(runnable, "search-helper");
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+        return helpers;
+    }
+
+    /**
+     * A single searching thread with its own copy of the state and move ordering tables.
+     * Helpers differ from the main thread by starting at an odd depth and by rotating
+     * the root moves, so they fill the table with results the main thread needs next.
+     */
+    private class Worker {
+
+        private final int id;
+        private final BoardState state;
+        private final Evaluation evaluation;
+        private final int[][] moves;
+        private final int[][] orderScores;
+        private final int[][] killers = new int[MAX_DEPTH + 1][2];
+        private final int[] history;
+        private final PositionHistory path;
+        private long nodes;
+        private long probes;
+        private long hits;
+        private int bestMove = -1;
+        private int bestScore;
+        private int completedDepth;
+
+        Worker(BoardState root, PositionHistory gameHistory, int id) {
+            this.id = id;
+            this.state = root.copy();
+            if (gameHistory != null && gameHistory.size() > 0) {
+                this.path = new PositionHistory(gameHistory);
+            } else {
+                this.path = new PositionHistory();
+                path.push(state.getHash());
+            }
+            this.evaluation = new Evaluation(state);
+            int moveCapacity = state.getStoneCount() * 4;
+            this.moves = new int[MAX_DEPTH + 1][moveCapacity];
+            this.orderScores = new int[MAX_DEPTH + 1][moveCapacity];
+            this.history = new int[moveCapacity];
+        }
+
+        void iterate() {
+            int[] rootMoves = new int[state.getStoneCount() * 4];
+            int count = state.generateMoves(rootMoves);
+            if (count == 0) {
+                return;
+            }
+            for (int i = 0; i < id % count; i++) {
+                rotate(rootMoves, count);
+            }
+            int[] rootScores = new int[count];
+            bestMove = rootMoves[0];
+            bestScore = -INFINITY;
+            for (int depth = 1 + id % 2; depth <= maxDepth; depth++) {
+                int iterationMove = -1;
+                int alpha = -INFINITY;
+                for (int i = 0; i < count; i++) {
+                    int move = rootMoves[i];
+                    state.makeMove(move);
+                    int score = -negamax(depth - 1, 1, -INFINITY, -alpha);
+                    state.unmakeMove(move);
+                    if (stopped) {
+                        break;
+                    }
+                    rootScores[i] = score;
+                    if (score > alpha) {
+                        alpha = score;
+                        iterationMove = move;
+                    }
+                }
+                if (iterationMove >= 0) {
+                    bestMove = iterationMove;
+                    bestScore = alpha;
+                }
+                if (stopped) {
+                    break;
+                }
+                completedDepth = depth;
+                if (id == 0) {
+                    table.store(state.getCanonicalHash(), state.toCanonicalMove(bestMove),
+                            toTable(bestScore, 0), depth, TranspositionTable.EXACT);
+                }
+                if (id == 0 && listener != null) {
+                    listener.iterationCompleted(new SearchResult(bestMove, bestScore, depth, nodes,
+                            System.nanoTime() - start));
+                }
+                sortRootMoves(rootMoves, rootScores, count);
+                if (Math.abs(bestScore) >= Evaluation.WIN_THRESHOLD) {
+                    break;
+                }
+            }
+        }
+
+        private int negamax(int depth, int ply, int alpha, int beta) {
+            if (++nodes % CHECK_INTERVAL == 0 && System.nanoTime() > deadline) {
+                stopped = true;
+            }
+            if (stopped) {
+                return 0;
+            }
+            if (state.hasWon(BoardState.opponent(state.getSideToMove()))) {
+                return -(Evaluation.WIN - ply);
+            }
+            if (path.count(state.getHash()) > 0) {
+                return 0;
+            }
+            if (depth == 0 || ply == MAX_DEPTH) {
+                return evaluation.evaluate(state);
+            }
+            long hash = state.getCanonicalHash();
+            long entry = table.probe(hash);
+            probes++;
+            int tableMove = -1;
+            if (entry != 0) {
+                hits++;
+                if (TranspositionTable.move(entry) >= 0) {
+                    tableMove = state.fromCanonicalMove(TranspositionTable.move(entry));
+                }
+                if (TranspositionTable.depth(entry) >= depth) {
+                    int score = fromTable(TranspositionTable.score(entry), ply);
+                    int bound = TranspositionTable.bound(entry);
+                    if (bound == TranspositionTable.EXACT
+                            || bound == TranspositionTable.LOWER && score >= beta
+                            || bound == TranspositionTable.UPPER && score <= alpha) {
+                        return score;
+                    }
+                }
+            }
+            int[] list = moves[ply];
+            int count = state.generateMoves(list);
+            if (count == 0) {
+                return 0;
+            }
+            scoreMoves(list, count, ply, tableMove);
+            int originalAlpha = alpha;
+            int best = -INFINITY;
+            int bestMove = -1;
+            path.push(state.getHash());
+            for (int i = 0; i < count; i++) {
+                int move = nextMove(list, count, i, ply);
+                state.makeMove(move);
+                int score = -negamax(depth - 1, ply + 1, -beta, -alpha);
+                state.unmakeMove(move);
+                if (stopped) {
+                    break;
+                }
+                if (score > best) {
+                    best = score;
+                    bestMove = move;
+                    if (score > alpha) {
+                        alpha = score;
+                        if (alpha >= beta) {
+                            storeCutoff(move, depth, ply);
+                            break;
+                        }
+                    }
+                }
+            }
+            path.pop();
+            if (stopped) {
+                return 0;
+            }
+            int bound = best <= originalAlpha ? TranspositionTable.UPPER
+                    : best >= beta ? TranspositionTable.LOWER : TranspositionTable.EXACT;
+            table.store(hash, bestMove < 0 ? -1 : state.toCanonicalMove(bestMove), toTable(best, ply), depth, bound);
+            return best;
+        }
+
+        private void scoreMoves(int[] list, int count, int ply, int tableMove) {
+            int[] scores = orderScores[ply];
+            for (int i = 0; i < count; i++) {
+                int move = list[i];
+                if (move == tableMove) {
+                    scores[i] = Integer.MAX_VALUE;
+                } else if (move == killers[ply][0]) {
+                    scores[i] = Integer.MAX_VALUE - 1;
+                } else if (move == killers[ply][1]) {
+                    scores[i] = Integer.MAX_VALUE - 2;
+                } else {
+                    scores[i] = history[move];
+                }
+            }
+        }
+
+        private int nextMove(int[] list, int count, int index, int ply) {
+            int[] scores = orderScores[ply];
+            int best = index;
+            for (int i = index + 1; i < count; i++) {
+                if (scores[i] > scores[best]) {
+                    best = i;
+                }
+            }
+            swap(list, index, best);
+            swap(scores, index, best);
+            return list[index];
+        }
+
+        private void storeCutoff(int move, int depth, int ply) {
+            if (killers[ply][0] != move) {
+                killers[ply][1] = killers[ply][0];
+                killers[ply][0] = move;
+            }
+            history[move] += depth * depth;
+            if (history[move] > HISTORY_LIMIT) {
+                for (int i = 0; i < history.length; i++) {
+                    history[i] /= 2;
+                }
+            }
+        }
+    }
+
+    private static int toTable(int score, int ply) {
+        if (score >= Evaluation.WIN_THRESHOLD) {
+            return score + ply;
+        }
+        return score <= -Evaluation.WIN_THRESHOLD ? score - ply : score;
+    }
+
+    private static int fromTable(int score, int ply) {
+        if (score >= Evaluation.WIN_THRESHOLD) {
+            return score - ply;
+        }
+        return score <= -Evaluation.WIN_THRESHOLD ? score + ply : score;
+    }
+
+    private static void sortRootMoves(int[] rootMoves, int[] rootScores, int count) {
+        for (int i = 1; i < count; i++) {
+            for (int j = i; j > 0 && rootScores[j] > rootScores[j - 1]; j--) {
+                swap(rootMoves, j, j - 1);
+                swap(rootScores, j, j - 1);
+            }
+        }
+    }
+
+    private static void rotate(int[] array, int count) {
+        int first = array[0];
+        System.arraycopy(array, 1, array, 0, count - 1);
+        array[count - 1] = first;
+    }
+
+    private static void swap(int[] array, int i, int j) {
+        int value = array[i];
+        array[i] = array[j];
+        array[j] = value;
+    }
+}
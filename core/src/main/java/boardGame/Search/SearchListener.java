@@ -0,0 +1,15 @@
+package boardGame.Search;
+
+/**
+ * Interface of the observers of a {@link SearchEngine} told about every completed iteration of a search.
+ */
+@FunctionalInterface
+public interface SearchListener {
+
+    /**
+     * Called on the searching thread when an iteration of the search completes.
+     *
+     * @param result the best move of the iteration, its depth and the statistics so far
+     */
+    void iterationCompleted(SearchResult result);
+}
@@ -0,0 +1,62 @@
+package boardGame.Search;
+
+import boardGame.BoardGameModel.BoardState;
+import boardGame.Stone.StoneDirection;
+
+/**
+ * Class extending the Record class that holds the move chosen by a search and its statistics.
+ *
+ * @param move         the encoded best move, or {@code -1} if the side to move had no valid move
+ * @param score        the score of the best move for the side to move
+ * @param depth        the deepest fully searched depth
+ * @param nodes        the number of positions visited
+ * @param elapsedNanos the time spent searching in nanoseconds
+ */
+public record SearchResult(int move, int score, int depth, long nodes, long elapsedNanos) {
+
+    /**
+     * Returns whether the search found a move to play.
+     *
+     * @return whether there is a best move
+     */
+    public boolean hasMove() {
+        return move >= 0;
+    }
+
+    /**
+     * Returns the number of the stone to move.
+     *
+     * @return the stone number of the best move
+     */
+    public int stoneNumber() {
+        return BoardState.moveStone(move);
+    }
+
+    /**
+     * Returns the direction to move the stone in.
+     *
+     * @return the direction of the best move
+     */
+    public StoneDirection direction() {
+        return BoardState.moveDirection(move);
+    }
+
+    /**
+     * Returns the number of positions visited per second.
+     *
+     * @return the search speed in nodes per second
+     */
+    public long nodesPerSecond() {
+        return elapsedNanos == 0 ? 0 : nodes * 1_000_000_000L / elapsedNanos;
+    }
+
+    /**
+     * Returns a string of the best move and the search statistics.
+     *
+     * @return a string of the best move and the search statistics
+     */
+    public String toString() {
+        return String.format("%s depth=%d score=%d nodes=%d nps=%d",
+                hasMove() ? stoneNumber() + " " + direction() : "none", depth, score, nodes, nodesPerSecond());
+    }
+}
@@ -0,0 +1,46 @@
+package boardGame.Search;
+
+import boardGame.BoardGameModel.BoardGameModel;
+
+/**
+ * Class printing how the search scales with the number of threads, the time to reach a fixed
+ * depth from the initial position and the nodes searched per second for each thread count.
+ * A single-threaded search to the same depth is run first to warm up the JIT compiler.
+ * Usage: {@code SearchScalingReport [depth] [tableMegabytes] [threads...]}.
+ */
+public class SearchScalingReport {
+
+    private static final int[] DEFAULT_THREADS = {1, 2, 4, 8, 16};
+
+    public static void main(String[] args) {
+        int depth = args.length > 0 ? Integer.parseInt(args[0]) : 18;
+        long tableBytes = (args.length > 1 ? Long.parseLong(args[1]) : 64) << 20;
+        int[] threadCounts = DEFAULT_THREADS;
+        if (args.length > 2) {
+            threadCounts = new int[args.length - 2];
+            for (int i = 2; i < args.length; i++) {
+                threadCounts[i - 2] = Integer.parseInt(args[i]);
+            }
+        }
+        try (var warmUp = new SearchEngine(SearchEngine.NO_TIME_LIMIT, depth, new TranspositionTable(tableBytes))) {
+            warmUp.search(new BoardGameModel());
+        }
+        System.out.printf("depth %d, table %d MB, %d available processors%n",
+                depth, tableBytes >> 20, Runtime.getRuntime().availableProcessors());
+        System.out.println("| threads | time to depth (ms) | nodes | nodes/s | speedup |");
+        System.out.println("|---|---|---|---|---|");
+        long baseline = 0;
+        for (int threads : threadCounts) {
+            SearchResult result;
+            try (var engine = new SearchEngine(SearchEngine.NO_TIME_LIMIT, depth,
+                    new TranspositionTable(tableBytes), threads)) {
+                result = engine.search(new BoardGameModel());
+            }
+            if (baseline == 0) {
+                baseline = result.elapsedNanos();
+            }
+            System.out.printf("| %d | %d | %d | %d | %.2f |%n", threads, result.elapsedNanos() / 1_000_000,
+                    result.nodes(), result.nodesPerSecond(), (double) baseline / result.elapsedNanos());
+        }
+    }
+}
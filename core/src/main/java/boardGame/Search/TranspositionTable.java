@@ -0,0 +1,177 @@
+package boardGame.Search;
+
+import java.util.Arrays;
+
+/**
+ * Class representing a fixed-size transposition table remembering the results of searched positions.
+ * The table lives in a single {@code long} array sized by a memory budget. Each bucket holds a
+ * depth-preferred slot, kept while its result is deeper and from the current search, and an
+ * always-replace slot taking everything else.
+ * Every slot stores its data together with the hash exclusive-ored with that data, so a slot
+ * written halfway by another thread never matches a probe. The table can therefore be shared
+ * by searching threads without locks. It keeps no counters of its own, which every probe of every thread
+ * would write to, the searching threads count their probes and hits themselves.
+ */
+public class TranspositionTable {
+
+    /**
+     * The stored score is the exact score of the position.
+     */
+    public static final int EXACT = 1;
+
+    /**
+     * The stored score is a lower bound, the search failed high.
+     */
+    public static final int LOWER = 2;
+
+    /**
+     * The stored score is an upper bound, the search failed low.
+     */
+    public static final int UPPER = 3;
+
+    private static final int SLOT_LONGS = 2;
+    private static final int BUCKET_LONGS = 2 * SLOT_LONGS;
+    private static final long BUCKET_BYTES = BUCKET_LONGS * Long.BYTES;
+    private static final long MAX_BUCKETS = 1L << 28;
+
+    private final long[] table;
+    private final int bucketMask;
+    private int generation;
+
+    /**
+     * Creates a table using at most the number of bytes given.
+     *
+     * @param budgetBytes the memory budget of the table in bytes
+     */
+    public TranspositionTable(long budgetBytes) {
+        if (budgetBytes < BUCKET_BYTES) {
+            throw new IllegalArgumentException();
+        }
+        long buckets = Long.highestOneBit(Math.min(budgetBytes / BUCKET_BYTES, MAX_BUCKETS));
+        this.table = new long[(int) (buckets * BUCKET_LONGS)];
+        this.bucketMask = (int) buckets - 1;
+    }
+
+    /**
+     * Returns the number of bytes used by the table.
+     *
+     * @return the size of the table in bytes
+     */
+    public long sizeInBytes() {
+        return (long) table.length * Long.BYTES;
+    }
+
+    /**
+     * Starts a new search, the results of earlier searches become the first to be replaced.
+     */
+    public void newSearch() {
+        generation = (generation + 1) & 0x3F;
+    }
+
+    /**
+     * Forgets every stored result.
+     */
+    public void clear() {
+        Arrays.fill(table, 0);
+    }
+
+    /**
+     * Returns the data stored for the hash given, or {@code 0} if there is none.
+     *
+     * @param hash the hash of the position
+     * @return the packed data of the position, or {@code 0}
+     */
+    public long probe(long hash) {
+        int index = index(hash);
+        for (int slot = index; slot < index + BUCKET_LONGS; slot += SLOT_LONGS) {
+            long data = table[slot + 1];
+            if ((table[slot] ^ data) == hash && data != 0) {
+                return data;
+            }
+        }
+        return 0;
+    }
+
+    /**
+     * Stores the result of a search of the position with the hash given.
+     *
+     * @param hash  the hash of the position
+     * @param move  the encoded best move, or {@code -1} if none is known
+     * @param score the score of the position
+     * @param depth the depth the position was searched to
+     * @param bound one of {@link #EXACT}, {@link #LOWER} and {@link #UPPER}
+     */
+    public void store(long hash, int move, int score, int depth, int bound) {
+        long data = pack(move, score, depth, bound);
+        int index = index(hash);
+        long preferred = table[index + 1];
+        boolean samePosition = (table[index] ^ preferred) == hash;
+        if (preferred == 0 || samePosition || depth(preferred) <= depth
+                || generation(preferred) != generation) {
+            write(index, hash, data);
+        } else {
+            write(index + SLOT_LONGS, hash, data);
+        }
+    }
+
+    /**
+     * Returns the encoded move of packed data, or {@code -1} if none is known.
+     *
+     * @param data the packed data returned by {@link #probe(long)}
+     * @return the encoded move
+     */
+    public static int move(long data) {
+        return (int) ((data >>> 32) & 0xFFFF) - 1;
+    }
+
+    /**
+     * Returns the score of packed data.
+     *
+     * @param data the packed data returned by {@link #probe(long)}
+     * @return the score
+     */
+    public static int score(long data) {
+        return (int) data;
+    }
+
+    /**
+     * Returns the depth of packed data.
+     *
+     * @param data the packed data returned by {@link #probe(long)}
+     * @return the depth
+     */
+    public static int depth(long data) {
+        return (int) ((data >>> 48) & 0xFF);
+    }
+
+    /**
+     * Returns the bound type of packed data.
+     *
+     * @param data the packed data returned by {@link #probe(long)}
+     * @return one of {@link #EXACT}, {@link #LOWER} and {@link #UPPER}
+     */
+    public static int bound(long data) {
+        return (int) ((data >>> 56) & 0x3);
+    }
+
+    private static int generation(long data) {
+        return (int) (data >>> 58);
+    }
+
+    private long pack(int move, int score, int depth, int bound) {
+        return (score & 0xFFFFFFFFL)
+                | (long) ((move + 1) & 0xFFFF) << 32
+                | (long) (depth & 0xFF) << 48
+                | (long) bound << 56
+                | (long) generation << 58;
+    }
+
+    private void write(int slot, long hash, long data) {
+        table[slot] = hash ^ data;
+        table[slot + 1] = data;
+    }
+
+    private int index(long hash) {
+        return ((int) (hash ^ (hash >>> 32)) & bucketMask) * BUCKET_LONGS;
+    }
+}
@@ -0,0 +1,4 @@
+/**
+ * Defines the computer opponents searching for moves.
+ */
+package boardGame.Search;
@@ -0,0 +1,184 @@
+package boardGame.Server;
+
+import boardGame.BoardGameModel.GameResult;
+import boardGame.Stone.StoneColor;
+import org.tinylog.Logger;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.StandardSocketOptions;
+import java.nio.ByteBuffer;
+import java.nio.channels.SocketChannel;
+import java.util.concurrent.Executor;
+
+/**
+ * Class representing a client of the {@link GameServer}, such as the user interface playing online.
+ * Messages are written on the calling thread, while a reader thread parses the frames of the server
+ * and tells the listener about them through the executor given, for example the thread of the user interface.
+ */
+public class GameClient implements AutoCloseable {
+
+    private static final GameResult[] RESULTS = GameResult.values();
+    private static final StoneColor[] COLORS = StoneColor.values();
+
+    private final SocketChannel channel;
+    private final Executor executor;
+    private final GameListener listener;
+    private final ByteBuffer output = ByteBuffer.allocate(Protocol.MAX_FRAME_LENGTH);
+    private final Thread reader;
+    private volatile boolean closed;
+
+    private GameClient(SocketChannel channel, Executor executor, GameListener listener) {
+        this.channel = channel;
+        this.executor = executor;
+        this.listener = listener;
+        this.reader = new Thread(this::read, "game-client");
+        reader.setDaemon(true);
+    }
+
+    /**
+     * Connects to the server at the address given.
+     *
+     * @param address  the address of the server
+     * @param executor the executor running the calls of the listener
+     * @param listener the listener of the messages of the server
+     * @return the connected client
+     * @throws IOException if the server cannot be reached
+     */
+    public static GameClient connect(InetSocketAddress address, Executor executor, GameListener listener)
+            throws IOException {
+        var channel = SocketChannel.open(address);
+        channel.setOption(StandardSocketOptions.TCP_NODELAY, true);
+        var client = new GameClient(channel, executor, listener);
+        client.reader.start();
+        return client;
+    }
+
+    /**
+     * Asks the server for an opponent.
+     *
+     * @throws IOException if the message cannot be sent
+     */
+    public void join() throws IOException {
+        send(Protocol.JOIN, 0);
+    }
+
+    /**
+     * Sends a move of the side of the client, the server answers with {@link GameListener#moveMade(int)}
+     * if it is valid and with {@link GameListener#moveRejected(int)} otherwise.
+     *
+     * @param move the encoded move
+     * @throws IOException if the message cannot be sent
+     */
+    public void sendMove(int move) throws IOException {
+        send(Protocol.MOVE, move);
+    }
+
+    /**
+     * Watches the game with the number given, the server answers with
+     * {@link GameListener#snapshotReceived(Snapshot)} and the moves of the game,
+     * or with {@link GameListener#gameNotFound(int)}.
+     *
+     * @param game the number of the game
+     * @throws IOException if the message cannot be sent
+     */
+    public void watch(int game) throws IOException {
+        send(Protocol.WATCH, game);
+    }
+
+    /**
+     * Resigns the current game, or stops watching a game.
+     *
+     * @throws IOException if the message cannot be sent
+     */
+    public void leave() throws IOException {
+        send(Protocol.LEAVE, 0);
+    }
+
+    private synchronized void send(byte type, int argument) throws IOException {
+        output.clear();
+        if (type == Protocol.MOVE) {
+            Protocol.putMove(output, type, argument);
+        } else if (type == Protocol.WATCH) {
+            output.put(type).putInt(argument);
+        } else {
+            output.put(type);
+        }
+        output.flip();
+        while (output.hasRemaining()) {
+            channel.write(output);
+        }
+    }
+
+    private void read() {
+        var input = ByteBuffer.allocate(Protocol.MAX_FRAME_LENGTH * 64);
+        try {
+            while (channel.read(input) >= 0) {
+                input.flip();
+                while (Protocol.hasFrame(input)) {
+                    dispatch(input);
+                }
+                input.compact();
+                if (!input.hasRemaining()) {
+                    input = ByteBuffer.allocate(input.capacity() * 2).put(input.flip());
+                }
+            }
+        } catch (IOException | IllegalArgumentException | IndexOutOfBoundsException e) {
+            if (!closed) {
+                Logger.warn("Connection to the game server lost: {}", e.toString());
+            }
+        }
+        if (!closed) {
+            executor.execute(listener::disconnected);
+        }
+    }
+
+    private void dispatch(ByteBuffer input) {
+        switch (input.get()) {
+            case Protocol.STARTED -> {
+                var color = COLORS[input.get()];
+                int game = input.getInt();
+                executor.execute(() -> listener.gameStarted(color, game));
+            }
+            case Protocol.MOVED -> {
+                int move = Protocol.getMove(input);
+                executor.execute(() -> listener.moveMade(move));
+            }
+            case Protocol.REJECTED -> {
+                int move = Protocol.getMove(input);
+                executor.execute(() -> listener.moveRejected(move));
+            }
+            case Protocol.OVER -> {
+                var result = RESULTS[input.get()];
+                executor.execute(() -> listener.gameOver(result));
+            }
+            case Protocol.SNAPSHOT -> {
+                int game = input.getInt();
+                var side = COLORS[input.get()];
+                int plies = input.getInt();
+                var squares = new int[Short.toUnsignedInt(input.getShort())];
+                for (int i = 0; i < squares.length; i++) {
+                    squares[i] = Short.toUnsignedInt(input.getShort());
+                }
+                var snapshot = new Snapshot(game, side, plies, squares);
+                executor.execute(() -> listener.snapshotReceived(snapshot));
+            }
+            case Protocol.NO_GAME -> {
+                int game = input.getInt();
+                executor.execute(() -> listener.gameNotFound(game));
+            }
+            default -> throw new IllegalArgumentException();
+        }
+    }
+
+    /**
+     * Closes the connection, the listener is not told about it.
+     *
+     * @throws IOException if the channel cannot be closed
+     */
+    @Override
+    public void close() throws IOException {
+        closed = true;
+        channel.close();
+    }
+}
@@ -0,0 +1,62 @@
+package boardGame.Server;
+
+import boardGame.BoardGameModel.GameResult;
+import boardGame.Stone.StoneColor;
+
+/**
+ * Interface of the observers of a {@link GameClient} told about the messages of the game server.
+ */
+public interface GameListener {
+
+    /**
+     * Called when the server pairs the client with an opponent.
+     *
+     * @param color the color the client plays
+     * @param game  the number of the game on the server
+     */
+    void gameStarted(StoneColor color, int game);
+
+    /**
+     * Called when a move is made in the game played or watched by the client, by either side.
+     *
+     * @param move the encoded move
+     */
+    void moveMade(int move);
+
+    /**
+     * Called when the server refuses a move of the client.
+     *
+     * @param move the encoded move refused
+     */
+    void moveRejected(int move);
+
+    /**
+     * Called when the game played or watched by the client ends.
+     *
+     * @param result the result of the game
+     */
+    void gameOver(GameResult result);
+
+    /**
+     * Called when the server sends the whole position of the game watched by the client,
+     * the moves made in the game follow as calls of {@link #moveMade(int)}.
+     *
+     * @param snapshot the position of the game
+     */
+    default void snapshotReceived(Snapshot snapshot) {
+    }
+
+    /**
+     * Called when the game the client asked to watch is not played on the server.
+     *
+     * @param game the number of the game
+     */
+    default void gameNotFound(int game) {
+    }
+
+    /**
+     * Called when the connection to the server is lost.
+     */
+    default void disconnected() {
+    }
+}
@@ -0,0 +1,540 @@
+package boardGame.Server;
+
+import boardGame.BoardGameModel.BoardGameModel;
+import boardGame.BoardGameModel.BoardLayout;
+import boardGame.BoardGameModel.BoardState;
+import boardGame.BoardGameModel.DrawRule;
+import boardGame.BoardGameModel.GameResult;
+import boardGame.Metrics.Metrics;
+import boardGame.Stone.StoneColor;
+import boardGame.Tournament.Tournament;
+import org.tinylog.Logger;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.StandardSocketOptions;
+import java.nio.ByteBuffer;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Class representing a headless server hosting games between remote clients, see {@link Protocol}.
+ * A single thread serves every connection through a selector. Connections are non-blocking and keep
+ * small input and output buffers, and each game is a {@link BoardGameModel} validating every move,
+ * so a game costs a few kilobytes and one server hosts tens of thousands of them.
+ * Clients are paired in the order they join, the first one of a pair plays blue. A client leaving
+ * or disconnecting during a game loses it, and a client not reading what it is sent is disconnected
+ * once {@link #MAX_OUTPUT_BYTES} are waiting for it.
+ * Other clients can watch a game. A spectator gets a snapshot of the position, then every move as a
+ * three byte delta. The deltas of all games are queued while a round of the selector serves the players,
+ * whose moves are flushed at once, and each spectator is flushed once at the end of the round.
+ * A spectator lagging more than {@link #MAX_SPECTATOR_BYTES} behind stops getting deltas and gets
+ * a fresh snapshot once it has read what was queued, so a crowd of slow spectators never holds up
+ * the players nor fills the memory of the server.
+ */
+public class GameServer implements AutoCloseable {
+
+    /**
+     * The number of bytes that may wait to be sent to a client.
+     */
+    public static final int MAX_OUTPUT_BYTES = 1 << 16;
+
+    /**
+     * The number of bytes that may wait to be sent to a spectator before it is resynchronized by a snapshot.
+     */
+    public static final int MAX_SPECTATOR_BYTES = 1 << 10;
+
+    private static final int BUFFER_BYTES = 64;
+    private static final int BACKLOG = 4096;
+
+    private final BoardLayout layout;
+    private final DrawRule drawRule;
+    private final ServerSocketChannel serverChannel;
+    private final Selector selector;
+    private final Thread thread;
+    private volatile boolean running = true;
+    private volatile int connectionCount;
+    private volatile int gameCount;
+    private int nextGame;
+    private Connection waiting;
+    private final Map<Integer, Game> games = new HashMap<>();
+    private final List<Connection> spectatorsToFlush = new ArrayList<>();
+
+    private static final class Connection {
+
+        private final SocketChannel channel;
+        private final SelectionKey key;
+        private final ByteBuffer input = ByteBuffer.allocate(BUFFER_BYTES);
+        private ByteBuffer output = ByteBuffer.allocate(BUFFER_BYTES);
+        private boolean closed;
+        private Game game;
+        private StoneColor color;
+        private Game watched;
+        private int spectatorIndex;
+        private boolean resync;
+        private boolean flushPending;
+
+        Connection(SocketChannel channel, Selector selector) throws IOException {
+            this.channel = channel;
+            this.key = channel.register(selector, SelectionKey.OP_READ, this);
+        }
+    }
+
+    private static final class Game {
+
+        private final int number;
+        private final BoardGameModel model;
+        private final Connection blue;
+        private final Connection red;
+        private boolean finished;
+        private Connection[] spectators = new Connection[0];
+        private int spectatorCount;
+
+        Game(int number, BoardGameModel model, Connection blue, Connection red) {
+            this.number = number;
+            this.model = model;
+            this.blue = blue;
+            this.red = red;
+        }
+    }
+
+    /**
+     * Creates a server listening on the address given and starts serving on its own thread.
+     *
+     * @param address  the address to listen on, port {@code 0} picks a free port
+     * @param layout   the board and initial layout of the games
+     * @param drawRule the rule drawing the games that last too long
+     * @throws IOException if the address cannot be bound
+     */
+    public GameServer(InetSocketAddress address, BoardLayout layout, DrawRule drawRule) throws IOException {
+        this.layout = layout;
+        this.drawRule = drawRule;
+        this.selector = Selector.open();
+        this.serverChannel = ServerSocketChannel.open();
+        try {
+            serverChannel.bind(address, BACKLOG);
+            serverChannel.configureBlocking(false);
+            serverChannel.register(selector, SelectionKey.OP_ACCEPT);
+        } catch (IOException e) {
+            serverChannel.close();
+            selector.close();
+            throw e;
+        }
+        this.thread = new Thread(this::serve, "game-server");
+        thread.start();
+        Logger.info("Game server listening on {}", getAddress());
+    }
+
+    /**
+     * Returns the address the server listens on.
+     *
+     * @return the bound address
+     */
+    public InetSocketAddress getAddress() {
+        try {
+            return (InetSocketAddress) serverChannel.getLocalAddress();
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * Returns the number of connected clients.
+     *
+     * @return the number of connections
+     */
+    public int getConnectionCount() {
+        return connectionCount;
+    }
+
+    /**
+     * Returns the number of games being played.
+     *
+     * @return the number of games
+     */
+    public int getGameCount() {
+        return gameCount;
+    }
+
+    private void serve() {
+        try {
+            while (running) {
+                selector.select();
+                var keys = selector.selectedKeys().iterator();
+                while (keys.hasNext()) {
+                    var key = keys.next();
+                    keys.remove();
+                    if (!key.isValid()) {
+                        continue;
+                    }
+                    if (key.isAcceptable()) {
+                        accept();
+                    } else {
+                        serve((Connection) key.attachment(), key);
+                    }
+                }
+                flushSpectators();
+            }
+        } catch (IOException e) {
+            Logger.error(e, "Game server failed");
+        } finally {
+            for (var key : selector.keys()) {
+                if (key.attachment() instanceof Connection connection) {
+                    disconnect(connection);
+                }
+            }
+        }
+    }
+
+    private void accept() throws IOException {
+        SocketChannel channel;
+        while ((channel = serverChannel.accept()) != null) {
+            channel.configureBlocking(false);
+            channel.setOption(StandardSocketOptions.TCP_NODELAY, true);
+            new Connection(channel, selector);
+            connectionCount++;
+        }
+    }
+
+    private void serve(Connection connection, SelectionKey key) {
+        try {
+            if (key.isReadable()) {
+                read(connection);
+            }
+            if (key.isValid() && key.isWritable()) {
+                if (connection.watched != null) {
+                    flushSpectator(connection);
+                } else {
+                    flush(connection);
+                }
+            }
+        } catch (IOException | IllegalArgumentException e) {
+            Logger.debug("Dropping client: {}", e.toString());
+            disconnect(connection);
+        }
+    }
+
+    private void read(Connection connection) throws IOException {
+        if (connection.channel.read(connection.input) < 0) {
+            disconnect(connection);
+            return;
+        }
+        var input = connection.input.flip();
+        while (!connection.closed && input.hasRemaining()) {
+            byte type = input.get(input.position());
+            if (type != Protocol.JOIN && type != Protocol.MOVE && type != Protocol.LEAVE && type != Protocol.WATCH) {
+                Logger.debug("Dropping a client sending frame type {}", type);
+                disconnect(connection);
+                return;
+            }
+            if (!Protocol.hasFrame(input)) {
+                break;
+            }
+            handle(connection, input);
+        }
+        input.compact();
+    }
+
+    private void handle(Connection connection, ByteBuffer input) {
+        switch (input.get()) {
+            case Protocol.JOIN -> join(connection);
+            case Protocol.MOVE -> play(connection, Protocol.getMove(input));
+            case Protocol.LEAVE -> leave(connection);
+            case Protocol.WATCH -> watch(connection, input.getInt());
+            default -> throw new IllegalArgumentException();
+        }
+    }
+
+    private void join(Connection connection) {
+        if (connection.game != null || waiting == connection) {
+            return;
+        }
+        if (waiting == null) {
+            waiting = connection;
+            return;
+        }
+        var model = new BoardGameModel(layout);
+        model.setDrawRule(drawRule);
+        unwatch(waiting);
+        unwatch(connection);
+        var game = new Game(nextGame++, model, waiting, connection);
+        games.put(game.number, game);
+        waiting = null;
+        gameCount++;
+        if (Metrics.ENABLED) {
+            Metrics.GLOBAL.sessionStarted();
+        }
+        game.blue.game = game;
+        game.blue.color = StoneColor.BLUE;
+        game.red.game = game;
+        game.red.color = StoneColor.RED;
+        for (var player : new Connection[]{game.blue, game.red}) {
+            if (reserve(player, Protocol.frameLength(Protocol.STARTED))) {
+                player.output.put(Protocol.STARTED).put((byte) player.color.ordinal()).putInt(game.number);
+                flush(player);
+            }
+        }
+    }
+
+    private void play(Connection connection, int move) {
+        var game = connection.game;
+        if (game == null || !isValid(game.model, connection.color, move)) {
+            queueMove(connection, Protocol.REJECTED, move);
+            flush(connection);
+            return;
+        }
+        game.model.makeMove(move);
+        queueMove(game.blue, Protocol.MOVED, move);
+        queueMove(game.red, Protocol.MOVED, move);
+        for (int i = 0; i < game.spectatorCount; i++) {
+            var spectator = game.spectators[i];
+            if (!spectator.resync && spectator.output.position() + Protocol.frameLength(Protocol.MOVED)
+                    > MAX_SPECTATOR_BYTES) {
+                spectator.resync = true;
+            }
+            if (!spectator.resync) {
+                queueMove(spectator, Protocol.MOVED, move);
+            }
+            scheduleFlush(spectator);
+        }
+        var result = game.model.getResult();
+        if (result.isOver()) {
+            finish(game, result);
+        } else {
+            flush(game.blue);
+            flush(game.red);
+        }
+    }
+
+    private static boolean isValid(BoardGameModel model, StoneColor color, int move) {
+        int stone = BoardState.moveStone(move);
+        return model.getSideToMove() == color && stone < model.getStoneCount()
+                && model.getStoneColor(stone) == color
+                && model.isValidMove(stone, BoardState.moveDirection(move));
+    }
+
+    private void leave(Connection connection) {
+        if (waiting == connection) {
+            waiting = null;
+        }
+        unwatch(connection);
+        if (connection.game != null) {
+            finish(connection.game, GameResult.wonBy(BoardState.opponent(connection.color)));
+        }
+    }
+
+    private void finish(Game game, GameResult result) {
+        if (game.finished) {
+            return;
+        }
+        game.finished = true;
+        game.blue.game = null;
+        game.red.game = null;
+        games.remove(game.number);
+        gameCount--;
+        if (Metrics.ENABLED) {
+            Metrics.GLOBAL.sessionEnded();
+        }
+        for (var player : new Connection[]{game.blue, game.red}) {
+            if (reserve(player, Protocol.frameLength(Protocol.OVER))) {
+                player.output.put(Protocol.OVER).put((byte) result.ordinal());
+                flush(player);
+            }
+        }
+        while (game.spectatorCount > 0) {
+            var spectator = game.spectators[game.spectatorCount - 1];
+            if (spectator.resync) {
+                queueSnapshot(spectator, game);
+            }
+            if (reserve(spectator, Protocol.frameLength(Protocol.OVER))) {
+                spectator.output.put(Protocol.OVER).put((byte) result.ordinal());
+            }
+            scheduleFlush(spectator);
+            unwatch(spectator);
+        }
+    }
+
+    private void watch(Connection connection, int number) {
+        if (connection.game != null || waiting == connection) {
+            return;
+        }
+        unwatch(connection);
+        var game = games.get(number);
+        if (game == null) {
+            if (reserve(connection, Protocol.frameLength(Protocol.NO_GAME))) {
+                connection.output.put(Protocol.NO_GAME).putInt(number);
+                flush(connection);
+            }
+            return;
+        }
+        if (game.spectatorCount == game.spectators.length) {
+            game.spectators = Arrays.copyOf(game.spectators, Math.max(4, game.spectatorCount * 2));
+        }
+        connection.watched = game;
+        connection.spectatorIndex = game.spectatorCount;
+        game.spectators[game.spectatorCount++] = connection;
+        connection.resync = true;
+        scheduleFlush(connection);
+    }
+
+    private void unwatch(Connection connection) {
+        var game = connection.watched;
+        if (game == null) {
+            return;
+        }
+        var last = game.spectators[--game.spectatorCount];
+        game.spectators[connection.spectatorIndex] = last;
+        last.spectatorIndex = connection.spectatorIndex;
+        game.spectators[game.spectatorCount] = null;
+        if (game.spectatorCount < game.spectators.length / 4) {
+            game.spectators = Arrays.copyOf(game.spectators, game.spectators.length / 2);
+        }
+        connection.watched = null;
+        connection.resync = false;
+    }
+
+    private void scheduleFlush(Connection spectator) {
+        if (!spectator.flushPending) {
+            spectator.flushPending = true;
+            spectatorsToFlush.add(spectator);
+        }
+    }
+
+    private void flushSpectators() {
+        for (var spectator : spectatorsToFlush) {
+            spectator.flushPending = false;
+            flushSpectator(spectator);
+        }
+        spectatorsToFlush.clear();
+    }
+
+    /**
+     * Sends what is queued for a spectator, followed by a snapshot once nothing is left
+     * if the spectator has to be resynchronized.
+     */
+    private void flushSpectator(Connection spectator) {
+        flush(spectator);
+        if (spectator.resync && spectator.watched != null && !spectator.closed
+                && spectator.output.position() == 0) {
+            spectator.resync = false;
+            queueSnapshot(spectator, spectator.watched);
+            flush(spectator);
+        }
+    }
+
+    private void queueSnapshot(Connection spectator, Game game) {
+        var model = game.model;
+        if (!reserve(spectator, Protocol.snapshotLength(model.getStoneCount()))) {
+            return;
+        }
+        var output = spectator.output.put(Protocol.SNAPSHOT).putInt(game.number)
+                .put((byte) model.getSideToMove().ordinal()).putInt(model.getPlyCount())
+                .putShort((short) model.getStoneCount());
+        var positions = model.getPositionTable();
+        for (int i = 0; i < model.getStoneCount(); i++) {
+            output.putShort((short) positions.square(model.getStonePosition(i)));
+        }
+        spectator.resync = false;
+    }
+
+    private void queueMove(Connection connection, byte type, int move) {
+        if (reserve(connection, Protocol.frameLength(type))) {
+            Protocol.putMove(connection.output, type, move);
+        }
+    }
+
+    /**
+     * Makes room for a frame of the length given in the output buffer of the connection given,
+     * disconnecting it if too many bytes are waiting.
+     */
+    private boolean reserve(Connection connection, int length) {
+        if (connection.closed) {
+            return false;
+        }
+        if (connection.output.remaining() >= length) {
+            return true;
+        }
+        if (connection.output.capacity() * 2 > MAX_OUTPUT_BYTES) {
+            Logger.debug("Dropping a client not reading");
+            disconnect(connection);
+            return false;
+        }
+        var larger = ByteBuffer.allocate(connection.output.capacity() * 2);
+        connection.output = larger.put(connection.output.flip());
+        return true;
+    }
+
+    private void flush(Connection connection) {
+        if (connection.closed) {
+            return;
+        }
+        var output = connection.output.flip();
+        try {
+            connection.channel.write(output);
+        } catch (IOException e) {
+            Logger.debug("Dropping client: {}", e.toString());
+            disconnect(connection);
+            return;
+        } finally {
+            output.compact();
+        }
+        int interest = output.position() > 0 ? SelectionKey.OP_READ | SelectionKey.OP_WRITE : SelectionKey.OP_READ;
+        if (connection.key.interestOps() != interest) {
+            connection.key.interestOps(interest);
+        }
+    }
+
+    private void disconnect(Connection connection) {
+        if (connection.closed) {
+            return;
+        }
+        connection.closed = true;
+        connectionCount--;
+        connection.key.cancel();
+        try {
+            connection.channel.close();
+        } catch (IOException e) {
+            Logger.debug("Closing a client failed: {}", e.toString());
+        }
+        leave(connection);
+    }
+
+    /**
+     * Stops serving, disconnecting every client.
+     *
+     * @throws IOException if the listening channel cannot be closed
+     */
+    @Override
+    public void close() throws IOException {
+        running = false;
+        selector.wakeup();
+        try {
+            thread.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        serverChannel.close();
+        selector.close();
+    }
+
+    /**
+     * Serves games of the initial layout until the process is stopped.
+     * Usage: {@code GameServer [port] [maxPlies]}.
+     *
+     * @param args the port to listen on and the number of plies after which a game is a draw
+     * @throws IOException if the port cannot be bound
+     */
+    public static void main(String[] args) throws IOException {
+        int port = args.length > 0 ? Integer.parseInt(args[0]) : Protocol.DEFAULT_PORT;
+        int maxPlies = args.length > 1 ? Integer.parseInt(args[1]) : Tournament.DEFAULT_MAX_PLIES;
+        new GameServer(new InetSocketAddress(port), BoardLayout.DEFAULT,
+                new DrawRule(DrawRule.DEFAULT.repetitions(), maxPlies));
+    }
+}
@@ -0,0 +1,235 @@
+package boardGame.Server;
+
+import boardGame.BoardGameModel.BoardGameModel;
+import boardGame.BoardGameModel.BoardLayout;
+import boardGame.BoardGameModel.BoardState;
+import boardGame.Metrics.LatencyHistogram;
+import boardGame.Stone.StoneColor;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.StandardSocketOptions;
+import java.nio.ByteBuffer;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.SocketChannel;
+import java.util.ArrayList;
+import java.util.SplittableRandom;
+
+/**
+ * Class representing a load generator simulating many clients of a {@link GameServer} from a single thread.
+ * Every simulated client joins, plays random valid moves whenever it is its turn, following the game
+ * on its own {@link BoardState}, and joins again until it has played the number of games given.
+ * The time from sending a move to receiving it back from the server is recorded as its latency.
+ */
+public class LoadGenerator {
+
+    private static final int BUFFER_BYTES = 64;
+
+    private final InetSocketAddress address;
+    private final BoardState template;
+    private final int connections;
+    private final int gamesPerConnection;
+    private final long seed;
+    private final LatencyHistogram latencies = new LatencyHistogram();
+    private long games;
+    private long moves;
+    private long rejected;
+    private int finished;
+
+    private final class Bot {
+
+        private final SocketChannel channel;
+        private final SelectionKey key;
+        private final ByteBuffer input = ByteBuffer.allocate(BUFFER_BYTES);
+        private final ByteBuffer output = ByteBuffer.allocate(BUFFER_BYTES);
+        private final BoardState state = template.copy();
+        private final int[] moveList = new int[template.getStoneCount() * 4];
+        private final SplittableRandom random;
+        private StoneColor color;
+        private boolean playing;
+        private int gamesLeft = gamesPerConnection;
+        private int pendingMove = -1;
+        private long sentAt;
+
+        Bot(Selector selector, long seed) throws IOException {
+            this.random = new SplittableRandom(seed);
+            this.channel = SocketChannel.open();
+            channel.configureBlocking(false);
+            channel.setOption(StandardSocketOptions.TCP_NODELAY, true);
+            boolean connected = channel.connect(address);
+            this.key = channel.register(selector, connected ? SelectionKey.OP_READ : SelectionKey.OP_CONNECT, this);
+            if (connected) {
+                join();
+            }
+        }
+
+        void connected() throws IOException {
+            channel.finishConnect();
+            key.interestOps(SelectionKey.OP_READ);
+            join();
+        }
+
+        void join() throws IOException {
+            output.put(Protocol.JOIN);
+            flush();
+        }
+
+        void read() throws IOException {
+            if (channel.read(input) < 0) {
+                throw new IOException("Server closed the connection");
+            }
+            input.flip();
+            boolean turnChanged = false;
+            while (Protocol.hasFrame(input)) {
+                switch (input.get()) {
+                    case Protocol.STARTED -> {
+                        color = StoneColor.values()[input.get()];
+                        input.getInt();
+                        state.copyFrom(template);
+                        playing = true;
+                        turnChanged = true;
+                    }
+                    case Protocol.MOVED -> {
+                        int move = Protocol.getMove(input);
+                        if (move == pendingMove) {
+                            latencies.record(System.nanoTime() - sentAt);
+                            pendingMove = -1;
+                            moves++;
+                        }
+                        state.makeMove(move);
+                        turnChanged = true;
+                    }
+                    case Protocol.REJECTED -> {
+                        Protocol.getMove(input);
+                        rejected++;
+                        pendingMove = -1;
+                        turnChanged = true;
+                    }
+                    case Protocol.OVER -> {
+                        input.get();
+                        playing = false;
+                        if (color == StoneColor.BLUE) {
+                            games++;
+                        }
+                        if (--gamesLeft > 0) {
+                            output.put(Protocol.JOIN);
+                        } else {
+                            finish();
+                            return;
+                        }
+                    }
+                    default -> throw new IllegalArgumentException();
+                }
+            }
+            input.compact();
+            if (turnChanged && playing && pendingMove < 0 && state.getSideToMove() == color
+                    && !state.getResult().isOver()) {
+                int count = state.generateMoves(moveList);
+                pendingMove = moveList[random.nextInt(count)];
+                sentAt = System.nanoTime();
+                Protocol.putMove(output, Protocol.MOVE, pendingMove);
+            }
+            flush();
+        }
+
+        void flush() throws IOException {
+            output.flip();
+            channel.write(output);
+            output.compact();
+            key.interestOps(output.position() > 0
+                    ? SelectionKey.OP_READ | SelectionKey.OP_WRITE : SelectionKey.OP_READ);
+        }
+
+        void finish() throws IOException {
+            if (key.isValid()) {
+                finished++;
+                key.cancel();
+                channel.close();
+            }
+        }
+    }
+
+    /**
+     * Creates a load generator for the server at the address given.
+     *
+     * @param address            the address of the server
+     * @param layout             the layout of the games of the server
+     * @param connections        the number of simulated clients, an even number so they all find an opponent
+     * @param gamesPerConnection the number of games each client plays
+     * @param seed               the seed of the random moves
+     */
+    public LoadGenerator(InetSocketAddress address, BoardLayout layout, int connections, int gamesPerConnection,
+                         long seed) {
+        if (connections < 2 || connections % 2 != 0 || gamesPerConnection < 1) {
+            throw new IllegalArgumentException();
+        }
+        this.address = address;
+        this.template = new BoardGameModel(layout).copyState();
+        this.connections = connections;
+        this.gamesPerConnection = gamesPerConnection;
+        this.seed = seed;
+    }
+
+    /**
+     * Opens the connections and plays until every client has played its games or the time given runs out.
+     * A generator runs once.
+     *
+     * @param timeoutMillis the longest time to run in milliseconds
+     * @return the games and moves played and the latencies of the moves
+     * @throws IOException if a connection fails
+     */
+    public LoadReport run(long timeoutMillis) throws IOException {
+        long start = System.nanoTime();
+        long deadline = start + timeoutMillis * 1_000_000L;
+        var bots = new ArrayList<Bot>(connections);
+        try (var selector = Selector.open()) {
+            try {
+                for (int i = 0; i < connections; i++) {
+                    bots.add(new Bot(selector, seed + i));
+                }
+                while (finished < connections && System.nanoTime() < deadline) {
+                    selector.select(Math.max(1, (deadline - System.nanoTime()) / 1_000_000L));
+                    var keys = selector.selectedKeys().iterator();
+                    while (keys.hasNext()) {
+                        var key = keys.next();
+                        keys.remove();
+                        var bot = (Bot) key.attachment();
+                        if (key.isValid() && key.isConnectable()) {
+                            bot.connected();
+                        }
+                        if (key.isValid() && key.isReadable()) {
+                            bot.read();
+                        }
+                        if (key.isValid() && key.isWritable()) {
+                            bot.flush();
+                        }
+                    }
+                }
+            } finally {
+                for (var bot : bots) {
+                    bot.channel.close();
+                }
+            }
+        }
+        return new LoadReport(connections, games, moves, rejected, latencies.getPercentile(0.5),
+                latencies.getPercentile(0.99), System.nanoTime() - start);
+    }
+
+    /**
+     * Runs a load generator against a running server and prints its report.
+     * Usage: {@code LoadGenerator [host] [port] [connections] [games]}.
+     *
+     * @param args the address of the server, the number of clients and the number of games of each client
+     * @throws IOException if a connection fails
+     */
+    public static void main(String[] args) throws IOException {
+        var host = args.length > 0 ? args[0] : "localhost";
+        int port = args.length > 1 ? Integer.parseInt(args[1]) : Protocol.DEFAULT_PORT;
+        int connections = args.length > 2 ? Integer.parseInt(args[2]) : 10_000;
+        int games = args.length > 3 ? Integer.parseInt(args[3]) : 1;
+        var generator = new LoadGenerator(new InetSocketAddress(host, port), BoardLayout.DEFAULT,
+                connections, games, System.nanoTime());
+        System.out.println(generator.run(600_000));
+    }
+}
@@ -0,0 +1,36 @@
+package boardGame.Server;
+
+/**
+ * Class extending the Record class that holds the outcome of a run of the {@link LoadGenerator}.
+ *
+ * @param connections        the number of simulated clients
+ * @param games              the number of games finished
+ * @param moves              the number of moves made
+ * @param rejected           the number of moves the server refused
+ * @param medianLatencyNanos the median time from sending a move to receiving it back, in nanoseconds
+ * @param p99LatencyNanos    the 99th percentile of that time, in nanoseconds
+ * @param elapsedNanos       the time spent in nanoseconds
+ */
+public record LoadReport(int connections, long games, long moves, long rejected,
+                         long medianLatencyNanos, long p99LatencyNanos, long elapsedNanos) {
+
+    /**
+     * Returns the number of moves made per second.
+     *
+     * @return the throughput in moves per second
+     */
+    public double movesPerSecond() {
+        return elapsedNanos == 0 ? 0 : moves * 1e9 / elapsedNanos;
+    }
+
+    /**
+     * Returns a string of the counts, the throughput and the latencies.
+     *
+     * @return a string of the counts, the throughput and the latencies
+     */
+    public String toString() {
+        return String.format("connections=%d games=%d moves=%d rejected=%d moves/s=%.0f p50=%.1fms p99=%.1fms",
+                connections, games, moves, rejected, movesPerSecond(), medianLatencyNanos / 1e6,
+                p99LatencyNanos / 1e6);
+    }
+}
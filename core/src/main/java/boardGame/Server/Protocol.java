@@ -0,0 +1,166 @@
+package boardGame.Server;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Class holding the binary protocol spoken between the game server and its clients.
+ * Every message is a frame starting with its type byte, the type fixes the length of the frame,
+ * so frames need no length prefix, except for snapshots whose header gives their stone count.
+ * Moves travel as the encoded moves of {@link boardGame.BoardGameModel.BoardState#encodeMove},
+ * the stone number and the direction in two bytes.
+ * <ul>
+ *     <li>{@link #JOIN}, client: asks for an opponent.</li>
+ *     <li>{@link #MOVE}, client: a move of the side of the client.</li>
+ *     <li>{@link #LEAVE}, client: resigns the current game, or stops watching.</li>
+ *     <li>{@link #WATCH}, client: the number of the game to watch as an int.</li>
+ *     <li>{@link #STARTED}, server: the color of the client as a byte and the game number as an int.</li>
+ *     <li>{@link #MOVED}, server: a move made in the game, by either side.</li>
+ *     <li>{@link #REJECTED}, server: a move of the client that was not made.</li>
+ *     <li>{@link #OVER}, server: the ordinal of the {@link boardGame.BoardGameModel.GameResult} of the game.</li>
+ *     <li>{@link #SNAPSHOT}, server: the game number as an int, the side to move as a byte, the number
+ *     of plies as an int, the stone count as a short and the square of each stone as a short.</li>
+ *     <li>{@link #NO_GAME}, server: the number of a game to watch that is not played.</li>
+ * </ul>
+ */
+public final class Protocol {
+
+    /**
+     * The port the server listens on when none is given.
+     */
+    public static final int DEFAULT_PORT = 7531;
+
+    /**
+     * The client asks for an opponent.
+     */
+    public static final byte JOIN = 1;
+
+    /**
+     * The client makes a move.
+     */
+    public static final byte MOVE = 2;
+
+    /**
+     * The client resigns its game.
+     */
+    public static final byte LEAVE = 3;
+
+    /**
+     * The client watches a game.
+     */
+    public static final byte WATCH = 4;
+
+    /**
+     * The server starts a game of the client.
+     */
+    public static final byte STARTED = 16;
+
+    /**
+     * The server tells about a move made.
+     */
+    public static final byte MOVED = 17;
+
+    /**
+     * The server refuses a move of the client.
+     */
+    public static final byte REJECTED = 18;
+
+    /**
+     * The server ends the game of the client.
+     */
+    public static final byte OVER = 19;
+
+    /**
+     * The server sends the whole position of a watched game.
+     */
+    public static final byte SNAPSHOT = 20;
+
+    /**
+     * The server finds no game to watch.
+     */
+    public static final byte NO_GAME = 21;
+
+    /**
+     * The length of the longest frame of fixed length.
+     */
+    public static final int MAX_FRAME_LENGTH = 6;
+
+    /**
+     * The length of the header of a snapshot, up to its stone count.
+     */
+    public static final int SNAPSHOT_HEADER_LENGTH = 12;
+
+    private Protocol() {
+    }
+
+    /**
+     * Returns the length of the frames of the type given, the type byte included.
+     *
+     * @param type the type of the frame
+     * @return the length of the frame, {@link #SNAPSHOT_HEADER_LENGTH} for a snapshot,
+     *         or {@code -1} if the type is unknown
+     */
+    public static int frameLength(byte type) {
+        return switch (type) {
+            case JOIN, LEAVE -> 1;
+            case OVER -> 2;
+            case MOVE, MOVED, REJECTED -> 3;
+            case WATCH, NO_GAME -> 5;
+            case STARTED -> 6;
+            case SNAPSHOT -> SNAPSHOT_HEADER_LENGTH;
+            default -> -1;
+        };
+    }
+
+    /**
+     * Returns the length of a snapshot of the stone count given.
+     *
+     * @param stoneCount the number of stones
+     * @return the length of the frame
+     */
+    public static int snapshotLength(int stoneCount) {
+        return SNAPSHOT_HEADER_LENGTH + 2 * stoneCount;
+    }
+
+    /**
+     * Returns whether the buffer given, ready to be read, starts with a complete frame.
+     *
+     * @param buffer the received bytes
+     * @return whether a frame can be read
+     * @throws IllegalArgumentException if the frame type is unknown
+     */
+    public static boolean hasFrame(ByteBuffer buffer) {
+        if (!buffer.hasRemaining()) {
+            return false;
+        }
+        byte type = buffer.get(buffer.position());
+        int length = frameLength(type);
+        if (length < 0) {
+            throw new IllegalArgumentException();
+        }
+        if (type == SNAPSHOT && buffer.remaining() >= length) {
+            length = snapshotLength(Short.toUnsignedInt(buffer.getShort(buffer.position() + length - 2)));
+        }
+        return buffer.remaining() >= length;
+    }
+
+    /**
+     * Writes a frame carrying a move into the buffer given.
+     *
+     * @param buffer the buffer to write
+     * @param type   {@link #MOVE}, {@link #MOVED} or {@link #REJECTED}
+     * @param move   the encoded move
+     */
+    public static void putMove(ByteBuffer buffer, byte type, int move) {
+        buffer.put(type).putShort((short) move);
+    }
+
+    /**
+     * Reads the encoded move of a frame whose type byte has been read.
+     *
+     * @param buffer the buffer to read
+     * @return the encoded move
+     */
+    public static int getMove(ByteBuffer buffer) {
+        return Short.toUnsignedInt(buffer.getShort());
+    }
+}
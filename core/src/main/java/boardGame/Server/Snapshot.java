@@ -0,0 +1,25 @@
+package boardGame.Server;
+
+import boardGame.BoardGameModel.BoardState;
+import boardGame.Stone.StoneColor;
+
+/**
+ * Class extending the Record class that holds the whole position of a watched game,
+ * which the moves sent after it apply to.
+ *
+ * @param game       the number of the game on the server
+ * @param sideToMove the color whose turn it is
+ * @param plies      the number of plies played
+ * @param squares    the square of each stone, indexed by stone number
+ */
+public record Snapshot(int game, StoneColor sideToMove, int plies, int[] squares) {
+
+    /**
+     * Places the stones of the snapshot on the state given, see {@link BoardState#setPosition(int[], StoneColor)}.
+     *
+     * @param state a state of the layout of the game, receiving the position
+     */
+    public void applyTo(BoardState state) {
+        state.setPosition(squares, sideToMove);
+    }
+}
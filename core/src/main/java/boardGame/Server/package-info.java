@@ -0,0 +1,4 @@
+/**
+ * Defines the headless game server, its binary protocol and its clients.
+ */
+package boardGame.Server;
@@ -2,8 +2,6 @@ package boardGame.Stone;
 
 import boardGame.Movement.Direction;
 import boardGame.Movement.Position;
-import javafx.beans.property.ObjectProperty;
-import javafx.beans.property.SimpleObjectProperty;
 
 /**
  * Class representing the stones' color.
@@ -11,11 +9,11 @@ import javafx.beans.property.SimpleObjectProperty;
 public class Stone {
 
     private final StoneColor color;
-    private final ObjectProperty<Position> position = new SimpleObjectProperty<>();
+    private Position position;
 
     public Stone(StoneColor color, Position position) {
         this.color = color;
-        this.position.set(position);
+        this.position = position;
     }
 
     /**
@@ -31,7 +29,7 @@ public class Stone {
      * @return the position of the stone
      */
     public Position getPosition() {
-        return position.get();
+        return position;
     }
 
     /**
@@ -39,16 +37,7 @@ public class Stone {
      * @param direction the new direction of the moving stone
      */
     public void moveTo(Direction direction) {
-        Position newPosition = position.get().moveTo(direction);
-        position.set(newPosition);
-    }
-
-    /**
-     * Returns the position of the stone wrapped in an object property.
-     * @return the position of the stone
-     */
-    public ObjectProperty<Position> positionProperty() {
-        return position;
+        position = position.moveTo(direction);
     }
 
     /**
@@ -56,14 +45,11 @@ public class Stone {
      * @return the color and position of the stone
      */
     public String toString() {
-        return color.toString() + position.get().toString();
+        return color.toString() + position.toString();
     }
 
     public static void main(String[] args) {
         Stone stone = new Stone(StoneColor.BLUE, new Position(0, 0));
-        stone.positionProperty().addListener((observableValue, oldPosition, newPosition) -> {
-            System.out.printf("%s -> %s%n", oldPosition.toString(), newPosition.toString());
-        });
         System.out.println(stone);
         stone.moveTo(StoneDirection.DOWN_DIAGONAL_RIGHT);
         System.out.println(stone);
@@ -40,6 +40,15 @@ public enum StoneDirection implements Direction {
         return colChange;
     }
 
+    /**
+     * Returns the direction that takes a stone back to where this direction moved it from.
+     *
+     * @return the opposite direction
+     */
+    public StoneDirection opposite() {
+        return values()[3 - ordinal()];
+    }
+
     /**
      * Returns the direction that corresponds to the coordinate changes specified.
      *
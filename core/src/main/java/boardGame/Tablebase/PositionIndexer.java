@@ -0,0 +1,181 @@
+package boardGame.Tablebase;
+
+import boardGame.BoardGameModel.BoardState;
+import boardGame.BoardGameModel.Symmetry;
+import boardGame.Stone.StoneColor;
+
+/**
+ * Class representing a perfect index of stone placements, every placement of the blue and red stones
+ * together with the side to move gets a distinct number below {@link #size()}.
+ * The blue squares are ranked as a combination of all squares, the red squares as a combination of
+ * the squares left empty by blue, and the side to move takes the lowest bit.
+ * Symmetric positions have the same value, so only the smallest index among the images of
+ * a position, its canonical index, needs to be solved and probed.
+ */
+public class PositionIndexer {
+
+    private final int squareCount;
+    private final int blueCount;
+    private final int redCount;
+    private final long[][] binomials;
+    private final long redCombinations;
+    private final long size;
+
+    /**
+     * Creates an indexer for the board and stone counts of the state given.
+     *
+     * @param template a state of the variant to index
+     */
+    public PositionIndexer(BoardState template) {
+        this(template.getSize() * template.getSize(),
+                Long.bitCount(template.getOccupancy(StoneColor.BLUE)),
+                Long.bitCount(template.getOccupancy(StoneColor.RED)));
+    }
+
+    /**
+     * Creates an indexer for the number of squares and stones given.
+     *
+     * @param squareCount the number of squares of the board
+     * @param blueCount   the number of blue stones
+     * @param redCount    the number of red stones
+     */
+    public PositionIndexer(int squareCount, int blueCount, int redCount) {
+        if (squareCount > 64 || blueCount < 0 || redCount < 0 || blueCount + redCount > squareCount) {
+            throw new IllegalArgumentException();
+        }
+        this.squareCount = squareCount;
+        this.blueCount = blueCount;
+        this.redCount = redCount;
+        int maxStones = Math.max(blueCount, redCount);
+        this.binomials = new long[squareCount + 1][maxStones + 1];
+        for (int n = 0; n <= squareCount; n++) {
+            binomials[n][0] = 1;
+            for (int k = 1; k <= Math.min(n, maxStones); k++) {
+                binomials[n][k] = binomials[n - 1][k - 1] + (k <= n - 1 ? binomials[n - 1][k] : 0);
+            }
+        }
+        this.redCombinations = binomials[squareCount - blueCount][redCount];
+        this.size = Math.multiplyExact(Math.multiplyExact(binomials[squareCount][blueCount], redCombinations), 2);
+    }
+
+    /**
+     * Returns the number of indexed positions.
+     *
+     * @return the number of indexed positions
+     */
+    public long size() {
+        return size;
+    }
+
+    /**
+     * Returns the index of the position of the state given.
+     *
+     * @param state the state to index
+     * @return the index of the position
+     */
+    public long index(BoardState state) {
+        return index(state.getOccupancy(StoneColor.BLUE), state.getOccupancy(StoneColor.RED), state.getSideToMove());
+    }
+
+    /**
+     * Returns the index of the position given by its occupancy masks and side to move.
+     *
+     * @param blue       the squares of the blue stones
+     * @param red        the squares of the red stones
+     * @param sideToMove the color whose turn it is
+     * @return the index of the position
+     */
+    public long index(long blue, long red, StoneColor sideToMove) {
+        long redRank = rank(compress(red, blue));
+        return ((rank(blue) * redCombinations + redRank) << 1) | sideToMove.ordinal();
+    }
+
+    /**
+     * Returns the smallest index among the images of the position of the state given under the symmetries
+     * of its variant. Symmetries exchanging the colors are only used when both sides have as many stones.
+     *
+     * @param state the state to index
+     * @return the canonical index of the position
+     */
+    public long canonicalIndex(BoardState state) {
+        long blue = state.getOccupancy(StoneColor.BLUE);
+        long red = state.getOccupancy(StoneColor.RED);
+        long canonical = index(blue, red, state.getSideToMove());
+        for (var symmetry : state.getSymmetries()) {
+            if (symmetry == Symmetry.IDENTITY || symmetry.swapsColors() && blueCount != redCount) {
+                continue;
+            }
+            long blueImage = symmetry.mapMask(state.getSize(), blue);
+            long redImage = symmetry.mapMask(state.getSize(), red);
+            canonical = Math.min(canonical, symmetry.swapsColors()
+                    ? index(redImage, blueImage, symmetry.mapColor(state.getSideToMove()))
+                    : index(blueImage, redImage, state.getSideToMove()));
+        }
+        return canonical;
+    }
+
+    /**
+     * Places the stones of the state given on the position with the index given.
+     *
+     * @param index the index of the position
+     * @param state the state receiving the position
+     */
+    public void unrank(long index, BoardState state) {
+        var side = StoneColor.values()[(int) (index & 1)];
+        long placement = index >>> 1;
+        long blue = unrank(placement / redCombinations, blueCount, squareCount);
+        long red = expand(unrank(placement % redCombinations, redCount, squareCount - blueCount), blue);
+        state.setPosition(blue, red, side);
+    }
+
+    private long rank(long mask) {
+        long rank = 0;
+        int k = 1;
+        for (long rest = mask; rest != 0; rest &= rest - 1) {
+            rank += binomial(Long.numberOfTrailingZeros(rest), k++);
+        }
+        return rank;
+    }
+
+    private long unrank(long rank, int k, int n) {
+        long mask = 0;
+        int square = n - 1;
+        for (int i = k; i > 0; i--) {
+            while (binomial(square, i) > rank) {
+                square--;
+            }
+            rank -= binomial(square, i);
+            mask |= 1L << square;
+            square--;
+        }
+        return mask;
+    }
+
+    private long binomial(int n, int k) {
+        return k > n ? 0 : binomials[n][k];
+    }
+
+    private static long compress(long mask, long removed) {
+        long compressed = 0;
+        for (long rest = mask; rest != 0; rest &= rest - 1) {
+            int square = Long.numberOfTrailingZeros(rest);
+            compressed |= 1L << (square - Long.bitCount(removed & ((1L << square) - 1)));
+        }
+        return compressed;
+    }
+
+    private static long expand(long compressed, long removed) {
+        long mask = 0;
+        int index = 0;
+        for (int square = 0; index < Long.SIZE && compressed >>> index != 0; square++) {
+            if ((removed & (1L << square)) != 0) {
+                continue;
+            }
+            if ((compressed & (1L << index)) != 0) {
+                mask |= 1L << square;
+            }
+            index++;
+        }
+        return mask;
+    }
+}
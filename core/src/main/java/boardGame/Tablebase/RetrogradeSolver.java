@@ -0,0 +1,254 @@
+package boardGame.Tablebase;
+
+import boardGame.BoardGameModel.BoardGameModel;
+import boardGame.BoardGameModel.BoardState;
+import org.tinylog.Logger;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Class representing an offline solver computing the exact result of every position of a variant.
+ * The solver works in passes over the position index. The first pass marks the finished games,
+ * pass {@code d} marks the wins in {@code d} plies, reaching a loss in {@code d - 1}, and the losses
+ * in {@code d} plies, where every move reaches a win in at most {@code d - 1}. Positions still
+ * undecided when a pass changes nothing are draws. Only canonical indices are solved, the entries
+ * of their symmetric images are left empty and never probed.
+ * The results are written straight into the memory-mapped tablebase file. Each pass is split into
+ * chunks solved in parallel, and the progress is checkpointed after every round of chunks, so an
+ * interrupted solver resumes where it stopped.
+ */
+public class RetrogradeSolver {
+
+    private final BoardState template;
+    private final Path path;
+    private final Path checkpointPath;
+    private final PositionIndexer indexer;
+    private final int threads;
+    private final long chunkSize;
+
+    private record Checkpoint(int pass, long nextChunk, boolean changed) {
+    }
+
+    /**
+     * Creates a solver for the variant of the state given.
+     *
+     * @param template  a state of the variant to solve, its goals and stone counts define the variant
+     * @param path      the tablebase file to write
+     * @param threads   the number of chunks solved in parallel
+     * @param chunkSize the number of positions in a chunk
+     */
+    public RetrogradeSolver(BoardState template, Path path, int threads, long chunkSize) {
+        if (threads < 1 || chunkSize < 1) {
+            throw new IllegalArgumentException();
+        }
+        this.template = template.copy();
+        this.path = path;
+        this.checkpointPath = path.resolveSibling(path.getFileName() + ".checkpoint");
+        this.indexer = new PositionIndexer(template);
+        this.threads = threads;
+        this.chunkSize = chunkSize;
+    }
+
+    /**
+     * Solves the variant, resuming from the last checkpoint if there is one.
+     *
+     * @throws IOException if the tablebase or checkpoint file cannot be written
+     */
+    public void solve() throws IOException {
+        solve(Integer.MAX_VALUE);
+    }
+
+    /**
+     * Solves the variant for at most the number of rounds given, resuming from the last checkpoint
+     * if there is one.
+     *
+     * @param maxRounds the number of rounds of chunks to solve before returning
+     * @return whether the variant is completely solved
+     * @throws IOException if the tablebase or checkpoint file cannot be written
+     */
+    public boolean solve(int maxRounds) throws IOException {
+        try (var file = openFile(readCheckpoint() != null)) {
+            if (file.isSolved()) {
+                return true;
+            }
+            var checkpoint = readCheckpoint();
+            if (checkpoint == null) {
+                checkpoint = new Checkpoint(0, 0, false);
+                writeCheckpoint(checkpoint);
+            }
+            var pool = Executors.newFixedThreadPool(threads);
+            try {
+                long chunks = (indexer.size() + chunkSize - 1) / chunkSize;
+                int rounds = 0;
+                while (true) {
+                    while (checkpoint.nextChunk() < chunks) {
+                        if (rounds++ == maxRounds) {
+                            return false;
+                        }
+                        checkpoint = solveRound(file, pool, checkpoint, chunks);
+                        writeCheckpoint(checkpoint);
+                    }
+                    Logger.info("Pass {} finished", checkpoint.pass());
+                    if (checkpoint.pass() > 0 && !checkpoint.changed()) {
+                        break;
+                    }
+                    if (checkpoint.pass() == TablebaseValue.MAX_DISTANCE) {
+                        throw new IllegalStateException("Distance exceeds " + TablebaseValue.MAX_DISTANCE + " plies");
+                    }
+                    checkpoint = new Checkpoint(checkpoint.pass() + 1, 0, false);
+                    writeCheckpoint(checkpoint);
+                }
+            } finally {
+                pool.shutdownNow();
+            }
+            file.markSolved();
+            Files.deleteIfExists(checkpointPath);
+            return true;
+        }
+    }
+
+    private Checkpoint solveRound(TablebaseFile file, ExecutorService pool,
+                                  Checkpoint checkpoint, long chunks) throws IOException {
+        long end = Math.min(chunks, checkpoint.nextChunk() + threads);
+        var results = new ArrayList<Future<Boolean>>();
+        for (long chunk = checkpoint.nextChunk(); chunk < end; chunk++) {
+            long from = chunk * chunkSize;
+            long to = Math.min(indexer.size(), from + chunkSize);
+            results.add(pool.submit(solveChunk(file, checkpoint.pass(), from, to)));
+        }
+        boolean changed = checkpoint.changed();
+        for (var result : results) {
+            try {
+                changed |= result.get();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IOException(e);
+            } catch (ExecutionException e) {
+                throw new IllegalStateException(e.getCause());
+            }
+        }
+        file.force();
+        return new Checkpoint(checkpoint.pass(), end, changed);
+    }
+
+    /**
+     * Returns a task solving the chunk given for the pass given, telling whether the pass decided a position
+     * of the chunk. Positions decided by the same pass before an interruption count as decided, so a chunk
+     * solved again after resuming reports the same change as the first time.
+     */
+    private Callable<Boolean> solveChunk(TablebaseFile file, int pass, long from, long to) {
+        return () -> {
+            var state = template.copy();
+            var moves = new int[state.getStoneCount() * 4];
+            boolean changed = false;
+            byte win = TablebaseValue.win(pass);
+            byte loss = TablebaseValue.loss(pass);
+            for (long index = from; index < to; index++) {
+                byte stored = file.get(index);
+                if (stored != 0) {
+                    changed |= stored == win || stored == loss;
+                    continue;
+                }
+                indexer.unrank(index, state);
+                if (indexer.canonicalIndex(state) != index) {
+                    continue;
+                }
+                byte value = pass == 0 ? terminal(state) : resolve(file, state, moves, pass);
+                if (value != 0) {
+                    file.put(index, value);
+                    changed = true;
+                }
+            }
+            return changed;
+        };
+    }
+
+    private static byte terminal(BoardState state) {
+        var side = state.getSideToMove();
+        if (state.hasWon(BoardState.opponent(side))) {
+            return TablebaseValue.loss(0);
+        }
+        return state.hasWon(side) ? TablebaseValue.win(0) : 0;
+    }
+
+    private byte resolve(TablebaseFile file, BoardState state, int[] moves, int pass) {
+        int count = state.generateMoves(moves);
+        if (count == 0) {
+            return 0;
+        }
+        boolean allWins = true;
+        for (int i = 0; i < count; i++) {
+            state.makeMove(moves[i]);
+            byte successor = file.get(indexer.canonicalIndex(state));
+            state.unmakeMove(moves[i]);
+            if (successor == TablebaseValue.loss(pass - 1)) {
+                return TablebaseValue.win(pass);
+            }
+            if (successor <= 0 || successor > TablebaseValue.win(pass - 1)) {
+                allWins = false;
+            }
+        }
+        return allWins ? TablebaseValue.loss(pass) : 0;
+    }
+
+    /**
+     * Opens the tablebase file to solve, creating a new one without checkpoint unless the existing file
+     * is of this variant and is either solved or to be resumed.
+     */
+    private TablebaseFile openFile(boolean resume) throws IOException {
+        if (Files.exists(path)) {
+            var file = TablebaseFile.open(path, true);
+            if (file.matches(template) && (resume || file.isSolved())) {
+                return file;
+            }
+            file.close();
+        }
+        Files.deleteIfExists(checkpointPath);
+        return TablebaseFile.create(path, template, indexer.size());
+    }
+
+    private Checkpoint readCheckpoint() throws IOException {
+        if (!Files.exists(checkpointPath) || !Files.exists(path)) {
+            return null;
+        }
+        try (var input = new DataInputStream(Files.newInputStream(checkpointPath))) {
+            return new Checkpoint(input.readInt(), input.readLong(), input.readBoolean());
+        }
+    }
+
+    private void writeCheckpoint(Checkpoint checkpoint) throws IOException {
+        var temporary = checkpointPath.resolveSibling(checkpointPath.getFileName() + ".tmp");
+        try (var output = new DataOutputStream(Files.newOutputStream(temporary))) {
+            output.writeInt(checkpoint.pass());
+            output.writeLong(checkpoint.nextChunk());
+            output.writeBoolean(checkpoint.changed());
+        }
+        Files.move(temporary, checkpointPath, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    /**
+     * Solves the variant of the initial layout into the file given.
+     * Usage: {@code RetrogradeSolver <file> [threads] [chunkSize]}.
+     *
+     * @param args the tablebase file, the number of threads and the chunk size
+     * @throws IOException if the tablebase cannot be written
+     */
+    public static void main(String[] args) throws IOException {
+        int threads = args.length > 1 ? Integer.parseInt(args[1]) : Runtime.getRuntime().availableProcessors();
+        long chunkSize = args.length > 2 ? Long.parseLong(args[2]) : 1 << 20;
+        var template = new BoardGameModel().copyState();
+        Logger.info("Solving {} positions", new PositionIndexer(template).size());
+        new RetrogradeSolver(template, Path.of(args[0]), threads, chunkSize).solve();
+    }
+}
@@ -0,0 +1,64 @@
+package boardGame.Tablebase;
+
+import boardGame.BoardGameModel.BoardState;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+/**
+ * Class representing a solved tablebase read through memory mapping, every probe is a single byte lookup.
+ */
+public class Tablebase implements AutoCloseable {
+
+    private final TablebaseFile file;
+    private final PositionIndexer indexer;
+
+    private Tablebase(TablebaseFile file) {
+        this.file = file;
+        this.indexer = file.indexer();
+    }
+
+    /**
+     * Opens the solved tablebase file given for reading.
+     *
+     * @param path the path of the tablebase file
+     * @return the opened tablebase
+     * @throws IOException if the file cannot be read or is not a solved tablebase
+     */
+    public static Tablebase open(Path path) throws IOException {
+        var file = TablebaseFile.open(path, false);
+        if (!file.isSolved()) {
+            file.close();
+            throw new IOException("Tablebase is not solved yet: " + path);
+        }
+        return new Tablebase(file);
+    }
+
+    /**
+     * Returns the exact result of the position of the state given for its side to move.
+     *
+     * @param state the state to look up
+     * @return the result of the position
+     * @throws IllegalArgumentException if the tablebase was solved for another variant
+     */
+    public TablebaseValue probe(BoardState state) {
+        if (!file.matches(state)) {
+            throw new IllegalArgumentException();
+        }
+        return TablebaseValue.decode(file.get(indexer.canonicalIndex(state)));
+    }
+
+    /**
+     * Returns the number of positions stored in the tablebase.
+     *
+     * @return the number of positions
+     */
+    public long size() {
+        return file.positions();
+    }
+
+    @Override
+    public void close() throws IOException {
+        file.close();
+    }
+}
@@ -0,0 +1,134 @@
+package boardGame.Tablebase;
+
+import boardGame.BoardGameModel.BoardState;
+import boardGame.Stone.StoneColor;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Class representing a tablebase file mapped into memory, a fixed header describing the variant
+ * followed by one byte per position index. Files larger than a single mapping are mapped in segments.
+ */
+class TablebaseFile implements AutoCloseable {
+
+    static final int HEADER_BYTES = 64;
+
+    private static final int MAGIC = 0x53544231;
+    private static final int VERSION = 1;
+    private static final int SEGMENT_SHIFT = 30;
+    private static final long SEGMENT_MASK = (1L << SEGMENT_SHIFT) - 1;
+    private static final int SOLVED_OFFSET = 20;
+
+    private final FileChannel channel;
+    private final MappedByteBuffer header;
+    private final MappedByteBuffer[] segments;
+    private final long positions;
+
+    private TablebaseFile(FileChannel channel, FileChannel.MapMode mode, long positions) throws IOException {
+        this.channel = channel;
+        this.positions = positions;
+        this.header = channel.map(mode, 0, HEADER_BYTES);
+        this.segments = new MappedByteBuffer[(int) ((positions + SEGMENT_MASK) >>> SEGMENT_SHIFT)];
+        for (int i = 0; i < segments.length; i++) {
+            long offset = (long) i << SEGMENT_SHIFT;
+            segments[i] = channel.map(mode, HEADER_BYTES + offset, Math.min(SEGMENT_MASK + 1, positions - offset));
+        }
+    }
+
+    /**
+     * Creates a file of undecided positions for the variant of the template given, replacing any existing file.
+     */
+    static TablebaseFile create(Path path, BoardState template, long positions) throws IOException {
+        var channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+        var header = ByteBuffer.allocate(HEADER_BYTES);
+        header.putInt(MAGIC).putInt(VERSION).putInt(template.getSize())
+                .putInt(Long.bitCount(template.getOccupancy(StoneColor.BLUE)))
+                .putInt(Long.bitCount(template.getOccupancy(StoneColor.RED)))
+                .putInt(0)
+                .putLong(template.getGoals(StoneColor.BLUE))
+                .putLong(template.getGoals(StoneColor.RED))
+                .putLong(positions);
+        header.clear();
+        channel.write(header, 0);
+        if (positions > 0) {
+            channel.write(ByteBuffer.allocate(1), HEADER_BYTES + positions - 1);
+        }
+        return new TablebaseFile(channel, FileChannel.MapMode.READ_WRITE, positions);
+    }
+
+    /**
+     * Opens an existing file, for reading only or for reading and writing.
+     */
+    static TablebaseFile open(Path path, boolean writable) throws IOException {
+        var channel = writable
+                ? FileChannel.open(path, StandardOpenOption.READ, StandardOpenOption.WRITE)
+                : FileChannel.open(path, StandardOpenOption.READ);
+        var header = ByteBuffer.allocate(HEADER_BYTES);
+        channel.read(header, 0);
+        header.flip();
+        if (header.remaining() < HEADER_BYTES || header.getInt(0) != MAGIC || header.getInt(4) != VERSION) {
+            channel.close();
+            throw new IOException("Not a tablebase file: " + path);
+        }
+        var mode = writable ? FileChannel.MapMode.READ_WRITE : FileChannel.MapMode.READ_ONLY;
+        return new TablebaseFile(channel, mode, header.getLong(40));
+    }
+
+    /**
+     * Returns whether this file was written for the variant of the state given.
+     */
+    boolean matches(BoardState state) {
+        return header.getInt(8) == state.getSize()
+                && header.getInt(12) == Long.bitCount(state.getOccupancy(StoneColor.BLUE))
+                && header.getInt(16) == Long.bitCount(state.getOccupancy(StoneColor.RED))
+                && header.getLong(24) == state.getGoals(StoneColor.BLUE)
+                && header.getLong(32) == state.getGoals(StoneColor.RED);
+    }
+
+    /**
+     * Returns an indexer for the board and stone counts stored in the header.
+     */
+    PositionIndexer indexer() {
+        int size = header.getInt(8);
+        return new PositionIndexer(size * size, header.getInt(12), header.getInt(16));
+    }
+
+    boolean isSolved() {
+        return header.getInt(SOLVED_OFFSET) != 0;
+    }
+
+    void markSolved() {
+        force();
+        header.putInt(SOLVED_OFFSET, 1);
+        header.force();
+    }
+
+    long positions() {
+        return positions;
+    }
+
+    byte get(long index) {
+        return segments[(int) (index >>> SEGMENT_SHIFT)].get((int) (index & SEGMENT_MASK));
+    }
+
+    void put(long index, byte value) {
+        segments[(int) (index >>> SEGMENT_SHIFT)].put((int) (index & SEGMENT_MASK), value);
+    }
+
+    void force() {
+        for (var segment : segments) {
+            segment.force();
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+}
@@ -0,0 +1,62 @@
+package boardGame.Tablebase;
+
+/**
+ * Class extending the Record class that holds the exact result of a solved position
+ * for the side to move.
+ *
+ * @param outcome  whether the side to move wins, loses or draws with best play
+ * @param distance the number of plies until the game is won with best play, {@code 0} for a draw
+ */
+public record TablebaseValue(Outcome outcome, int distance) {
+
+    /**
+     * The result of a position with best play from both sides.
+     */
+    public enum Outcome {
+        WIN,
+        LOSS,
+        DRAW
+    }
+
+    /**
+     * The largest distance a stored value can hold.
+     */
+    public static final int MAX_DISTANCE = 126;
+
+    /**
+     * Returns the value of a stored byte, zero is a draw, {@code d + 1} a win in {@code d} plies
+     * and {@code -d - 1} a loss in {@code d} plies.
+     *
+     * @param code the stored byte
+     * @return the value of the position
+     */
+    public static TablebaseValue decode(byte code) {
+        if (code > 0) {
+            return new TablebaseValue(Outcome.WIN, code - 1);
+        }
+        if (code < 0) {
+            return new TablebaseValue(Outcome.LOSS, -code - 1);
+        }
+        return new TablebaseValue(Outcome.DRAW, 0);
+    }
+
+    /**
+     * Returns the byte storing a win in the number of plies given.
+     *
+     * @param distance the number of plies until the win
+     * @return the stored byte
+     */
+    static byte win(int distance) {
+        return (byte) (distance + 1);
+    }
+
+    /**
+     * Returns the byte storing a loss in the number of plies given.
+     *
+     * @param distance the number of plies until the loss
+     * @return the stored byte
+     */
+    static byte loss(int distance) {
+        return (byte) (-distance - 1);
+    }
+}
@@ -0,0 +1,4 @@
+/**
+ * Defines the retrograde solver and the tablebase of solved positions.
+ */
+package boardGame.Tablebase;
@@ -0,0 +1,44 @@
+package boardGame.Tournament;
+
+import boardGame.BoardGameModel.BoardGameModel;
+import boardGame.OpeningBook.OpeningBook;
+
+/**
+ * Class representing a player taking its moves from an {@link OpeningBook} while the position is in it,
+ * and asking another player once the game has left the book.
+ */
+public class BookPlayer implements Player {
+
+    /**
+     * The number of games a book move must have been played in when none is given.
+     */
+    public static final int DEFAULT_MIN_GAMES = 2;
+
+    private final OpeningBook book;
+    private final Player fallback;
+    private final int minGames;
+
+    /**
+     * Creates a player following the book given.
+     *
+     * @param book     the opening book to follow
+     * @param fallback the player choosing the moves out of the book
+     * @param minGames the number of games a book move must have been played in
+     */
+    public BookPlayer(OpeningBook book, Player fallback, int minGames) {
+        this.book = book;
+        this.fallback = fallback;
+        this.minGames = minGames;
+    }
+
+    @Override
+    public int chooseMove(BoardGameModel model) {
+        int move = book.bestMove(model.copyState(), minGames);
+        return move >= 0 ? move : fallback.chooseMove(model);
+    }
+
+    @Override
+    public void close() {
+        fallback.close();
+    }
+}
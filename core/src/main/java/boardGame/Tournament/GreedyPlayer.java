@@ -0,0 +1,50 @@
+package boardGame.Tournament;
+
+import boardGame.BoardGameModel.BoardGameModel;
+import boardGame.BoardGameModel.BoardState;
+import boardGame.Search.Evaluation;
+
+import java.util.SplittableRandom;
+
+/**
+ * Class representing a player choosing the move with the best static evaluation one ply ahead,
+ * ties are broken at random so that greedy games do not all repeat each other.
+ */
+public class GreedyPlayer implements Player {
+
+    private final SplittableRandom random;
+
+    /**
+     * Creates a greedy player breaking ties with the seed given.
+     *
+     * @param seed the seed of the tie breaks
+     */
+    public GreedyPlayer(long seed) {
+        this.random = new SplittableRandom(seed);
+    }
+
+    @Override
+    public int chooseMove(BoardGameModel model) {
+        var state = model.copyState();
+        var evaluation = new Evaluation(state);
+        var side = state.getSideToMove();
+        int[] moves = new int[state.getStoneCount() * 4];
+        int count = state.generateMoves(moves);
+        int best = -1;
+        int bestScore = Integer.MIN_VALUE;
+        int ties = 0;
+        for (int i = 0; i < count; i++) {
+            state.makeMove(moves[i]);
+            int score = state.hasWon(side) ? Evaluation.WIN : -evaluation.evaluate(state);
+            state.unmakeMove(moves[i]);
+            if (score > bestScore) {
+                bestScore = score;
+                best = moves[i];
+                ties = 1;
+            } else if (score == bestScore && random.nextInt(++ties) == 0) {
+                best = moves[i];
+            }
+        }
+        return best;
+    }
+}
@@ -0,0 +1,37 @@
+package boardGame.Tournament;
+
+import boardGame.BoardGameModel.BoardGameModel;
+import boardGame.Search.MonteCarloTreeSearch;
+
+/**
+ * Class representing a player choosing its moves with a {@link MonteCarloTreeSearch}.
+ */
+public class MonteCarloPlayer implements Player {
+
+    private final MonteCarloTreeSearch search;
+    private final long playouts;
+    private final long timeBudgetMillis;
+
+    /**
+     * Creates a player running the playouts given for each move, within the time budget given.
+     *
+     * @param search           the tree search choosing the moves
+     * @param playouts         the number of playouts of a move
+     * @param timeBudgetMillis the time budget of a move in milliseconds
+     */
+    public MonteCarloPlayer(MonteCarloTreeSearch search, long playouts, long timeBudgetMillis) {
+        this.search = search;
+        this.playouts = playouts;
+        this.timeBudgetMillis = timeBudgetMillis;
+    }
+
+    @Override
+    public int chooseMove(BoardGameModel model) {
+        return search.search(model, playouts, timeBudgetMillis).move();
+    }
+
+    @Override
+    public void close() {
+        search.close();
+    }
+}
@@ -0,0 +1,25 @@
+package boardGame.Tournament;
+
+import boardGame.BoardGameModel.BoardGameModel;
+
+/**
+ * Interface representing a player choosing the moves of the side to move without a user interface.
+ * A player is used by a single thread at a time, and is closed once its game is over.
+ */
+public interface Player extends AutoCloseable {
+
+    /**
+     * Returns the encoded move the player chooses for the side to move of the model given.
+     *
+     * @param model the board game model to play, it is left unchanged
+     * @return the encoded move, or {@code -1} if the side to move has no valid move
+     */
+    int chooseMove(BoardGameModel model);
+
+    /**
+     * Releases the threads of the player, nothing happens by default.
+     */
+    @Override
+    default void close() {
+    }
+}
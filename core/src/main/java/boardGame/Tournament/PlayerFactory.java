@@ -0,0 +1,88 @@
+package boardGame.Tournament;
+
+import boardGame.OpeningBook.OpeningBook;
+import boardGame.Search.MonteCarloTreeSearch;
+import boardGame.Search.SearchEngine;
+import boardGame.Search.TranspositionTable;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+/**
+ * Interface representing a way of creating a fresh player for each game of a tournament.
+ */
+@FunctionalInterface
+public interface PlayerFactory {
+
+    /**
+     * The memory budget of the transposition table of a search player.
+     */
+    long SEARCH_TABLE_BYTES = 4L << 20;
+
+    /**
+     * The time budget of a Monte Carlo move when none is given.
+     */
+    long DEFAULT_MONTE_CARLO_MILLIS = 10_000;
+
+    /**
+     * Returns a new player for a single game.
+     *
+     * @param seed the seed of any randomness of the player
+     * @return a new player
+     */
+    Player create(long seed);
+
+    /**
+     * Returns the factory of the players described by the specification given, which is one of
+     * {@code random}, {@code greedy}, {@code search:<millis>[:<depth>[:<threads>]]},
+     * {@code mcts:<playouts>[:<millis>[:<threads>]]} or {@code book:<file>:<specification>}, the last following
+     * the opening book file given and playing as the player specified out of the book. The search players
+     * search each move with the number of threads given, one by default. The book is opened once and shared
+     * by all the players.
+     *
+     * @param specification the description of the players
+     * @return the factory of the players
+     * @throws IllegalArgumentException if the specification is not recognised
+     */
+    static PlayerFactory parse(String specification) {
+        var parts = specification.split(":");
+        try {
+            switch (parts[0]) {
+                case "random":
+                    return RandomPlayer::new;
+                case "greedy":
+                    return GreedyPlayer::new;
+                case "search": {
+                    long millis = Long.parseLong(parts[1]);
+                    int depth = parts.length > 2 ? Integer.parseInt(parts[2]) : SearchEngine.MAX_DEPTH;
+                    int threads = parts.length > 3 ? Integer.parseInt(parts[3]) : 1;
+                    if (millis <= 0 || depth < 1 || depth > SearchEngine.MAX_DEPTH || threads < 1) {
+                        throw new IllegalArgumentException(specification);
+                    }
+                    return seed -> new SearchPlayer(
+                            new SearchEngine(millis, depth, new TranspositionTable(SEARCH_TABLE_BYTES), threads));
+                }
+                case "mcts": {
+                    long playouts = Long.parseLong(parts[1]);
+                    long millis = parts.length > 2 ? Long.parseLong(parts[2]) : DEFAULT_MONTE_CARLO_MILLIS;
+                    int threads = parts.length > 3 ? Integer.parseInt(parts[3]) : 1;
+                    if (playouts < 1 || millis <= 0 || threads < 1) {
+                        throw new IllegalArgumentException(specification);
+                    }
+                    int capacity = (int) Math.min(1 << 22, playouts * 8 + 1024);
+                    return seed -> new MonteCarloPlayer(new MonteCarloTreeSearch(threads, capacity), playouts, millis);
+                }
+                case "book": {
+                    var fallback = parse(specification.substring(parts[0].length() + parts[1].length() + 2));
+                    var book = OpeningBook.open(Path.of(parts[1]));
+                    return seed -> new BookPlayer(book, fallback.create(seed), BookPlayer.DEFAULT_MIN_GAMES);
+                }
+                default:
+                    throw new IllegalArgumentException(specification);
+            }
+        } catch (ArrayIndexOutOfBoundsException | StringIndexOutOfBoundsException | NumberFormatException
+                 | IOException e) {
+            throw new IllegalArgumentException(specification, e);
+        }
+    }
+}
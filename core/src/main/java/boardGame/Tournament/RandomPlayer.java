@@ -0,0 +1,32 @@
+package boardGame.Tournament;
+
+import boardGame.BoardGameModel.BoardGameModel;
+
+import java.util.SplittableRandom;
+
+/**
+ * Class representing a player choosing uniformly among the valid moves.
+ */
+public class RandomPlayer implements Player {
+
+    private final SplittableRandom random;
+    private int[] moves = new int[0];
+
+    /**
+     * Creates a random player drawing from the seed given.
+     *
+     * @param seed the seed of the random moves
+     */
+    public RandomPlayer(long seed) {
+        this.random = new SplittableRandom(seed);
+    }
+
+    @Override
+    public int chooseMove(BoardGameModel model) {
+        if (moves.length < model.getStoneCount() * 4) {
+            moves = new int[model.getStoneCount() * 4];
+        }
+        int count = model.generateMoves(moves);
+        return count == 0 ? -1 : moves[random.nextInt(count)];
+    }
+}
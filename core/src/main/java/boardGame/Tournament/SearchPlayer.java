@@ -0,0 +1,31 @@
+package boardGame.Tournament;
+
+import boardGame.BoardGameModel.BoardGameModel;
+import boardGame.Search.SearchEngine;
+
+/**
+ * Class representing a player choosing its moves with an alpha-beta {@link SearchEngine}.
+ */
+public class SearchPlayer implements Player {
+
+    private final SearchEngine engine;
+
+    /**
+     * Creates a player searching with the engine given.
+     *
+     * @param engine the search engine choosing the moves
+     */
+    public SearchPlayer(SearchEngine engine) {
+        this.engine = engine;
+    }
+
+    @Override
+    public int chooseMove(BoardGameModel model) {
+        return engine.search(model).move();
+    }
+
+    @Override
+    public void close() {
+        engine.close();
+    }
+}
@@ -0,0 +1,150 @@
+package boardGame.Tournament;
+
+import boardGame.BoardGameModel.BoardGameModel;
+import boardGame.BoardGameModel.BoardState;
+import boardGame.BoardGameModel.DrawRule;
+import boardGame.Metrics.Metrics;
+import boardGame.Stone.StoneColor;
+
+import java.util.ArrayList;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Class representing a headless self-play tournament between two kinds of players.
+ * Games are played in parallel on a thread pool, each game on its own {@link BoardGameModel}
+ * with fresh players closed once it is over, and the players swap colors from one game to the next.
+ * A game ends when the side that just moved has won, when the side to move has no valid move,
+ * which is a draw, or when the ply limit is reached, which is also a draw.
+ */
+public class Tournament {
+
+    /**
+     * The number of plies after which a game is scored as a draw when no limit is given.
+     */
+    public static final int DEFAULT_MAX_PLIES = 200;
+
+    private final PlayerFactory first;
+    private final PlayerFactory second;
+    private final int threads;
+    private final int maxPlies;
+
+    private record Game(StoneColor winner, int plies) {
+    }
+
+    /**
+     * Creates a tournament between the players of the factories given.
+     *
+     * @param first    the factory of the first player, who plays blue in the even games
+     * @param second   the factory of the second player, who plays blue in the odd games
+     * @param threads  the number of games played in parallel
+     * @param maxPlies the number of plies after which a game is a draw, a game repeating a position
+     *                 for the third time is a draw as well
+     */
+    public Tournament(PlayerFactory first, PlayerFactory second, int threads, int maxPlies) {
+        if (threads < 1 || maxPlies < 1) {
+            throw new IllegalArgumentException();
+        }
+        this.first = first;
+        this.second = second;
+        this.threads = threads;
+        this.maxPlies = maxPlies;
+    }
+
+    /**
+     * Plays the number of games given and returns the results.
+     *
+     * @param games the number of games to play
+     * @return the win rates, the game lengths and the throughput
+     */
+    public TournamentResult play(int games) {
+        if (games < 0) {
+            throw new IllegalArgumentException();
+        }
+        long start = System.nanoTime();
+        var pool = Executors.newFixedThreadPool(threads);
+        try {
+            var results = new ArrayList<Future<Game>>(games);
+            for (int i = 0; i < games; i++) {
+                int game = i;
+                results.add(pool.submit(() -> playGame(game)));
+            }
+            int firstWins = 0;
+            int secondWins = 0;
+            int draws = 0;
+            long plies = 0;
+            for (int i = 0; i < games; i++) {
+                var game = get(results.get(i));
+                var firstColor = i % 2 == 0 ? StoneColor.BLUE : StoneColor.RED;
+                if (game.winner() == null) {
+                    draws++;
+                } else if (game.winner() == firstColor) {
+                    firstWins++;
+                } else {
+                    secondWins++;
+                }
+                plies += game.plies();
+            }
+            return new TournamentResult(games, firstWins, secondWins, draws, plies, System.nanoTime() - start);
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    private Game playGame(int game) {
+        try (var firstPlayer = first.create(2L * game); var secondPlayer = second.create(2L * game + 1)) {
+            var blue = game % 2 == 0 ? firstPlayer : secondPlayer;
+            var red = game % 2 == 0 ? secondPlayer : firstPlayer;
+            var model = new BoardGameModel();
+            model.setDrawRule(new DrawRule(DrawRule.DEFAULT.repetitions(), maxPlies));
+            while (!model.getResult().isOver()) {
+                var player = model.getSideToMove() == StoneColor.BLUE ? blue : red;
+                int move = player.chooseMove(model);
+                model.move(BoardState.moveStone(move), BoardState.moveDirection(move));
+            }
+            return new Game(model.getResult().getWinner(), model.getPlyCount());
+        }
+    }
+
+    private static Game get(Future<Game> result) {
+        try {
+            return result.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
+    /**
+     * Plays a tournament and prints its results.
+     * Usage: {@code Tournament <games> <first> <second> [threads] [maxPlies]}, where the players are
+     * given as described in {@link PlayerFactory#parse(String)}.
+     *
+     * @param args the number of games, the two players, the number of threads and the ply limit
+     */
+    public static void main(String[] args) {
+        if (args.length < 3) {
+            System.err.println("Usage: Tournament <games> <first> <second> [threads] [maxPlies]");
+            System.exit(1);
+        }
+        int games = Integer.parseInt(args[0]);
+        int threads = args.length > 3 ? Integer.parseInt(args[3]) : Runtime.getRuntime().availableProcessors();
+        int maxPlies = args.length > 4 ? Integer.parseInt(args[4]) : DEFAULT_MAX_PLIES;
+        var tournament = new Tournament(PlayerFactory.parse(args[1]), PlayerFactory.parse(args[2]), threads, maxPlies);
+        Metrics.GLOBAL.start();
+        var result = tournament.play(games);
+        System.out.printf("%s vs %s, %d games on %d threads%n", args[1], args[2], games, threads);
+        System.out.println("| player | wins | win rate |");
+        System.out.println("|---|---|---|");
+        System.out.printf("| %s | %d | %.1f%% |%n", args[1], result.firstWins(), 100 * result.firstWinRate());
+        System.out.printf("| %s | %d | %.1f%% |%n", args[2], result.secondWins(), 100 * result.secondWinRate());
+        System.out.printf("| draw | %d | %.1f%% |%n", result.draws(), 100 * result.drawRate());
+        System.out.printf("average length %.1f plies, %.1f games/s%n", result.averageLength(), result.gamesPerSecond());
+        if (Metrics.ENABLED) {
+            System.out.print(Metrics.GLOBAL.format());
+        }
+    }
+}
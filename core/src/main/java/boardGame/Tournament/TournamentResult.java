@@ -0,0 +1,70 @@
+package boardGame.Tournament;
+
+/**
+ * Class extending the Record class that holds the outcome of a tournament between two players.
+ *
+ * @param games        the number of games played
+ * @param firstWins    the number of games won by the first player
+ * @param secondWins   the number of games won by the second player
+ * @param draws        the number of games without a winner
+ * @param plies        the total number of plies played
+ * @param elapsedNanos the time spent playing in nanoseconds
+ */
+public record TournamentResult(int games, int firstWins, int secondWins, int draws, long plies, long elapsedNanos) {
+
+    /**
+     * Returns the share of the games won by the first player.
+     *
+     * @return the win rate of the first player
+     */
+    public double firstWinRate() {
+        return games == 0 ? 0 : (double) firstWins / games;
+    }
+
+    /**
+     * Returns the share of the games won by the second player.
+     *
+     * @return the win rate of the second player
+     */
+    public double secondWinRate() {
+        return games == 0 ? 0 : (double) secondWins / games;
+    }
+
+    /**
+     * Returns the share of the games without a winner.
+     *
+     * @return the draw rate
+     */
+    public double drawRate() {
+        return games == 0 ? 0 : (double) draws / games;
+    }
+
+    /**
+     * Returns the average number of plies of a game.
+     *
+     * @return the average game length in plies
+     */
+    public double averageLength() {
+        return games == 0 ? 0 : (double) plies / games;
+    }
+
+    /**
+     * Returns the number of games finished per second.
+     *
+     * @return the throughput in games per second
+     */
+    public double gamesPerSecond() {
+        return elapsedNanos == 0 ? 0 : games * 1e9 / elapsedNanos;
+    }
+
+    /**
+     * Returns a string of the win rates and the throughput.
+     *
+     * @return a string of the win rates and the throughput
+     */
+    public String toString() {
+        return String.format("games=%d first=%.1f%% second=%.1f%% draws=%.1f%% length=%.1f games/s=%.1f",
+                games, 100 * firstWinRate(), 100 * secondWinRate(), 100 * drawRate(), averageLength(),
+                gamesPerSecond());
+    }
+}
@@ -0,0 +1,4 @@
+/**
+ * Defines the headless players and the self-play tournament runner.
+ */
+package boardGame.Tournament;
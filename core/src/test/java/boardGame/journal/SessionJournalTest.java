@@ -0,0 +1,169 @@
+package boardGame.journal;
+
+import boardGame.GameSessionInformation.GameSessionInformation;
+import boardGame.Journal.JournalEntry;
+import boardGame.Journal.SessionJournal;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SessionJournalTest {
+
+    @TempDir
+    Path directory;
+
+    private static GameSessionInformation session(String first, String second) {
+        var information = new GameSessionInformation();
+        information.setZonedDateTime("10/17/2026 - 12:00:00 UTC");
+        information.setFirstPlayerName(first);
+        information.setSecondPlayerName(second);
+        return information;
+    }
+
+    @Test
+    void findByPlayer() throws Exception {
+        try (var journal = SessionJournal.open(directory)) {
+            journal.appendSession(session("Alice", "Bob"));
+            journal.appendSession(session("Carol", "Alice"));
+            journal.appendResult(session("Carol", "Alice"), "RED won").get();
+
+            var entries = journal.findByPlayer("Alice");
+            assertEquals(3, entries.size());
+            assertEquals(JournalEntry.Type.RESULT, entries.get(2).type());
+            assertEquals("RED won", entries.get(2).result());
+            assertEquals(session("Carol", "Alice"), entries.get(1).sessionInformation());
+            assertEquals(1, journal.findByPlayer("Bob").size());
+            assertTrue(journal.findByPlayer("Dave").isEmpty());
+        }
+    }
+
+    @Test
+    void findBetween() throws Exception {
+        try (var journal = SessionJournal.open(directory)) {
+            var first = journal.appendSession(session("Alice", "Bob")).get();
+            Thread.sleep(5);
+            var second = journal.appendSession(session("Carol", "Dave")).get();
+
+            assertTrue(first.timeMillis() < second.timeMillis());
+            assertEquals(2, journal.findBetween(first.timeMillis(), second.timeMillis() + 1).size());
+            assertEquals(List.of(second), journal.findBetween(first.timeMillis() + 1, Long.MAX_VALUE));
+            assertTrue(journal.findBetween(0, first.timeMillis()).isEmpty());
+        }
+    }
+
+    @Test
+    void open_restoresTheIndex() throws Exception {
+        try (var journal = SessionJournal.open(directory, 256)) {
+            for (int i = 0; i < 20; i++) {
+                journal.appendSession(session("Player" + i % 3, "Other"));
+            }
+        }
+        try (var journal = SessionJournal.open(directory, 256)) {
+            assertEquals(20, journal.size());
+            assertEquals(7, journal.findByPlayer("Player0").size());
+            var entry = journal.appendSession(session("Player0", "Other")).get();
+            assertEquals(20, entry.sequence());
+        }
+        try (var files = Files.list(directory)) {
+            assertTrue(files.count() > 1);
+        }
+    }
+
+    @Test
+    void open_cutsOffATornEntry() throws Exception {
+        try (var journal = SessionJournal.open(directory)) {
+            journal.appendSession(session("Alice", "Bob"));
+            journal.appendSession(session("Carol", "Dave")).get();
+        }
+        var segment = directory.resolve("segment-00000000.log");
+        try (var channel = FileChannel.open(segment, StandardOpenOption.WRITE)) {
+            channel.truncate(channel.size() - 3);
+        }
+        try (var journal = SessionJournal.open(directory)) {
+            assertEquals(1, journal.size());
+            assertEquals(1, journal.appendSession(session("Carol", "Dave")).get().sequence());
+            assertEquals(2, journal.findBetween(0, Long.MAX_VALUE).size());
+        }
+    }
+
+    @Test
+    void append_batchesConcurrentWrites() throws Exception {
+        try (var journal = SessionJournal.open(directory)) {
+            var futures = new ArrayList<CompletableFuture<JournalEntry>>();
+            for (int i = 0; i < 500; i++) {
+                futures.add(journal.appendSession(session("Alice", "Bob")));
+            }
+            CompletableFuture.allOf(futures.toArray(new CompletableFuture[0])).get();
+
+            assertEquals(500, journal.findByPlayer("Bob").size());
+            assertTrue(journal.getSyncCount() < 500);
+        }
+    }
+
+    @Test
+    void append_failedBatchLeavesNothingOnDisk() throws Exception {
+        var acknowledged = new ArrayList<JournalEntry>();
+        try (var journal = SessionJournal.open(directory, 200)) {
+            acknowledged.add(journal.appendSession(session("Alice", "Bob")).get());
+            var blocker = Files.createDirectory(directory.resolve("segment-00000001.log"));
+            var futures = new ArrayList<CompletableFuture<JournalEntry>>();
+            for (int i = 0; i < 5; i++) {
+                futures.add(journal.appendSession(session("Carol", "Dave")));
+            }
+            int failures = 0;
+            for (var future : futures) {
+                try {
+                    acknowledged.add(future.get());
+                } catch (ExecutionException e) {
+                    failures++;
+                }
+            }
+            assertTrue(failures > 0);
+
+            Files.delete(blocker);
+            acknowledged.add(journal.appendSession(session("Erin", "Frank")).get());
+            acknowledged.add(journal.appendSession(session("Erin", "Frank")).get());
+            assertEquals(acknowledged, journal.findBetween(0, Long.MAX_VALUE));
+        }
+        try (var journal = SessionJournal.open(directory, 200)) {
+            var entries = journal.findBetween(0, Long.MAX_VALUE);
+            assertEquals(acknowledged, entries);
+            for (int i = 0; i < entries.size(); i++) {
+                assertEquals(i, entries.get(i).sequence());
+            }
+        }
+    }
+
+    @Test
+    void append_rejectsStringsTooLongToJournal() throws Exception {
+        try (var journal = SessionJournal.open(directory)) {
+            var first = journal.appendSession(session("Alice", "Bob"));
+            var tooLong = journal.appendResult(session("\u20ac".repeat(21_846), "Bob"), "DRAW");
+            var longest = journal.appendSession(session("\u00e9".repeat(32_767) + "a", "Bob"));
+            var last = journal.appendResult(session("Alice", "Bob"), "DRAW");
+
+            var failure = assertThrows(ExecutionException.class, tooLong::get);
+            assertInstanceOf(IllegalArgumentException.class, failure.getCause());
+            assertEquals(List.of(first.get(), longest.get(), last.get()), journal.findByPlayer("Bob"));
+        }
+    }
+
+    @Test
+    void append_afterClose() throws IOException {
+        var journal = SessionJournal.open(directory);
+        journal.close();
+
+        assertTrue(journal.appendSession(session("Alice", "Bob")).isCompletedExceptionally());
+    }
+}
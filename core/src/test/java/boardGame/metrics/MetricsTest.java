@@ -0,0 +1,68 @@
+package boardGame.metrics;
+
+import boardGame.Metrics.LatencyHistogram;
+import boardGame.Metrics.Metrics;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MetricsTest {
+
+    @Test
+    void histogram_percentiles() {
+        var histogram = new LatencyHistogram();
+        for (int value = 1; value <= 1000; value++) {
+            histogram.record(value * 1000L);
+        }
+
+        assertEquals(1000, histogram.getCount());
+        assertEquals(1_000_000, histogram.getMax());
+        assertEquals(500_500, histogram.getMean(), 1e-6);
+        assertEquals(500_000, histogram.getPercentile(0.5), 500_000 / 32.0);
+        assertEquals(990_000, histogram.getPercentile(0.99), 990_000 / 32.0);
+        assertEquals(1_000_000, histogram.getPercentile(1));
+        assertThrows(IllegalArgumentException.class, () -> histogram.getPercentile(1.5));
+    }
+
+    @Test
+    void histogram_smallAndLargeValues() {
+        var histogram = new LatencyHistogram();
+        histogram.record(-5);
+        histogram.record(7);
+        histogram.record(Long.MAX_VALUE);
+
+        assertEquals(0, histogram.getPercentile(0.3));
+        assertEquals(7, histogram.getPercentile(0.6));
+        assertEquals(Long.MAX_VALUE, histogram.getPercentile(1));
+
+        histogram.reset();
+        assertEquals(0, histogram.getCount());
+        assertEquals(0, histogram.getPercentile(0.5));
+    }
+
+    @Test
+    void metrics() {
+        var metrics = new Metrics();
+        metrics.moveApplied(100);
+        metrics.moveApplied(300);
+        metrics.illegalMoveAttempted();
+        metrics.searchFinished(5_000, 1_000_000, 40, 10);
+        metrics.sessionStarted();
+        metrics.sessionStarted();
+        metrics.sessionEnded();
+
+        assertEquals(2, metrics.getMovesApplied());
+        assertEquals(1, metrics.getIllegalMoveAttempts());
+        assertEquals(300, metrics.getMoveLatencyMaxNanos());
+        assertEquals(1, metrics.getSearches());
+        assertEquals(5_000_000, metrics.getSearchNodesPerSecond(), 1e-6);
+        assertEquals(0.25, metrics.getTranspositionHitRate(), 1e-9);
+        assertEquals(1, metrics.getActiveSessions());
+        assertTrue(metrics.format().contains("moves.applied 2\n"));
+
+        metrics.reset();
+        assertEquals(0, metrics.getMovesApplied());
+        assertEquals(0, metrics.getTranspositionHitRate());
+        assertEquals(1, metrics.getActiveSessions());
+    }
+}
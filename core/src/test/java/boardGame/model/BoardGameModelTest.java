@@ -0,0 +1,317 @@
+package boardGame.model;
+
+import boardGame.BoardGameModel.BoardChangeListener;
+import boardGame.BoardGameModel.BoardChanged;
+import boardGame.BoardGameModel.BoardGameModel;
+import boardGame.BoardGameModel.BoardLayout;
+import boardGame.BoardGameModel.BoardState;
+import boardGame.BoardGameModel.DrawRule;
+import boardGame.BoardGameModel.GameResult;
+import boardGame.Movement.Position;
+import boardGame.Stone.Stone;
+import boardGame.Stone.StoneColor;
+import boardGame.Stone.StoneDirection;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.OptionalInt;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BoardGameModelTest {
+
+    BoardGameModel state1 = new BoardGameModel();
+
+
+    @Test
+    void getStoneCount() {
+        assertEquals(14, state1.getStoneCount());
+        assertNotEquals(1, state1.getStoneCount());
+    }
+
+    @Test
+    void getStoneColor() {
+        assertEquals(StoneColor.BLUE, state1.getStoneColor(1));
+        assertNotEquals(StoneColor.RED, state1.getStoneColor(1));
+        assertEquals(StoneColor.RED, state1.getStoneColor(13));
+        assertNotEquals(StoneColor.BLUE, state1.getStoneColor(13));
+    }
+
+    @Test
+    void getStonePosition() {
+        assertEquals(new Position(0, 0), state1.getStonePosition(1));
+        assertNotEquals(new Position(1, 0), state1.getStonePosition(1));
+        assertEquals(new Position(4, 0), state1.getStonePosition(8));
+        assertNotEquals(new Position(4, 0), state1.getStonePosition(13));
+    }
+
+    @Test
+    void isValidMove() {
+        assertTrue(state1.isValidMove(3, StoneDirection.DOWN_DIAGONAL_RIGHT));
+        assertTrue(state1.isValidMove(3, StoneDirection.DOWN_DIAGONAL_LEFT));
+        assertTrue(state1.isValidMove(13, StoneDirection.UP_DIAGONAL_LEFT));
+        assertFalse(state1.isValidMove(13, StoneDirection.UP_DIAGONAL_RIGHT));
+        assertFalse(state1.isValidMove(7, StoneDirection.UP_DIAGONAL_LEFT));
+    }
+
+    @Test
+    void getValidMoves() {
+        assertEquals(EnumSet.of(StoneDirection.DOWN_DIAGONAL_RIGHT, StoneDirection.DOWN_DIAGONAL_LEFT),
+                state1.getValidMoves(3));
+        assertNotEquals(EnumSet.of(StoneDirection.UP_DIAGONAL_RIGHT, StoneDirection.UP_DIAGONAL_LEFT),
+                state1.getValidMoves(3));
+    }
+
+    @Test
+    void getBluePositions() {
+        assertEquals("[(1,0), (0,0), (0,1), (0,2), (0,3), (0,4), (1,4)]", state1.getBluePositions().toString());
+        assertNotEquals("[(3,0), (4,0), (4,1), (4,2), (4,3), (4,4), (3,4)]", state1.getBluePositions().toString());
+    }
+
+    @Test
+    void getRedPositions() {
+        assertEquals("[(3,0), (4,0), (4,1), (4,2), (4,3), (4,4), (3,4)]", state1.getRedPositions().toString());
+        assertNotEquals("[(1,0), (0,0), (0,1), (0,2), (0,3), (0,4), (1,4)]", state1.getRedPositions().toString());
+    }
+
+    @Test
+    void getBlueStoneNumber() {
+        assertEquals(OptionalInt.of(1), state1.getBlueStoneNumber(new Position(0, 0)));
+        assertEquals(OptionalInt.empty(), state1.getBlueStoneNumber(new Position(4, 3)));
+        assertNotEquals(OptionalInt.of(1), state1.getBlueStoneNumber(new Position(0, 4)));
+    }
+
+    @Test
+    void getRedStoneNumber() {
+        assertEquals(OptionalInt.of(11), state1.getRedStoneNumber(new Position(4, 3)));
+        assertEquals(OptionalInt.empty(), state1.getRedStoneNumber(new Position(0, 0)));
+        assertNotEquals(OptionalInt.of(11), state1.getRedStoneNumber(new Position(4, 1)));
+    }
+
+    @Test
+    void getResult() {
+        var model = new BoardGameModel(new Stone(StoneColor.BLUE, new Position(0, 0)),
+                new Stone(StoneColor.RED, new Position(4, 4)));
+        assertEquals(GameResult.IN_PROGRESS, model.getResult());
+        model.move(0, StoneDirection.DOWN_DIAGONAL_RIGHT);
+        model.move(1, StoneDirection.UP_DIAGONAL_LEFT);
+        model.move(0, StoneDirection.DOWN_DIAGONAL_RIGHT);
+        model.move(1, StoneDirection.UP_DIAGONAL_RIGHT);
+        assertFalse(model.getResult().isOver());
+        model.move(0, StoneDirection.DOWN_DIAGONAL_RIGHT);
+        model.move(1, StoneDirection.UP_DIAGONAL_LEFT);
+        assertFalse(model.hasWon(StoneColor.BLUE));
+        model.move(0, StoneDirection.DOWN_DIAGONAL_RIGHT);
+        assertEquals(GameResult.BLUE_WON, model.getResult());
+        assertTrue(model.hasWon(StoneColor.BLUE));
+    }
+
+    @Test
+    void getResult_repetition() {
+        var model = new BoardGameModel();
+        for (int i = 0; i < 2; i++) {
+            assertEquals(GameResult.IN_PROGRESS, model.getResult());
+            model.move(3, StoneDirection.DOWN_DIAGONAL_RIGHT);
+            model.move(10, StoneDirection.UP_DIAGONAL_RIGHT);
+            model.move(3, StoneDirection.UP_DIAGONAL_LEFT);
+            model.move(10, StoneDirection.DOWN_DIAGONAL_LEFT);
+        }
+        assertEquals(3, model.getRepetitionCount());
+        assertEquals(GameResult.DRAW, model.getResult());
+        model.undo();
+        assertEquals(GameResult.IN_PROGRESS, model.getResult());
+        model.redo();
+        model.setDrawRule(DrawRule.NONE);
+        assertEquals(GameResult.IN_PROGRESS, model.getResult());
+        model.setDrawRule(new DrawRule(0, 8));
+        assertEquals(8, model.getPlyCount());
+        assertEquals(GameResult.DRAW, model.getResult());
+        assertThrows(IllegalArgumentException.class, () -> new DrawRule(1, 0));
+    }
+
+    @Test
+    void makeMove_unmakeMove() {
+        var model = new BoardGameModel();
+        var before = model.toString();
+        int move = BoardState.encodeMove(3, StoneDirection.DOWN_DIAGONAL_RIGHT);
+        model.makeMove(move);
+        assertEquals(new Position(1, 3), model.getStonePosition(3));
+        assertEquals(StoneColor.RED, model.getSideToMove());
+        assertThrows(IllegalArgumentException.class,
+                () -> model.unmakeMove(BoardState.encodeMove(2, StoneDirection.DOWN_DIAGONAL_RIGHT)));
+        model.unmakeMove(move);
+        assertEquals(before, model.toString());
+        assertEquals(state1.getHash(), model.getHash());
+        assertFalse(model.canUndo());
+        assertThrows(IllegalArgumentException.class,
+                () -> model.makeMove(BoardState.encodeMove(3, StoneDirection.UP_DIAGONAL_LEFT)));
+    }
+
+    @Test
+    void makeMove_rejectsTheStonesOfTheSideNotToMove() {
+        var model = new BoardGameModel();
+        assertTrue(model.isValidMove(9, StoneDirection.UP_DIAGONAL_RIGHT));
+        assertThrows(IllegalArgumentException.class, () -> model.move(9, StoneDirection.UP_DIAGONAL_RIGHT));
+        assertEquals(state1.getHash(), model.getHash());
+        model.move(3, StoneDirection.DOWN_DIAGONAL_RIGHT);
+        assertThrows(IllegalArgumentException.class, () -> model.move(3, StoneDirection.DOWN_DIAGONAL_RIGHT));
+        model.move(9, StoneDirection.UP_DIAGONAL_RIGHT);
+        assertEquals(2, model.getPlyCount());
+    }
+
+    @Test
+    void boardChangeListener() {
+        var model = new BoardGameModel();
+        var events = new ArrayList<BoardChanged>();
+        BoardChangeListener listener = events::add;
+        model.addBoardChangeListener(listener);
+        model.move(3, StoneDirection.DOWN_DIAGONAL_RIGHT);
+        model.undo();
+        model.removeBoardChangeListener(listener);
+        model.redo();
+
+        assertEquals(List.of(
+                new BoardChanged(List.of(new BoardChanged.StoneChange(3, new Position(0, 2), new Position(1, 3)))),
+                new BoardChanged(List.of(new BoardChanged.StoneChange(3, new Position(1, 3), new Position(0, 2))))),
+                events);
+    }
+
+    @Test
+    void batch() {
+        var model = new BoardGameModel();
+        var events = new ArrayList<BoardChanged>();
+        model.addBoardChangeListener(events::add);
+        model.beginBatch();
+        model.move(3, StoneDirection.DOWN_DIAGONAL_RIGHT);
+        model.move(9, StoneDirection.UP_DIAGONAL_RIGHT);
+        model.beginBatch();
+        model.move(3, StoneDirection.DOWN_DIAGONAL_RIGHT);
+        model.move(10, StoneDirection.UP_DIAGONAL_RIGHT);
+        model.undo();
+        model.endBatch();
+        assertTrue(events.isEmpty());
+        model.endBatch();
+
+        assertEquals(List.of(new BoardChanged(List.of(
+                new BoardChanged.StoneChange(3, new Position(0, 2), new Position(2, 4)),
+                new BoardChanged.StoneChange(9, new Position(4, 1), new Position(3, 2))))), events);
+        assertThrows(IllegalStateException.class, model::endBatch);
+
+        model.beginBatch();
+        model.undo();
+        model.redo();
+        model.endBatch();
+        assertEquals(1, events.size());
+    }
+
+    @Test
+    void undo_redo() {
+        var model = new BoardGameModel();
+        var before = model.toString();
+        model.move(3, StoneDirection.DOWN_DIAGONAL_RIGHT);
+        model.move(9, StoneDirection.UP_DIAGONAL_RIGHT);
+        var after = model.toString();
+        var position = new Position[1];
+        model.addBoardChangeListener(event -> {
+            for (var change : event.changes()) {
+                if (change.stoneNumber() == 9) {
+                    position[0] = change.to();
+                }
+            }
+        });
+
+        assertEquals(BoardState.encodeMove(9, StoneDirection.UP_DIAGONAL_RIGHT), model.undo());
+        assertEquals(new Position(4, 1), position[0]);
+        model.undo();
+        assertEquals(before, model.toString());
+        assertFalse(model.canUndo());
+        assertThrows(IllegalStateException.class, model::undo);
+
+        model.redo();
+        model.redo();
+        assertEquals(after, model.toString());
+        assertEquals(new Position(3, 2), position[0]);
+        assertFalse(model.canRedo());
+
+        model.undo();
+        model.move(10, StoneDirection.UP_DIAGONAL_RIGHT);
+        assertFalse(model.canRedo());
+    }
+
+    @Test
+    void unmakeMove_forgetsTheUndoneMoves() {
+        var model = new BoardGameModel();
+        int move = BoardState.encodeMove(3, StoneDirection.DOWN_DIAGONAL_RIGHT);
+        model.makeMove(move);
+        model.move(9, StoneDirection.UP_DIAGONAL_RIGHT);
+        model.undo();
+        assertTrue(model.canRedo());
+        model.unmakeMove(move);
+        assertFalse(model.canRedo());
+        assertThrows(IllegalStateException.class, model::redo);
+        assertEquals(state1.getHash(), model.getHash());
+    }
+
+    @Test
+    void undo_keepsTheLastMoves() {
+        var model = new BoardGameModel();
+        var moves = new int[]{
+                BoardState.encodeMove(3, StoneDirection.DOWN_DIAGONAL_RIGHT),
+                BoardState.encodeMove(9, StoneDirection.UP_DIAGONAL_RIGHT),
+                BoardState.encodeMove(3, StoneDirection.UP_DIAGONAL_LEFT),
+                BoardState.encodeMove(9, StoneDirection.DOWN_DIAGONAL_LEFT)};
+        for (int i = 0; i < BoardGameModel.HISTORY_LIMIT + 10; i++) {
+            model.makeMove(moves[i % moves.length]);
+        }
+        int undone = 0;
+        while (model.canUndo()) {
+            model.undo();
+            undone++;
+        }
+        assertEquals(BoardGameModel.HISTORY_LIMIT, undone);
+    }
+
+    @Test
+    void largeBoard() {
+        var model = new BoardGameModel(new BoardLayout(64, 4));
+        assertEquals(64, model.getSize());
+        assertEquals(516, model.getStoneCount());
+        assertEquals(new Position(4, 0), model.getStonePosition(0));
+        assertEquals(new Position(63, 0), model.getStonePosition(259));
+        assertTrue(model.isValidMove(0, StoneDirection.DOWN_DIAGONAL_RIGHT));
+        assertFalse(model.isValidMove(1, StoneDirection.DOWN_DIAGONAL_RIGHT));
+        assertEquals(OptionalInt.of(200), model.getBlueStoneNumber(model.getStonePosition(200)));
+        assertEquals(OptionalInt.empty(), model.getRedStoneNumber(model.getStonePosition(200)));
+        model.move(0, StoneDirection.DOWN_DIAGONAL_RIGHT);
+        assertEquals(OptionalInt.of(0), model.getBlueStoneNumber(new Position(5, 1)));
+        assertFalse(model.isOnBoard(new Position(64, 0)));
+    }
+
+    @Test
+    void defaultLayout() {
+        assertEquals(new BoardGameModel(BoardLayout.DEFAULT).toString(), state1.toString());
+        assertThrows(IllegalArgumentException.class, () -> new BoardLayout(5, 2));
+        assertThrows(IllegalArgumentException.class, () -> new BoardLayout(65, 1));
+    }
+
+    @Test
+    void testToString() {
+        assertEquals("""
+                [BLUE(1,0),
+                BLUE(0,0),
+                BLUE(0,1),
+                BLUE(0,2),
+                BLUE(0,3),
+                BLUE(0,4),
+                BLUE(1,4),
+                RED(3,0),
+                RED(4,0),
+                RED(4,1),
+                RED(4,2),
+                RED(4,3),
+                RED(4,4),
+                RED(3,4)]""", state1.toString());
+    }
+}
\ No newline at end of file
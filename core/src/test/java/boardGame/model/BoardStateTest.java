@@ -0,0 +1,220 @@
+package boardGame.model;
+
+import boardGame.BoardGameModel.BoardGameModel;
+import boardGame.BoardGameModel.BoardLayout;
+import boardGame.BoardGameModel.GameResult;
+import boardGame.BoardGameModel.BoardState;
+import boardGame.BoardGameModel.Symmetry;
+import boardGame.Stone.StoneColor;
+import boardGame.Stone.StoneDirection;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BoardStateTest {
+
+    BoardState state1 = new BoardGameModel().copyState();
+
+    @Test
+    void getOccupancy() {
+        assertEquals(0b10_0011_1111L, state1.getOccupancy(StoneColor.BLUE));
+        assertEquals(0b1_1111_1000_1000_0000_0000_0000L, state1.getOccupancy(StoneColor.RED));
+        assertEquals(7, Long.bitCount(state1.getOccupancy(StoneColor.BLUE)));
+        assertEquals(7, Long.bitCount(state1.getOccupancy(StoneColor.RED)));
+        assertEquals(0, state1.getOccupancy(StoneColor.BLUE) & state1.getOccupancy(StoneColor.RED));
+    }
+
+    @Test
+    void isValidMove() {
+        assertTrue(state1.isValidMove(3, StoneDirection.DOWN_DIAGONAL_RIGHT));
+        assertFalse(state1.isValidMove(3, StoneDirection.UP_DIAGONAL_RIGHT));
+        assertFalse(state1.isValidMove(5, StoneDirection.DOWN_DIAGONAL_RIGHT));
+        assertFalse(state1.isValidMove(0, StoneDirection.DOWN_DIAGONAL_LEFT));
+        assertFalse(state1.isValidMove(7, StoneDirection.UP_DIAGONAL_LEFT));
+    }
+
+    @Test
+    void countValidMoves() {
+        assertEquals(8, state1.countValidMoves(StoneColor.BLUE));
+        assertEquals(8, state1.countValidMoves(StoneColor.RED));
+    }
+
+    @Test
+    void move() {
+        var state = state1.copy();
+        state.move(3, StoneDirection.DOWN_DIAGONAL_RIGHT);
+        assertEquals(8, state.getSquare(3));
+        assertEquals(StoneColor.RED, state.getSideToMove());
+        assertEquals(StoneColor.BLUE, state1.getSideToMove());
+        assertTrue(state1.isValidMove(5, StoneDirection.DOWN_DIAGONAL_LEFT));
+        assertFalse(state.isValidMove(5, StoneDirection.DOWN_DIAGONAL_LEFT));
+    }
+
+    @Test
+    void getHash() {
+        var state = state1.copy();
+        int move = BoardState.encodeMove(3, StoneDirection.DOWN_DIAGONAL_RIGHT);
+        state.makeMove(move);
+        assertNotEquals(state1.getHash(), state.getHash());
+        state.unmakeMove(move);
+        assertEquals(state1.getHash(), state.getHash());
+        assertEquals(state1.getSideToMove(), state.getSideToMove());
+    }
+
+    @Test
+    void getHash_isIndependentOfMoveOrder() {
+        var first = state1.copy();
+        first.move(3, StoneDirection.DOWN_DIAGONAL_RIGHT);
+        first.move(9, StoneDirection.UP_DIAGONAL_LEFT);
+        first.move(2, StoneDirection.DOWN_DIAGONAL_RIGHT);
+        first.move(10, StoneDirection.UP_DIAGONAL_RIGHT);
+        var second = state1.copy();
+        second.move(2, StoneDirection.DOWN_DIAGONAL_RIGHT);
+        second.move(10, StoneDirection.UP_DIAGONAL_RIGHT);
+        second.move(3, StoneDirection.DOWN_DIAGONAL_RIGHT);
+        second.move(9, StoneDirection.UP_DIAGONAL_LEFT);
+        assertEquals(first.getHash(), second.getHash());
+    }
+
+    @Test
+    void getSymmetries() {
+        assertEquals(4, state1.getSymmetries().size());
+        assertEquals(Symmetry.IDENTITY, state1.getSymmetries().get(0));
+        var lopsided = new BoardState(3, new StoneColor[]{StoneColor.BLUE, StoneColor.RED}, new int[]{0, 5});
+        assertEquals(List.of(Symmetry.IDENTITY), lopsided.getSymmetries());
+    }
+
+    @Test
+    void getCanonicalHash_isSharedByMirroredPositions() {
+        var state = state1.copy();
+        var mirrored = state1.copy();
+        for (int move : new int[]{BoardState.encodeMove(3, StoneDirection.DOWN_DIAGONAL_RIGHT),
+                BoardState.encodeMove(9, StoneDirection.UP_DIAGONAL_LEFT)}) {
+            mirrored.makeMove(mirror(state, move));
+            state.makeMove(move);
+        }
+        assertNotEquals(state.getHash(), mirrored.getHash());
+        assertEquals(state.getCanonicalHash(), mirrored.getCanonicalHash());
+        assertEquals(state1.getHash(), state1.getCanonicalHash());
+    }
+
+    @Test
+    void getCanonicalHash_matchesRecomputation() {
+        var state = state1.copy();
+        var moves = new int[state.getStoneCount() * 4];
+        var random = new Random(21);
+        for (int ply = 0; ply < 40 && !state.getResult().isOver(); ply++) {
+            state.makeMove(moves[random.nextInt(state.generateMoves(moves))]);
+            var recomputed = state1.copy();
+            recomputed.setPosition(state.getOccupancy(StoneColor.BLUE), state.getOccupancy(StoneColor.RED),
+                    state.getSideToMove());
+            assertEquals(recomputed.getCanonicalHash(), state.getCanonicalHash());
+            assertEquals(recomputed.getCanonicalSymmetry(), state.getCanonicalSymmetry());
+        }
+    }
+
+    @Test
+    void setPosition_squares() {
+        var state = state1.copy();
+        var moves = new int[state.getStoneCount() * 4];
+        var random = new Random(24);
+        for (int ply = 0; ply < 30 && !state.getResult().isOver(); ply++) {
+            state.makeMove(moves[random.nextInt(state.generateMoves(moves))]);
+        }
+        var squares = new int[state.getStoneCount()];
+        for (int i = 0; i < squares.length; i++) {
+            squares[i] = state.getSquare(i);
+        }
+        var copy = state1.copy();
+        copy.setPosition(squares, state.getSideToMove());
+        assertEquals(state.getHash(), copy.getHash());
+        assertEquals(state.getCanonicalHash(), copy.getCanonicalHash());
+        assertEquals(state.getResult(), copy.getResult());
+        for (int i = 0; i < squares.length; i++) {
+            assertEquals(i, copy.getStoneAt(squares[i]));
+        }
+        squares[1] = squares[0];
+        assertThrows(IllegalArgumentException.class, () -> copy.setPosition(squares, StoneColor.BLUE));
+        assertThrows(IllegalArgumentException.class, () -> copy.setPosition(new int[1], StoneColor.BLUE));
+    }
+
+    @Test
+    void toCanonicalMove() {
+        var state = state1.copy();
+        state.move(3, StoneDirection.DOWN_DIAGONAL_RIGHT);
+        var mirrored = state1.copy();
+        mirrored.makeMove(mirror(state1, BoardState.encodeMove(3, StoneDirection.DOWN_DIAGONAL_RIGHT)));
+        var moves = new int[state.getStoneCount() * 4];
+        int count = state.generateMoves(moves);
+        for (int i = 0; i < count; i++) {
+            int canonical = state.toCanonicalMove(moves[i]);
+            assertEquals(moves[i], state.fromCanonicalMove(canonical));
+            int image = mirror(state, moves[i]);
+            assertEquals(canonical, mirrored.toCanonicalMove(image));
+            assertEquals(image, mirrored.fromCanonicalMove(canonical));
+        }
+        assertEquals(-1, state.fromCanonicalMove(-1));
+        assertEquals(-1, state.fromCanonicalMove(25 * 4));
+    }
+
+    private static int mirror(BoardState state, int move) {
+        int square = Symmetry.MIRROR.mapSquare(state.getSize(), state.getSquare(BoardState.moveStone(move)));
+        return BoardState.encodeMove(state.getStoneAt(square),
+                Symmetry.MIRROR.mapDirection(BoardState.moveDirection(move)));
+    }
+
+    @Test
+    void hasWon() {
+        var state = new BoardState(3, new StoneColor[]{StoneColor.BLUE, StoneColor.RED}, new int[]{0, 8});
+        assertEquals(0, state.getGoalCount(StoneColor.BLUE));
+        state.move(0, StoneDirection.DOWN_DIAGONAL_RIGHT);
+        state.move(1, StoneDirection.UP_DIAGONAL_LEFT);
+        assertFalse(state.hasWon(StoneColor.BLUE));
+        state.move(0, StoneDirection.UP_DIAGONAL_LEFT);
+        state.move(1, StoneDirection.DOWN_DIAGONAL_RIGHT);
+        assertEquals(0, state.getGoalCount(StoneColor.BLUE));
+        assertFalse(state.hasWon(StoneColor.RED));
+    }
+
+    @Test
+    void getResult() {
+        assertEquals(GameResult.IN_PROGRESS, state1.getResult());
+        var blocked = new BoardState(3, new StoneColor[]{StoneColor.BLUE, StoneColor.RED}, new int[]{0, 4});
+        assertEquals(GameResult.DRAW, blocked.getResult());
+        var state = new BoardState(3, new StoneColor[]{StoneColor.BLUE, StoneColor.RED}, new int[]{0, 8});
+        state.move(0, StoneDirection.DOWN_DIAGONAL_RIGHT);
+        state.move(1, StoneDirection.UP_DIAGONAL_RIGHT);
+        state.move(0, StoneDirection.DOWN_DIAGONAL_RIGHT);
+        assertEquals(1, state.getGoalCount(StoneColor.BLUE));
+        assertEquals(GameResult.BLUE_WON, state.getResult());
+        assertEquals(StoneColor.BLUE, state.getResult().getWinner());
+    }
+
+    @Test
+    void largeBoard() {
+        var state = new BoardGameModel(new BoardLayout(64, 4)).copyState();
+        assertFalse(state.hasMasks());
+        assertEquals(258, state.getStoneCount(StoneColor.BLUE));
+        assertEquals(126, state.countValidMoves(StoneColor.BLUE));
+        assertEquals(126, state.countValidMoves(StoneColor.RED));
+        assertEquals(0, state.getStoneAt(4 * 64));
+        assertEquals(1, state.getStoneAt(0));
+        assertEquals(-1, state.getStoneAt(64 * 10));
+        assertEquals(-1, state.getNeighbour(0, StoneDirection.UP_DIAGONAL_LEFT));
+        assertTrue(state.isGoal(StoneColor.BLUE, 64 * 64 - 1));
+        assertThrows(IllegalStateException.class, () -> state.getOccupancy(StoneColor.BLUE));
+    }
+
+    @Test
+    void constructor_shouldThrowIllegalArgumentException() {
+        assertThrows(IllegalArgumentException.class,
+                () -> new BoardState(65, new StoneColor[0], new int[0]));
+        assertThrows(IllegalArgumentException.class,
+                () -> new BoardState(5, new StoneColor[]{StoneColor.BLUE, StoneColor.RED}, new int[]{3, 3}));
+        assertThrows(IllegalArgumentException.class,
+                () -> new BoardState(5, new StoneColor[]{StoneColor.BLUE}, new int[]{25}));
+    }
+}
@@ -0,0 +1,96 @@
+package boardGame.model;
+
+import boardGame.BoardGameModel.PositionHistory;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PositionHistoryTest {
+
+    @Test
+    void push_pop() {
+        var history = new PositionHistory(4);
+        assertEquals(1, history.push(7));
+        assertEquals(1, history.push(9));
+        assertEquals(2, history.push(7));
+        assertEquals(2, history.count(7));
+        assertEquals(3, history.size());
+        assertEquals(7, history.pop());
+        assertEquals(1, history.count(7));
+        history.clear();
+        assertEquals(0, history.count(7));
+        assertThrows(IllegalStateException.class, history::pop);
+    }
+
+    @Test
+    void push_forgetsTheOldestPosition() {
+        var history = new PositionHistory(3);
+        assertEquals(4, history.getCapacity());
+        for (long hash = 0; hash < 6; hash++) {
+            history.push(hash);
+        }
+        assertEquals(4, history.size());
+        assertEquals(0, history.count(1));
+        assertEquals(1, history.count(2));
+        assertEquals(1, history.count(5));
+    }
+
+    @Test
+    void pop_remembersThePositionItsPushForgot() {
+        var history = new PositionHistory(4);
+        history.push(1);
+        history.push(2);
+        history.push(1);
+        history.push(2);
+        assertEquals(1, history.push(3));
+        assertEquals(1, history.count(1));
+        assertEquals(3, history.pop());
+        assertEquals(4, history.size());
+        assertEquals(2, history.count(1));
+        assertEquals(2, history.push(1));
+        assertEquals(1, history.pop());
+
+        for (long hash = 10; hash < 14; hash++) {
+            history.push(hash);
+        }
+        assertEquals(0, history.count(2));
+        for (long hash = 13; hash >= 10; hash--) {
+            assertEquals(hash, history.pop());
+        }
+        assertEquals(2, history.count(1));
+        assertEquals(2, history.count(2));
+        assertEquals(0, history.count(10));
+        assertEquals(2, new PositionHistory(history).count(1));
+    }
+
+    @Test
+    void count_matchesAMap() {
+        var history = new PositionHistory(64);
+        var counts = new HashMap<Long, Integer>();
+        var pushed = new long[64];
+        var random = new Random(22);
+        for (int step = 0; step < 10_000; step++) {
+            if (history.size() < pushed.length && (history.size() == 0 || random.nextBoolean())) {
+                long hash = random.nextInt(40) * 64L + random.nextInt(3);
+                pushed[history.size()] = hash;
+                assertEquals(counts.merge(hash, 1, Integer::sum), history.push(hash));
+            } else {
+                long hash = history.pop();
+                assertEquals(pushed[history.size()], hash);
+                counts.merge(hash, -1, Integer::sum);
+            }
+            for (var entry : counts.entrySet()) {
+                assertEquals(entry.getValue(), history.count(entry.getKey()));
+            }
+        }
+        var copy = new PositionHistory(history);
+        assertEquals(history.size(), copy.size());
+        history.clear();
+        for (var entry : counts.entrySet()) {
+            assertEquals(entry.getValue(), copy.count(entry.getKey()));
+        }
+    }
+}
@@ -0,0 +1,55 @@
+package boardGame.model;
+
+import boardGame.BoardGameModel.BoardGameModel;
+import boardGame.Movement.Position;
+import boardGame.Movement.PositionTable;
+import boardGame.Stone.StoneDirection;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PositionTableTest {
+
+    PositionTable table = PositionTable.of(5);
+
+    @Test
+    void of() {
+        assertSame(table, PositionTable.of(5));
+        assertNotSame(table, PositionTable.of(6));
+        assertEquals(64, PositionTable.of(64).getSize());
+        assertThrows(IllegalArgumentException.class, () -> PositionTable.of(0));
+        assertThrows(IllegalArgumentException.class, () -> PositionTable.of(65));
+    }
+
+    @Test
+    void get() {
+        assertEquals(new Position(2, 3), table.get(2, 3));
+        assertSame(table.get(2, 3), table.get(13));
+        assertSame(PositionTable.OFF_BOARD, table.get(5, 0));
+        assertSame(PositionTable.OFF_BOARD, table.get(0, -1));
+    }
+
+    @Test
+    void square() {
+        assertEquals(13, table.square(new Position(2, 3)));
+        assertEquals(24, table.square(table.get(4, 4)));
+    }
+
+    @Test
+    void moveTo() {
+        var center = table.get(2, 2);
+        assertSame(table.get(1, 1), table.moveTo(center, StoneDirection.UP_DIAGONAL_LEFT));
+        assertSame(table.get(3, 3), table.moveTo(center, StoneDirection.DOWN_DIAGONAL_RIGHT));
+        assertEquals(center.moveTo(StoneDirection.UP_DIAGONAL_RIGHT), table.moveTo(center, StoneDirection.UP_DIAGONAL_RIGHT));
+        assertSame(PositionTable.OFF_BOARD, table.moveTo(table.get(0, 0), StoneDirection.UP_DIAGONAL_LEFT));
+        assertSame(PositionTable.OFF_BOARD, table.moveTo(table.get(4, 2), StoneDirection.DOWN_DIAGONAL_LEFT));
+    }
+
+    @Test
+    void sharedByModel() {
+        var model = new BoardGameModel();
+        assertSame(table, model.getPositionTable());
+        assertSame(model.getStonePosition(1), model.getStonePosition(1));
+        assertSame(table.get(0, 0), model.getStonePosition(1));
+    }
+}
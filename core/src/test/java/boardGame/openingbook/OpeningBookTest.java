@@ -0,0 +1,102 @@
+package boardGame.openingbook;
+
+import boardGame.BoardGameModel.BoardGameModel;
+import boardGame.BoardGameModel.BoardState;
+import boardGame.BoardGameModel.GameResult;
+import boardGame.OpeningBook.BookMove;
+import boardGame.OpeningBook.OpeningBook;
+import boardGame.OpeningBook.OpeningBookBuilder;
+import boardGame.Tournament.BookPlayer;
+import boardGame.Tournament.PlayerFactory;
+import boardGame.Tournament.RandomPlayer;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class OpeningBookTest {
+
+    @TempDir
+    Path directory;
+
+    private final BoardState start = new BoardGameModel().copyState();
+    private final int[] firstMoves = new int[start.getStoneCount() * 4];
+    private final int[] secondMoves = new int[start.getStoneCount() * 4];
+    private final BoardState afterFirst;
+
+    OpeningBookTest() {
+        start.generateMoves(firstMoves);
+        afterFirst = start.copy();
+        afterFirst.makeMove(firstMoves[0]);
+        afterFirst.generateMoves(secondMoves);
+    }
+
+    private OpeningBook build() throws IOException {
+        var builder = new OpeningBookBuilder(OpeningBookBuilder.DEFAULT_BOOK_PLIES);
+        builder.addGame(start, new int[]{firstMoves[0], secondMoves[0]}, 2, GameResult.BLUE_WON);
+        builder.addGame(start, new int[]{firstMoves[0], secondMoves[1]}, 2, GameResult.DRAW);
+        builder.addGame(start, new int[]{firstMoves[1]}, 1, GameResult.RED_WON);
+        assertEquals(3, builder.getGames());
+        var path = directory.resolve("opening.book");
+        builder.write(path);
+        return OpeningBook.open(path);
+    }
+
+    @Test
+    void lookup() throws IOException {
+        try (var book = build()) {
+            assertEquals(4, book.size());
+            assertEquals(List.of(new BookMove(firstMoves[0], 2, 3), new BookMove(firstMoves[1], 1, 0)),
+                    book.lookup(start).stream().sorted((a, b) -> b.games() - a.games()).toList());
+            assertEquals(2, book.lookup(afterFirst).size());
+            var outOfBook = afterFirst.copy();
+            outOfBook.makeMove(secondMoves[2]);
+            assertTrue(book.lookup(outOfBook).isEmpty());
+        }
+    }
+
+    @Test
+    void bestMove() throws IOException {
+        try (var book = build()) {
+            assertEquals(firstMoves[0], book.bestMove(start, 1));
+            assertEquals(-1, book.bestMove(start, 3));
+            assertEquals(secondMoves[1], book.bestMove(afterFirst, 1));
+        }
+    }
+
+    @Test
+    void bookPlayer() throws IOException {
+        try (var book = build()) {
+            var player = new BookPlayer(book, model -> -1, 1);
+            var model = new BoardGameModel();
+            assertEquals(firstMoves[0], player.chooseMove(model));
+            model.makeMove(firstMoves[1]);
+            assertEquals(-1, player.chooseMove(model));
+        }
+    }
+
+    @Test
+    void selfPlay() throws IOException {
+        var builder = new OpeningBookBuilder(4);
+        builder.selfPlay(RandomPlayer::new, RandomPlayer::new, 6, 40);
+        var path = directory.resolve("self-play.book");
+        builder.write(path);
+        try (var book = OpeningBook.open(path)) {
+            assertEquals(6, book.lookup(start).stream().mapToInt(BookMove::games).sum());
+        }
+        var factory = PlayerFactory.parse("book:" + path + ":random");
+        assertTrue(factory.create(1) instanceof BookPlayer);
+    }
+
+    @Test
+    void open_notABook() throws IOException {
+        var path = Files.write(directory.resolve("empty.book"), new byte[32]);
+        assertThrows(IOException.class, () -> OpeningBook.open(path));
+        assertThrows(IllegalArgumentException.class, () -> PlayerFactory.parse("book:" + path + ":random"));
+    }
+}
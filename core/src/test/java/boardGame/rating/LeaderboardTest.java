@@ -0,0 +1,70 @@
+package boardGame.rating;
+
+import boardGame.Rating.Leaderboard;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LeaderboardTest {
+
+    @Test
+    void rank_ordersByRatingThenPlayer() {
+        var leaderboard = new Leaderboard();
+        leaderboard.put(0, 1500);
+        leaderboard.put(1, 1600);
+        leaderboard.put(2, 1500);
+        assertEquals(3, leaderboard.size());
+        assertEquals(0, leaderboard.rank(1));
+        assertEquals(1, leaderboard.rank(0));
+        assertEquals(2, leaderboard.rank(2));
+        assertEquals(-1, leaderboard.rank(3));
+
+        leaderboard.put(2, 1700);
+        assertEquals(0, leaderboard.rank(2));
+        assertEquals(0, leaderboard.playerAt(2));
+        assertTrue(leaderboard.remove(1));
+        assertFalse(leaderboard.remove(1));
+        assertArrayEquals(new int[] {2, 0}, leaderboard.playersFrom(0, 5));
+        assertThrows(IndexOutOfBoundsException.class, () -> leaderboard.playerAt(2));
+    }
+
+    @Test
+    void matchesSortedReference() {
+        var leaderboard = new Leaderboard();
+        var random = new Random(25);
+        var ratings = new double[5000];
+        for (int step = 0; step < 50_000; step++) {
+            int player = random.nextInt(ratings.length);
+            if (random.nextInt(10) == 0) {
+                leaderboard.remove(player);
+            } else {
+                ratings[player] = random.nextInt(400);
+                leaderboard.put(player, ratings[player]);
+            }
+        }
+        List<Integer> expected = new ArrayList<>();
+        for (int player = 0; player < ratings.length; player++) {
+            if (leaderboard.contains(player)) {
+                assertEquals(ratings[player], leaderboard.getRating(player));
+                expected.add(player);
+            }
+        }
+        expected.sort(Comparator.<Integer>comparingDouble(player -> -ratings[player])
+                .thenComparingInt(player -> player));
+        assertEquals(expected.size(), leaderboard.size());
+        for (int rank = 0; rank < expected.size(); rank++) {
+            assertEquals(rank, leaderboard.rank(expected.get(rank)));
+            assertEquals(expected.get(rank), leaderboard.playerAt(rank));
+        }
+        int[] page = leaderboard.playersFrom(100, 250);
+        for (int i = 0; i < page.length; i++) {
+            assertEquals(expected.get(100 + i), page[i]);
+        }
+        assertEquals(0, leaderboard.playersFrom(expected.size(), 10).length);
+    }
+}
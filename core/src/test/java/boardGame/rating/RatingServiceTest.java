@@ -0,0 +1,124 @@
+package boardGame.rating;
+
+import boardGame.BoardGameModel.GameResult;
+import boardGame.GameSessionInformation.GameSessionInformation;
+import boardGame.Journal.SessionJournal;
+import boardGame.Rating.EloRatingSystem;
+import boardGame.Rating.GlickoRatingSystem;
+import boardGame.Rating.Rating;
+import boardGame.Rating.RatingService;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RatingServiceTest {
+
+    @TempDir
+    Path directory;
+
+    private static GameSessionInformation session(String first, String second) {
+        var information = new GameSessionInformation();
+        information.setZonedDateTime("10/17/2026 - 12:00:00 UTC");
+        information.setFirstPlayerName(first);
+        information.setSecondPlayerName(second);
+        return information;
+    }
+
+    @Test
+    void elo() {
+        var system = new EloRatingSystem();
+        var even = new Rating(1500, 0);
+        assertEquals(1516, system.rate(even, even, 1).rating(), 1e-9);
+        assertEquals(1500, system.rate(even, even, 0.5).rating(), 1e-9);
+        var strong = new Rating(1900, 0);
+        assertTrue(system.rate(strong, even, 1).rating() - 1900 < 4);
+    }
+
+    @Test
+    void glicko() {
+        var system = new GlickoRatingSystem();
+        var initial = system.initialRating();
+        var won = system.rate(initial, initial, 1);
+        assertTrue(won.rating() > 1600);
+        assertTrue(won.deviation() < initial.deviation());
+        var settled = new Rating(1500, 50);
+        assertTrue(system.rate(settled, initial, 1).rating() - 1500 < won.rating() - 1500);
+        assertEquals(50, system.rate(settled, settled, 0).deviation());
+    }
+
+    @Test
+    void apply_ranksPlayers() throws Exception {
+        try (var journal = SessionJournal.open(directory.resolve("journal"));
+             var ratings = RatingService.open(directory.resolve("ratings"), new EloRatingSystem())) {
+            journal.appendSession(session("Alice", "Bob")).thenAccept(ratings::apply);
+            journal.appendResult(session("Alice", "Bob"), GameResult.BLUE_WON.name()).thenAccept(ratings::apply);
+            journal.appendResult(session("Carol", "Bob"), GameResult.DRAW.name()).thenAccept(ratings::apply);
+            journal.appendResult(session("Carol", ""), GameResult.RED_WON.name()).thenAccept(ratings::apply);
+            journal.appendResult(session("Carol", "Dave"), "RED won").thenAccept(ratings::apply).get();
+
+            assertEquals(3, ratings.getPlayerCount());
+            assertEquals(4, ratings.getLastSequence());
+            var top = ratings.getTop(10);
+            assertEquals(3, top.size());
+            assertEquals("Alice", top.get(0).name());
+            assertEquals(1516, top.get(0).rating().rating(), 1e-9);
+            assertEquals("Bob", top.get(2).name());
+            assertEquals(2, top.get(2).games());
+            assertEquals(top.get(1), ratings.getPlayer("Carol").orElseThrow());
+            assertEquals(2, ratings.getPage(2, 1).get(0).rank());
+            assertTrue(ratings.getPlayer("Dave").isEmpty());
+        }
+    }
+
+    @Test
+    void open_replaysTheJournalAfterTheSnapshot() throws Exception {
+        var snapshot = directory.resolve("ratings");
+        var names = new String[50];
+        for (int i = 0; i < names.length; i++) {
+            names[i] = "player" + i;
+        }
+        var random = new Random(25);
+        var results = new GameResult[] {GameResult.BLUE_WON, GameResult.RED_WON, GameResult.DRAW};
+        try (var journal = SessionJournal.open(directory.resolve("journal"))) {
+            var ratings = RatingService.open(snapshot, new GlickoRatingSystem(), 64);
+            for (int game = 0; game < 300; game++) {
+                int first = random.nextInt(names.length);
+                int second = (first + 1 + random.nextInt(names.length - 1)) % names.length;
+                journal.appendResult(session(names[first], names[second]),
+                        results[random.nextInt(results.length)].name()).thenAccept(ratings::apply).get();
+            }
+            ratings.awaitSnapshots();
+            assertTrue(Files.exists(snapshot));
+            var expected = ratings.getTop(names.length);
+
+            var reopened = RatingService.open(snapshot, new GlickoRatingSystem(), 64);
+            assertTrue(reopened.getLastSequence() < ratings.getLastSequence());
+            assertEquals(300 - 256, reopened.replay(journal));
+            assertEquals(expected, reopened.getTop(names.length));
+            assertEquals(0, reopened.replay(journal));
+
+            var fromScratch = RatingService.open(directory.resolve("other"), new GlickoRatingSystem());
+            assertEquals(300, fromScratch.replay(journal));
+            assertEquals(expected, fromScratch.getTop(names.length));
+        }
+    }
+
+    @Test
+    void open_rejectsACorruptedSnapshot() throws Exception {
+        var snapshot = directory.resolve("ratings");
+        try (var journal = SessionJournal.open(directory.resolve("journal"));
+             var ratings = RatingService.open(snapshot, new EloRatingSystem())) {
+            ratings.apply(journal.appendResult(session("Alice", "Bob"), GameResult.DRAW.name()).get());
+        }
+        byte[] bytes = Files.readAllBytes(snapshot);
+        bytes[bytes.length - 6] ^= 1;
+        Files.write(snapshot, bytes);
+        assertThrows(IOException.class, () -> RatingService.open(snapshot, new EloRatingSystem()));
+    }
+}
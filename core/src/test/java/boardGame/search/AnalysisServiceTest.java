@@ -0,0 +1,65 @@
+package boardGame.search;
+
+import boardGame.BoardGameModel.BoardGameModel;
+import boardGame.Search.Analysis;
+import boardGame.Search.AnalysisService;
+import boardGame.Search.SearchEngine;
+import boardGame.Search.SearchResult;
+import boardGame.Search.TranspositionTable;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AnalysisServiceTest {
+
+    @Test
+    void search_reportsEveryIteration() {
+        var model = new BoardGameModel();
+        var engine = new SearchEngine(5_000, 5);
+        var iterations = new ArrayList<SearchResult>();
+
+        var result = engine.search(model.copyState(), iterations::add);
+
+        assertEquals(List.of(1, 2, 3, 4, 5), iterations.stream().map(SearchResult::depth).toList());
+        assertEquals(result.move(), iterations.get(4).move());
+        var line = engine.principalVariation(model.copyState(), 5);
+        assertTrue(line.length > 0);
+        assertEquals(result.move(), line[0]);
+    }
+
+    @Test
+    void analyze_followsTheLatestPosition() throws InterruptedException {
+        var analyses = new CopyOnWriteArrayList<Analysis>();
+        var engine = new SearchEngine(60_000, SearchEngine.MAX_DEPTH, new TranspositionTable(1 << 20));
+        try (var service = new AnalysisService(engine, Runnable::run, analyses::add, 20)) {
+            var model = new BoardGameModel();
+            service.analyze(model.copyState());
+            waitFor(analyses, 1);
+            var first = analyses.get(0);
+            assertEquals(model.getHash(), first.hash());
+            assertTrue(first.bestMove() >= 0);
+
+            model.makeMove(first.bestMove());
+            service.analyze(model.copyState());
+            Thread.sleep(300);
+            service.stop();
+            Thread.sleep(50);
+            int count = analyses.size();
+            assertEquals(model.getHash(), analyses.get(count - 1).hash());
+            assertTrue(count <= 2 + 400 / 20, "throttled to one analysis per interval");
+            Thread.sleep(100);
+            assertEquals(count, analyses.size());
+        }
+    }
+
+    private static void waitFor(List<Analysis> analyses, int count) throws InterruptedException {
+        for (int i = 0; i < 500 && analyses.size() < count; i++) {
+            Thread.sleep(10);
+        }
+        assertTrue(analyses.size() >= count);
+    }
+}
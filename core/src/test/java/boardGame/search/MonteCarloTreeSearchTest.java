@@ -0,0 +1,82 @@
+package boardGame.search;
+
+import boardGame.BoardGameModel.BoardGameModel;
+import boardGame.Movement.Position;
+import boardGame.Search.MonteCarloTreeSearch;
+import boardGame.Stone.Stone;
+import boardGame.Stone.StoneColor;
+import boardGame.Stone.StoneDirection;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MonteCarloTreeSearchTest {
+
+    @Test
+    void search_findsWinningMove() {
+        var model = new BoardGameModel(new Stone(StoneColor.BLUE, new Position(0, 0)),
+                new Stone(StoneColor.RED, new Position(4, 4)));
+        model.move(0, StoneDirection.DOWN_DIAGONAL_RIGHT);
+        model.move(1, StoneDirection.UP_DIAGONAL_LEFT);
+        model.move(0, StoneDirection.DOWN_DIAGONAL_RIGHT);
+        model.move(1, StoneDirection.UP_DIAGONAL_RIGHT);
+
+        var result = new MonteCarloTreeSearch(1, 1 << 16).search(model, 20_000, 10_000);
+
+        assertEquals(0, result.stoneNumber());
+        assertEquals(StoneDirection.DOWN_DIAGONAL_RIGHT, result.direction());
+        assertTrue(result.score() > 500);
+    }
+
+    @Test
+    void search_withWorkerThreads() {
+        var model = new BoardGameModel();
+        var before = model.toString();
+
+        var result = new MonteCarloTreeSearch(4, 1 << 16).search(model, 5_000, 10_000);
+
+        assertEquals(before, model.toString());
+        assertEquals(5_000, result.nodes());
+        assertTrue(model.isValidMove(result.stoneNumber(), result.direction()));
+    }
+
+    @Test
+    void search_withFullNodePool() {
+        var result = new MonteCarloTreeSearch(2, 16).search(new BoardGameModel(), 2_000, 10_000);
+
+        assertEquals(2_000, result.nodes());
+        assertTrue(result.hasMove());
+    }
+
+    @Test
+    void search_neverOverrunsTheNodePool() {
+        var search = new MonteCarloTreeSearch(1, 64);
+        var result = search.search(new BoardGameModel(), 200_000, 60_000);
+
+        assertEquals(200_000, result.nodes());
+        assertTrue(result.hasMove());
+        assertTrue(search.getNodeCount() <= 64);
+    }
+
+    @Test
+    void close_stopsTheWorkerThreads() throws InterruptedException {
+        long before = SearchEngineTest.countThreads("mcts-worker");
+        var search = new MonteCarloTreeSearch(3, 1 << 12);
+        search.search(new BoardGameModel(), 1_000, 10_000);
+        assertEquals(before + 2, SearchEngineTest.countThreads("mcts-worker"));
+
+        search.close();
+
+        long deadline = System.currentTimeMillis() + 10_000;
+        while (SearchEngineTest.countThreads("mcts-worker") > before && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        assertEquals(before, SearchEngineTest.countThreads("mcts-worker"));
+    }
+
+    @Test
+    void constructor_shouldThrowIllegalArgumentException() {
+        assertThrows(IllegalArgumentException.class, () -> new MonteCarloTreeSearch(0, 16));
+        assertThrows(IllegalArgumentException.class, () -> new MonteCarloTreeSearch(1, 1));
+    }
+}
@@ -0,0 +1,18 @@
+package boardGame.search;
+
+import boardGame.BoardGameModel.BoardGameModel;
+import boardGame.Search.Perft;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class PerftTest {
+
+    @Test
+    void perft() {
+        var state = new BoardGameModel().copyState();
+        for (int depth = 0; depth < Perft.INITIAL_COUNTS.length; depth++) {
+            assertEquals(Perft.INITIAL_COUNTS[depth], Perft.perft(state, depth));
+        }
+    }
+}
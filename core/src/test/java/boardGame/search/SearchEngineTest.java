@@ -0,0 +1,139 @@
+package boardGame.search;
+
+import boardGame.BoardGameModel.BoardGameModel;
+import boardGame.BoardGameModel.PositionHistory;
+import boardGame.Movement.Position;
+import boardGame.Search.Evaluation;
+import boardGame.Search.SearchEngine;
+import boardGame.Search.TranspositionTable;
+import boardGame.Stone.Stone;
+import boardGame.Stone.StoneColor;
+import boardGame.Stone.StoneDirection;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SearchEngineTest {
+
+    @Test
+    void search_findsWinningMove() {
+        var model = new BoardGameModel(new Stone(StoneColor.BLUE, new Position(0, 0)),
+                new Stone(StoneColor.RED, new Position(4, 4)));
+        model.move(0, StoneDirection.DOWN_DIAGONAL_RIGHT);
+        model.move(1, StoneDirection.UP_DIAGONAL_LEFT);
+        model.move(0, StoneDirection.DOWN_DIAGONAL_RIGHT);
+        model.move(1, StoneDirection.UP_DIAGONAL_RIGHT);
+
+        var result = new SearchEngine(1000).search(model);
+
+        assertEquals(0, result.stoneNumber());
+        assertEquals(StoneDirection.DOWN_DIAGONAL_RIGHT, result.direction());
+        assertEquals(Evaluation.WIN - 3, result.score());
+    }
+
+    @Test
+    void search_scoresRepetitionsAsDraws() {
+        var model = new BoardGameModel(new Stone(StoneColor.BLUE, new Position(0, 0)),
+                new Stone(StoneColor.RED, new Position(4, 4)));
+        model.move(0, StoneDirection.DOWN_DIAGONAL_RIGHT);
+        model.move(1, StoneDirection.UP_DIAGONAL_LEFT);
+        model.move(0, StoneDirection.DOWN_DIAGONAL_RIGHT);
+        model.move(1, StoneDirection.UP_DIAGONAL_RIGHT);
+        model.move(0, StoneDirection.DOWN_DIAGONAL_RIGHT);
+        var engine = new SearchEngine(1000, 6);
+        assertTrue(engine.search(model).score() <= -Evaluation.WIN_THRESHOLD);
+
+        var state = model.copyState();
+        var history = new PositionHistory();
+        var moves = new int[4];
+        for (int i = state.generateMoves(moves) - 1; i >= 0; i--) {
+            state.makeMove(moves[i]);
+            history.push(state.getHash());
+            state.unmakeMove(moves[i]);
+        }
+        history.push(state.getHash());
+        assertEquals(0, new SearchEngine(1000, 6).search(state, history, null).score());
+    }
+
+    @Test
+    void search_leavesModelUnchanged() {
+        var model = new BoardGameModel();
+        var before = model.toString();
+
+        var result = new SearchEngine(1000, 4).search(model);
+
+        assertEquals(before, model.toString());
+        assertEquals(4, result.depth());
+        assertTrue(model.isValidMove(result.stoneNumber(), result.direction()));
+        assertTrue(result.nodes() > 0);
+    }
+
+    @Test
+    void search_respectsTimeBudget() {
+        var result = new SearchEngine(50).search(new BoardGameModel());
+
+        assertTrue(result.hasMove());
+        assertTrue(result.elapsedNanos() < 500_000_000L);
+    }
+
+    @Test
+    void search_isDeterministicSingleThreaded() {
+        var first = new SearchEngine(10_000, 8).search(new BoardGameModel());
+        var second = new SearchEngine(10_000, 8).search(new BoardGameModel());
+
+        assertEquals(first.move(), second.move());
+        assertEquals(first.score(), second.score());
+        assertEquals(first.nodes(), second.nodes());
+    }
+
+    @Test
+    void search_withHelperThreads() {
+        var engine = new SearchEngine(10_000, 8, new TranspositionTable(1 << 20), 4);
+        var model = new BoardGameModel();
+
+        var result = engine.search(model);
+
+        assertEquals(8, result.depth());
+        assertTrue(model.isValidMove(result.stoneNumber(), result.direction()));
+    }
+
+    @Test
+    void search_withoutTimeLimit() {
+        try (var engine = new SearchEngine(SearchEngine.NO_TIME_LIMIT, 5)) {
+            var result = engine.search(new BoardGameModel());
+
+            assertEquals(5, result.depth());
+            assertTrue(result.hasMove());
+        }
+    }
+
+    @Test
+    void close_stopsTheHelperThreads() throws InterruptedException {
+        long before = countThreads("search-helper");
+        var engine = new SearchEngine(10_000, 4, new TranspositionTable(1 << 20), 4);
+        engine.search(new BoardGameModel());
+        assertEquals(before + 3, countThreads("search-helper"));
+
+        engine.close();
+
+        long deadline = System.currentTimeMillis() + 10_000;
+        while (countThreads("search-helper") > before && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        assertEquals(before, countThreads("search-helper"));
+    }
+
+    static long countThreads(String name) {
+        return Thread.getAllStackTraces().keySet().stream()
+                .filter(thread -> thread.isAlive() && thread.getName().equals(name))
+                .count();
+    }
+
+    @Test
+    void constructor_shouldThrowIllegalArgumentException() {
+        assertThrows(IllegalArgumentException.class, () -> new SearchEngine(0));
+        assertThrows(IllegalArgumentException.class, () -> new SearchEngine(100, SearchEngine.MAX_DEPTH + 1));
+        assertThrows(IllegalArgumentException.class,
+                () -> new SearchEngine(100, 4, new TranspositionTable(1 << 10), 0));
+    }
+}
@@ -0,0 +1,55 @@
+package boardGame.search;
+
+import boardGame.Search.TranspositionTable;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TranspositionTableTest {
+
+    TranspositionTable table = new TranspositionTable(1 << 10);
+
+    @Test
+    void sizeInBytes() {
+        assertEquals(1 << 10, table.sizeInBytes());
+        assertEquals(1 << 10, new TranspositionTable((1 << 11) - 1).sizeInBytes());
+    }
+
+    @Test
+    void probe() {
+        table.store(42L, 17, -300, 5, TranspositionTable.LOWER);
+        long data = table.probe(42L);
+        assertEquals(17, TranspositionTable.move(data));
+        assertEquals(-300, TranspositionTable.score(data));
+        assertEquals(5, TranspositionTable.depth(data));
+        assertEquals(TranspositionTable.LOWER, TranspositionTable.bound(data));
+        assertEquals(0, table.probe(43L));
+    }
+
+    @Test
+    void clear() {
+        table.store(42L, 17, -300, 5, TranspositionTable.EXACT);
+        table.clear();
+        assertEquals(0, table.probe(42L));
+    }
+
+    @Test
+    void store_keepsDeeperResultOfCurrentSearch() {
+        long deep = 7L;
+        long shallow = deep + (1L << 40);
+        table.store(deep, 1, 10, 8, TranspositionTable.EXACT);
+        table.store(shallow, 2, 20, 2, TranspositionTable.EXACT);
+        assertEquals(8, TranspositionTable.depth(table.probe(deep)));
+        assertEquals(2, TranspositionTable.depth(table.probe(shallow)));
+
+        table.newSearch();
+        table.store(shallow, 3, 30, 1, TranspositionTable.UPPER);
+        assertEquals(0, table.probe(deep));
+        assertEquals(3, TranspositionTable.move(table.probe(shallow)));
+    }
+
+    @Test
+    void constructor_shouldThrowIllegalArgumentException() {
+        assertThrows(IllegalArgumentException.class, () -> new TranspositionTable(16));
+    }
+}
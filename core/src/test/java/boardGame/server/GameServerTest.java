@@ -0,0 +1,310 @@
+package boardGame.server;
+
+import boardGame.BoardGameModel.BoardGameModel;
+import boardGame.BoardGameModel.BoardLayout;
+import boardGame.BoardGameModel.BoardState;
+import boardGame.BoardGameModel.DrawRule;
+import boardGame.BoardGameModel.GameResult;
+import boardGame.Server.GameClient;
+import boardGame.Server.GameListener;
+import boardGame.Server.GameServer;
+import boardGame.Server.LoadGenerator;
+import boardGame.Server.Protocol;
+import boardGame.Server.Snapshot;
+import boardGame.Stone.StoneColor;
+import boardGame.Stone.StoneDirection;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.StandardSocketOptions;
+import java.nio.ByteBuffer;
+import java.nio.channels.SocketChannel;
+import java.util.ArrayList;
+import java.util.Random;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class GameServerTest {
+
+    GameServer server;
+
+    @BeforeEach
+    void startServer() throws IOException {
+        server = new GameServer(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), BoardLayout.DEFAULT,
+                new DrawRule(3, 200));
+    }
+
+    @AfterEach
+    void stopServer() throws IOException {
+        server.close();
+    }
+
+    private static final class RecordingListener implements GameListener {
+
+        private final BlockingQueue<String> messages = new LinkedBlockingQueue<>();
+        private volatile int game;
+        private volatile StoneColor color;
+        private volatile Snapshot snapshot;
+
+        @Override
+        public void gameStarted(StoneColor color, int game) {
+            this.game = game;
+            this.color = color;
+            messages.add("started " + color);
+        }
+
+        @Override
+        public void moveMade(int move) {
+            messages.add("moved " + move);
+        }
+
+        @Override
+        public void moveRejected(int move) {
+            messages.add("rejected " + move);
+        }
+
+        @Override
+        public void gameOver(GameResult result) {
+            messages.add("over " + result);
+        }
+
+        @Override
+        public void snapshotReceived(Snapshot snapshot) {
+            this.snapshot = snapshot;
+            messages.add("snapshot " + snapshot.plies());
+        }
+
+        @Override
+        public void gameNotFound(int game) {
+            messages.add("no game " + game);
+        }
+
+        String next() throws InterruptedException {
+            var message = messages.poll(5, TimeUnit.SECONDS);
+            assertNotNull(message);
+            return message;
+        }
+    }
+
+    @Test
+    void play() throws Exception {
+        var firstListener = new RecordingListener();
+        var secondListener = new RecordingListener();
+        try (var first = GameClient.connect(server.getAddress(), Runnable::run, firstListener);
+             var second = GameClient.connect(server.getAddress(), Runnable::run, secondListener)) {
+            var players = start(first, firstListener, second, secondListener);
+            var blue = firstListener.color == StoneColor.BLUE ? firstListener : secondListener;
+            var red = blue == firstListener ? secondListener : firstListener;
+            assertEquals(StoneColor.RED, red.color);
+            assertEquals(1, server.getGameCount());
+
+            int move = BoardState.encodeMove(3, StoneDirection.DOWN_DIAGONAL_RIGHT);
+            players[1].sendMove(move);
+            assertEquals("rejected " + move, red.next());
+            players[0].sendMove(BoardState.encodeMove(3, StoneDirection.UP_DIAGONAL_LEFT));
+            assertEquals("rejected " + BoardState.encodeMove(3, StoneDirection.UP_DIAGONAL_LEFT), blue.next());
+            players[0].sendMove(move);
+            assertEquals("moved " + move, blue.next());
+            assertEquals("moved " + move, red.next());
+
+            players[1].leave();
+            assertEquals("over BLUE_WON", blue.next());
+            assertEquals("over BLUE_WON", red.next());
+            assertEquals(0, server.getGameCount());
+        }
+        assertTrue(waitFor(() -> server.getConnectionCount() == 0));
+    }
+
+    @Test
+    void disconnect_losesTheGame() throws Exception {
+        var firstListener = new RecordingListener();
+        try (var first = GameClient.connect(server.getAddress(), Runnable::run, firstListener)) {
+            var secondListener = new RecordingListener();
+            try (var second = GameClient.connect(server.getAddress(), Runnable::run, secondListener)) {
+                start(first, firstListener, second, secondListener);
+            }
+            assertEquals("over " + (firstListener.color == StoneColor.BLUE ? "BLUE_WON" : "RED_WON"),
+                    firstListener.next());
+        }
+    }
+
+    @Test
+    void watch() throws Exception {
+        var firstListener = new RecordingListener();
+        var secondListener = new RecordingListener();
+        var watcher = new RecordingListener();
+        try (var first = GameClient.connect(server.getAddress(), Runnable::run, firstListener);
+             var second = GameClient.connect(server.getAddress(), Runnable::run, secondListener);
+             var spectator = GameClient.connect(server.getAddress(), Runnable::run, watcher)) {
+            var players = start(first, firstListener, second, secondListener);
+            var state = new BoardGameModel(BoardLayout.DEFAULT).copyState();
+            int opening = BoardState.encodeMove(3, StoneDirection.DOWN_DIAGONAL_RIGHT);
+            players[0].sendMove(opening);
+            assertEquals("moved " + opening, secondListener.next());
+            assertEquals("moved " + opening, firstListener.next());
+            state.makeMove(opening);
+
+            spectator.watch(firstListener.game);
+            assertEquals("snapshot 1", watcher.next());
+            var seen = new BoardGameModel(BoardLayout.DEFAULT).copyState();
+            watcher.snapshot.applyTo(seen);
+            assertEquals(state.getHash(), seen.getHash());
+
+            var moves = new int[state.getStoneCount() * 4];
+            int move = moves[new Random(24).nextInt(state.generateMoves(moves))];
+            players[1].sendMove(move);
+            assertEquals("moved " + move, watcher.next());
+            state.makeMove(move);
+            seen.makeMove(move);
+            assertEquals(state.getHash(), seen.getHash());
+
+            players[0].leave();
+            assertEquals("over RED_WON", watcher.next());
+            spectator.watch(firstListener.game);
+            assertEquals("no game " + firstListener.game, watcher.next());
+        }
+    }
+
+    @Test
+    void watch_gameEndingByAMove() throws Exception {
+        var firstListener = new RecordingListener();
+        var secondListener = new RecordingListener();
+        var watcher = new RecordingListener();
+        try (var shortGames = new GameServer(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0),
+                BoardLayout.DEFAULT, new DrawRule(3, 2));
+             var first = GameClient.connect(shortGames.getAddress(), Runnable::run, firstListener);
+             var second = GameClient.connect(shortGames.getAddress(), Runnable::run, secondListener);
+             var spectator = GameClient.connect(shortGames.getAddress(), Runnable::run, watcher)) {
+            var players = start(first, firstListener, second, secondListener);
+            spectator.watch(firstListener.game);
+            assertEquals("snapshot 0", watcher.next());
+            var seen = new BoardGameModel(BoardLayout.DEFAULT).copyState();
+            watcher.snapshot.applyTo(seen);
+
+            var state = new BoardGameModel(BoardLayout.DEFAULT).copyState();
+            var moves = new int[state.getStoneCount() * 4];
+            var random = new Random(24);
+            for (int ply = 0; ply < 2; ply++) {
+                int move = moves[random.nextInt(state.generateMoves(moves))];
+                players[ply].sendMove(move);
+                assertEquals("moved " + move, watcher.next());
+                seen.makeMove(move);
+                state.makeMove(move);
+            }
+            assertEquals("over DRAW", watcher.next());
+            assertEquals(state.getHash(), seen.getHash());
+        }
+    }
+
+    @Test
+    void watch_laggingSpectatorsEndOnTheLastPosition() throws Exception {
+        var spectators = new ArrayList<SocketChannel>();
+        var firstListener = new RecordingListener();
+        var secondListener = new RecordingListener();
+        try (var first = GameClient.connect(server.getAddress(), Runnable::run, firstListener);
+             var second = GameClient.connect(server.getAddress(), Runnable::run, secondListener)) {
+            var players = start(first, firstListener, second, secondListener);
+            var watch = ByteBuffer.allocate(5).put(Protocol.WATCH).putInt(firstListener.game).flip();
+            for (int i = 0; i < 20; i++) {
+                var channel = SocketChannel.open(server.getAddress());
+                spectators.add(channel);
+                channel.write(watch.rewind());
+            }
+            var model = new BoardGameModel(BoardLayout.DEFAULT);
+            model.setDrawRule(new DrawRule(3, 200));
+            var moves = new int[model.getStoneCount() * 4];
+            var random = new Random(24);
+            for (int ply = 0; ply < 150 && !model.getResult().isOver(); ply++) {
+                int move = moves[random.nextInt(model.generateMoves(moves))];
+                players[ply % 2].sendMove(move);
+                assertEquals("moved " + move, firstListener.next());
+                assertEquals("moved " + move, secondListener.next());
+                model.makeMove(move);
+            }
+            if (!model.getResult().isOver()) {
+                players[0].leave();
+            }
+            for (var channel : spectators) {
+                var seen = new BoardGameModel(BoardLayout.DEFAULT).copyState();
+                var input = ByteBuffer.allocate(1 << 12);
+                boolean over = false;
+                while (!over && channel.read(input) >= 0) {
+                    input.flip();
+                    while (!over && Protocol.hasFrame(input)) {
+                        switch (input.get()) {
+                            case Protocol.SNAPSHOT -> {
+                                input.getInt();
+                                var side = StoneColor.values()[input.get()];
+                                input.getInt();
+                                var squares = new int[input.getShort()];
+                                for (int i = 0; i < squares.length; i++) {
+                                    squares[i] = input.getShort();
+                                }
+                                seen.setPosition(squares, side);
+                            }
+                            case Protocol.MOVED -> seen.makeMove(Protocol.getMove(input));
+                            case Protocol.OVER -> over = true;
+                            default -> fail();
+                        }
+                    }
+                    input.compact();
+                }
+                assertTrue(over);
+                assertEquals(model.getHash(), seen.getHash());
+            }
+        } finally {
+            for (var channel : spectators) {
+                channel.close();
+            }
+        }
+    }
+
+    @Test
+    void read_dropsAClientSendingServerFrames() throws Exception {
+        try (var channel = SocketChannel.open(server.getAddress())) {
+            assertTrue(waitFor(() -> server.getConnectionCount() == 1));
+            var frame = ByteBuffer.allocate(Protocol.SNAPSHOT_HEADER_LENGTH).put(Protocol.SNAPSHOT).putInt(0)
+                    .put((byte) 0).putInt(0).putShort((short) 0xFFFF).flip();
+            channel.write(frame);
+            assertTrue(waitFor(() -> server.getConnectionCount() == 0));
+            assertEquals(-1, channel.read(ByteBuffer.allocate(1)));
+        }
+    }
+
+    @Test
+    void loadGenerator() throws IOException {
+        var report = new LoadGenerator(server.getAddress(), BoardLayout.DEFAULT, 2000, 2, 23).run(60_000);
+        assertEquals(2000, report.games());
+        assertEquals(0, report.rejected());
+        assertTrue(report.moves() > report.games());
+    }
+
+    /**
+     * Pairs the clients given, whichever joins first, and returns them ordered blue first.
+     */
+    private GameClient[] start(GameClient first, RecordingListener firstListener, GameClient second,
+                               RecordingListener secondListener) throws Exception {
+        first.join();
+        second.join();
+        assertTrue(firstListener.next().startsWith("started"));
+        assertTrue(secondListener.next().startsWith("started"));
+        assertEquals(firstListener.game, secondListener.game);
+        return firstListener.color == StoneColor.BLUE
+                ? new GameClient[] {first, second} : new GameClient[] {second, first};
+    }
+
+    private static boolean waitFor(BooleanSupplier condition) throws InterruptedException {
+        for (int i = 0; i < 500 && !condition.getAsBoolean(); i++) {
+            Thread.sleep(10);
+        }
+        return condition.getAsBoolean();
+    }
+}
@@ -0,0 +1,129 @@
+package boardGame.session;
+
+import boardGame.BoardGameModel.BoardChanged;
+import boardGame.BoardGameModel.BoardGameModel;
+import boardGame.BoardGameModel.BoardState;
+import boardGame.GameSessionInformation.GameRecordReader;
+import boardGame.GameSessionInformation.GameRecordWriter;
+import boardGame.GameSessionInformation.GameSessionInformation;
+import boardGame.Stone.StoneDirection;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class GameRecordTest {
+
+    private static GameSessionInformation information() {
+        var information = new GameSessionInformation();
+        information.setZonedDateTime("10/17/2026 - 12:00:00 UTC");
+        information.setFirstPlayerName("Alice");
+        information.setSecondPlayerName("Bob");
+        return information;
+    }
+
+    private static byte[] record(BoardGameModel model, int plies, boolean finish) throws IOException {
+        var bytes = new ByteArrayOutputStream();
+        try (var writer = new GameRecordWriter(bytes, information(), model.getStoneCount())) {
+            int[] moves = new int[model.getStoneCount() * 4];
+            for (int ply = 0; ply < plies && model.generateMoves(moves) > 0; ply++) {
+                int move = moves[ply % model.generateMoves(moves)];
+                model.move(BoardState.moveStone(move), BoardState.moveDirection(move));
+                writer.writeMove(BoardState.moveStone(move), BoardState.moveDirection(move));
+            }
+            if (finish) {
+                writer.finish();
+            }
+        }
+        return bytes.toByteArray();
+    }
+
+    @Test
+    void replay_restoresTheGame() throws IOException {
+        var played = new BoardGameModel();
+        var bytes = record(played, 30, true);
+        var replayed = new BoardGameModel();
+
+        try (var reader = new GameRecordReader(new ByteArrayInputStream(bytes))) {
+            assertEquals(information(), reader.getSessionInformation());
+            assertEquals(30, reader.replay(replayed));
+            assertTrue(reader.isFinished());
+        }
+        assertEquals(played.toString(), replayed.toString());
+        assertEquals(played.getHash(), replayed.getHash());
+    }
+
+    @Test
+    void replay_takesBackUndoneMoves() throws IOException {
+        var bytes = new ByteArrayOutputStream();
+        try (var writer = new GameRecordWriter(bytes, information(), 14)) {
+            writer.writeMove(3, StoneDirection.DOWN_DIAGONAL_RIGHT);
+            writer.writeMove(9, StoneDirection.UP_DIAGONAL_RIGHT);
+            writer.writeUndo();
+            writer.writeMove(10, StoneDirection.UP_DIAGONAL_LEFT);
+        }
+        var expected = new BoardGameModel();
+        expected.move(3, StoneDirection.DOWN_DIAGONAL_RIGHT);
+        expected.move(10, StoneDirection.UP_DIAGONAL_LEFT);
+        var replayed = new BoardGameModel();
+        var events = new ArrayList<BoardChanged>();
+        replayed.addBoardChangeListener(events::add);
+
+        try (var reader = new GameRecordReader(new ByteArrayInputStream(bytes.toByteArray()))) {
+            assertEquals(2, reader.replay(replayed));
+        }
+        assertEquals(expected.toString(), replayed.toString());
+        assertEquals(1, events.size());
+        assertEquals(2, events.get(0).changes().size());
+    }
+
+    @Test
+    void writeMove_takesOneByte() throws IOException {
+        var shorter = record(new BoardGameModel(), 10, true);
+        var longer = record(new BoardGameModel(), 30, true);
+
+        assertEquals(20, longer.length - shorter.length);
+        assertEquals((byte) GameRecordWriter.END, longer[longer.length - 1]);
+    }
+
+    @Test
+    void replay_unfinishedRecord() throws IOException {
+        var bytes = record(new BoardGameModel(), 12, false);
+
+        try (var reader = new GameRecordReader(new ByteArrayInputStream(bytes))) {
+            assertEquals(12, reader.replay(new BoardGameModel()));
+            assertFalse(reader.isFinished());
+            assertEquals(-1, reader.readMove());
+        }
+    }
+
+    @Test
+    void readMove_recordsBackToBack() throws IOException {
+        var first = record(new BoardGameModel(), 5, true);
+        var second = record(new BoardGameModel(), 7, true);
+        var both = Arrays.copyOf(first, first.length + second.length);
+        System.arraycopy(second, 0, both, first.length, second.length);
+        var input = new ByteArrayInputStream(both);
+
+        assertEquals(5, new GameRecordReader(input).replay(new BoardGameModel()));
+        assertEquals(7, new GameRecordReader(input).replay(new BoardGameModel()));
+    }
+
+    @Test
+    void writeMove_shouldThrowIllegalStateException() throws IOException {
+        var writer = new GameRecordWriter(new ByteArrayOutputStream(), information(), 14);
+        writer.finish();
+
+        assertThrows(IllegalStateException.class, () -> writer.writeMove(0, StoneDirection.DOWN_DIAGONAL_LEFT));
+    }
+
+    @Test
+    void constructor_shouldThrowIOException() {
+        assertThrows(IOException.class, () -> new GameRecordReader(new ByteArrayInputStream(new byte[]{1, 2, 3, 4, 5})));
+    }
+}
@@ -0,0 +1,171 @@
+package boardGame.tablebase;
+
+import boardGame.BoardGameModel.BoardGameModel;
+import boardGame.Movement.Position;
+import boardGame.Stone.Stone;
+import boardGame.Stone.StoneColor;
+import boardGame.Stone.StoneDirection;
+import boardGame.Tablebase.PositionIndexer;
+import boardGame.Tablebase.RetrogradeSolver;
+import boardGame.Tablebase.Tablebase;
+import boardGame.Tablebase.TablebaseValue;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RetrogradeSolverTest {
+
+    @TempDir
+    Path directory;
+
+    private static BoardGameModel createModel() {
+        return new BoardGameModel(new Stone(StoneColor.BLUE, new Position(0, 0)),
+                new Stone(StoneColor.BLUE, new Position(0, 2)),
+                new Stone(StoneColor.RED, new Position(4, 2)),
+                new Stone(StoneColor.RED, new Position(4, 4)));
+    }
+
+    @Test
+    void unrank() {
+        var state = createModel().copyState();
+        var indexer = new PositionIndexer(state);
+        assertEquals(300L * 253 * 2, indexer.size());
+        var copy = state.copy();
+        for (long index = 0; index < indexer.size(); index += 97) {
+            indexer.unrank(index, copy);
+            assertEquals(index, indexer.index(copy));
+        }
+    }
+
+    @Test
+    void canonicalIndex() {
+        var state = createModel().copyState();
+        var indexer = new PositionIndexer(state);
+        var image = state.copy();
+        for (long index = 0; index < indexer.size(); index += 89) {
+            indexer.unrank(index, state);
+            long canonical = indexer.canonicalIndex(state);
+            assertTrue(canonical <= index);
+            indexer.unrank(canonical, image);
+            assertEquals(canonical, indexer.canonicalIndex(image));
+            assertEquals(state.getCanonicalHash(), image.getCanonicalHash());
+        }
+    }
+
+    @Test
+    void probe_isConsistentWithSuccessors() throws IOException {
+        var path = directory.resolve("variant.tb");
+        var state = createModel().copyState();
+        new RetrogradeSolver(state, path, 2, 1 << 20).solve();
+        var indexer = new PositionIndexer(state);
+        var moves = new int[16];
+
+        try (var tablebase = Tablebase.open(path)) {
+            for (long index = 0; index < indexer.size(); index += 7) {
+                indexer.unrank(index, state);
+                var value = tablebase.probe(state);
+                if (value.distance() == 0) {
+                    continue;
+                }
+                int count = state.generateMoves(moves);
+                int bestLoss = Integer.MAX_VALUE;
+                int worstWin = -1;
+                boolean allWins = true;
+                for (int i = 0; i < count; i++) {
+                    state.makeMove(moves[i]);
+                    var child = tablebase.probe(state);
+                    state.unmakeMove(moves[i]);
+                    if (child.outcome() == TablebaseValue.Outcome.LOSS) {
+                        bestLoss = Math.min(bestLoss, child.distance());
+                    }
+                    if (child.outcome() == TablebaseValue.Outcome.WIN) {
+                        worstWin = Math.max(worstWin, child.distance());
+                    } else {
+                        allWins = false;
+                    }
+                }
+                switch (value.outcome()) {
+                    case WIN -> assertEquals(value.distance() - 1, bestLoss);
+                    case LOSS -> {
+                        assertTrue(allWins);
+                        assertEquals(value.distance() - 1, worstWin);
+                    }
+                    case DRAW -> fail();
+                }
+            }
+        }
+        assertFalse(Files.exists(directory.resolve("variant.tb.checkpoint")));
+    }
+
+    @Test
+    void probe_finishedGame() throws IOException {
+        var path = directory.resolve("single.tb");
+        var model = new BoardGameModel(new Stone(StoneColor.BLUE, new Position(0, 0)),
+                new Stone(StoneColor.RED, new Position(4, 4)));
+        new RetrogradeSolver(model.copyState(), path, 1, 1 << 20).solve();
+        model.move(0, StoneDirection.DOWN_DIAGONAL_RIGHT);
+        model.move(1, StoneDirection.UP_DIAGONAL_LEFT);
+        model.move(0, StoneDirection.DOWN_DIAGONAL_RIGHT);
+        model.move(1, StoneDirection.UP_DIAGONAL_RIGHT);
+
+        try (var tablebase = Tablebase.open(path)) {
+            assertEquals(new TablebaseValue(TablebaseValue.Outcome.WIN, 3), model.probe(tablebase));
+        }
+    }
+
+    @Test
+    void solve_resumesFromCheckpoint() throws IOException {
+        var interrupted = directory.resolve("interrupted.tb");
+        var complete = directory.resolve("complete.tb");
+        assertFalse(new RetrogradeSolver(createModel().copyState(), interrupted, 2, 1 << 16).solve(3));
+        assertTrue(Files.exists(directory.resolve("interrupted.tb.checkpoint")));
+
+        assertTrue(new RetrogradeSolver(createModel().copyState(), interrupted, 3, 1 << 16).solve(Integer.MAX_VALUE));
+        new RetrogradeSolver(createModel().copyState(), complete, 1, 1 << 20).solve();
+
+        assertArrayEquals(Files.readAllBytes(complete), Files.readAllBytes(interrupted));
+    }
+
+    @Test
+    void solve_resumesARoundInterruptedAfterWritingResults() throws IOException {
+        var interrupted = directory.resolve("interrupted.tb");
+        var checkpoint = directory.resolve("interrupted.tb.checkpoint");
+        var complete = directory.resolve("complete.tb");
+        var solver = new RetrogradeSolver(createModel().copyState(), interrupted, 1, 1 << 16);
+        assertFalse(solver.solve(39));
+        byte[] saved = Files.readAllBytes(checkpoint);
+        assertFalse(solver.solve(1));
+        Files.write(checkpoint, saved);
+
+        assertTrue(solver.solve(Integer.MAX_VALUE));
+        new RetrogradeSolver(createModel().copyState(), complete, 1, 1 << 20).solve();
+        assertArrayEquals(Files.readAllBytes(complete), Files.readAllBytes(interrupted));
+    }
+
+    @Test
+    void solve_restartsWhenTheLayoutChanged() throws IOException {
+        var path = directory.resolve("variant.tb");
+        assertFalse(new RetrogradeSolver(createModel().copyState(), path, 1, 1 << 12).solve(45));
+        var other = new BoardGameModel(new Stone(StoneColor.BLUE, new Position(0, 0)),
+                new Stone(StoneColor.BLUE, new Position(0, 4)),
+                new Stone(StoneColor.RED, new Position(4, 0)),
+                new Stone(StoneColor.RED, new Position(4, 4)));
+        var complete = directory.resolve("complete.tb");
+
+        assertTrue(new RetrogradeSolver(other.copyState(), path, 1, 1 << 12).solve(Integer.MAX_VALUE));
+        new RetrogradeSolver(other.copyState(), complete, 1, 1 << 20).solve();
+        assertArrayEquals(Files.readAllBytes(complete), Files.readAllBytes(path));
+    }
+
+    @Test
+    void open_shouldThrowIOExceptionWhenNotSolved() throws IOException {
+        var path = directory.resolve("partial.tb");
+        new RetrogradeSolver(createModel().copyState(), path, 1, 4096).solve(1);
+        assertThrows(IOException.class, () -> Tablebase.open(path));
+    }
+}
@@ -0,0 +1,87 @@
+package boardGame.tournament;
+
+import boardGame.BoardGameModel.BoardGameModel;
+import boardGame.BoardGameModel.BoardState;
+import boardGame.Tournament.Player;
+import boardGame.Tournament.PlayerFactory;
+import boardGame.Tournament.Tournament;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TournamentTest {
+
+    @Test
+    void play_countsEveryGame() {
+        var result = new Tournament(PlayerFactory.parse("random"), PlayerFactory.parse("random"), 3, 60).play(40);
+
+        assertEquals(40, result.games());
+        assertEquals(40, result.firstWins() + result.secondWins() + result.draws());
+        assertTrue(result.averageLength() > 0 && result.averageLength() <= 60);
+    }
+
+    @Test
+    void play_isRepeatable() {
+        var first = new Tournament(PlayerFactory.parse("greedy"), PlayerFactory.parse("random"), 2, 100).play(20);
+        var second = new Tournament(PlayerFactory.parse("greedy"), PlayerFactory.parse("random"), 1, 100).play(20);
+
+        assertEquals(first.firstWins(), second.firstWins());
+        assertEquals(first.plies(), second.plies());
+    }
+
+    @Test
+    void play_closesThePlayers() {
+        var created = new AtomicInteger();
+        var closed = new AtomicInteger();
+        var random = PlayerFactory.parse("random");
+        PlayerFactory counting = seed -> {
+            created.incrementAndGet();
+            var player = random.create(seed);
+            return new Player() {
+                @Override
+                public int chooseMove(BoardGameModel model) {
+                    return player.chooseMove(model);
+                }
+
+                @Override
+                public void close() {
+                    closed.incrementAndGet();
+                }
+            };
+        };
+
+        new Tournament(counting, counting, 2, 60).play(10);
+
+        assertEquals(20, created.get());
+        assertEquals(20, closed.get());
+    }
+
+    @Test
+    void chooseMove_searchPlayersReturnValidMoves() {
+        var model = new BoardGameModel();
+        for (var specification : new String[]{"search:50:3", "mcts:200", "search:50:3:2", "mcts:200:1000:2"}) {
+            try (var player = PlayerFactory.parse(specification).create(0)) {
+                int move = player.chooseMove(model);
+                assertTrue(model.isValidMove(BoardState.moveStone(move), BoardState.moveDirection(move)));
+            }
+        }
+    }
+
+    @Test
+    void parse_shouldThrowIllegalArgumentException() {
+        assertThrows(IllegalArgumentException.class, () -> PlayerFactory.parse("minimax"));
+        assertThrows(IllegalArgumentException.class, () -> PlayerFactory.parse("search"));
+        assertThrows(IllegalArgumentException.class, () -> PlayerFactory.parse("search:0"));
+        assertThrows(IllegalArgumentException.class, () -> PlayerFactory.parse("mcts:many"));
+        assertThrows(IllegalArgumentException.class, () -> PlayerFactory.parse("search:50:3:0"));
+        assertThrows(IllegalArgumentException.class, () -> PlayerFactory.parse("mcts:200:1000:0"));
+    }
+
+    @Test
+    void constructor_shouldThrowIllegalArgumentException() {
+        assertThrows(IllegalArgumentException.class,
+                () -> new Tournament(PlayerFactory.parse("random"), PlayerFactory.parse("random"), 0, 10));
+    }
+}
@@ -1,20 +0,0 @@
-package boardGame;
-
-import java.io.IOException;
-import javafx.application.Application;
-import javafx.fxml.FXMLLoader;
-import javafx.scene.Parent;
-import javafx.scene.Scene;
-import javafx.stage.Stage;
-
-
-public class BoardGameApplication extends Application {
-
-    @Override
-    public void start(Stage stage) throws IOException {
-        Parent root = FXMLLoader.load(getClass().getResource("/fxml/playerName.fxml"));
-        stage.setTitle("Project Board Game");
-        stage.setScene(new Scene(root));
-        stage.show();
-    }
-}
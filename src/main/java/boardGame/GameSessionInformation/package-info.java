@@ -1,4 +0,0 @@
-/**
- * Includes the game session information.
- */
-package boardGame.GameSessionInformation;
\ No newline at end of file
@@ -1,4 +0,0 @@
-/**
- * Defines the Position class and Direction interface.
- */
-package boardGame.Movement;
\ No newline at end of file
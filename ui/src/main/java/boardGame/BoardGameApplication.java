@@ -0,0 +1,62 @@
+package boardGame;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+import boardGame.Journal.SessionJournal;
+import boardGame.Metrics.Metrics;
+import boardGame.Rating.GlickoRatingSystem;
+import boardGame.Rating.RatingService;
+import javafx.application.Application;
+import javafx.fxml.FXMLLoader;
+import javafx.scene.Parent;
+import javafx.scene.Scene;
+import javafx.stage.Stage;
+
+
+public class BoardGameApplication extends Application {
+
+    private static SessionJournal journal;
+    private static RatingService ratings;
+
+    /**
+     * Returns the journal of the game sessions, opened before the first scene is shown.
+     *
+     * @return the session journal
+     */
+    public static SessionJournal getJournal() {
+        return journal;
+    }
+
+    /**
+     * Returns the ratings of the players, caught up with the journal before the first scene is shown.
+     *
+     * @return the rating service
+     */
+    public static RatingService getRatings() {
+        return ratings;
+    }
+
+    @Override
+    public void init() throws IOException {
+        journal = SessionJournal.open(Path.of("journal"));
+        ratings = RatingService.open(Path.of("ratings.snapshot"), new GlickoRatingSystem());
+        ratings.replay(journal);
+        Metrics.GLOBAL.start();
+    }
+
+    @Override
+    public void start(Stage stage) throws IOException {
+        Parent root = FXMLLoader.load(getClass().getResource("/fxml/playerName.fxml"));
+        stage.setTitle("Project Board Game");
+        stage.setScene(new Scene(root));
+        stage.show();
+    }
+
+    @Override
+    public void stop() throws IOException {
+        journal.close();
+        ratings.close();
+        Metrics.GLOBAL.stop();
+    }
+}
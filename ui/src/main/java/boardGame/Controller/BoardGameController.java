@@ -0,0 +1,532 @@
+package boardGame.Controller;
+
+import boardGame.BoardGameApplication;
+import boardGame.BoardGameModel.BoardChanged;
+import boardGame.BoardGameModel.BoardGameModel;
+import boardGame.BoardGameModel.BoardState;
+import boardGame.BoardGameModel.GameResult;
+import boardGame.GameSessionInformation.GameRecordWriter;
+import boardGame.GameSessionInformation.GameSessionInformation;
+import boardGame.Metrics.Metrics;
+import boardGame.Movement.Position;
+import boardGame.Search.Analysis;
+import boardGame.Search.AnalysisService;
+import boardGame.Server.GameClient;
+import boardGame.Server.GameListener;
+import boardGame.Server.Protocol;
+import boardGame.Stone.StoneColor;
+import boardGame.Stone.StoneDirection;
+import javafx.application.Platform;
+import javafx.beans.property.IntegerProperty;
+import javafx.beans.property.SimpleIntegerProperty;
+import javafx.fxml.FXML;
+import javafx.scene.control.Button;
+import javafx.scene.control.Label;
+import javafx.scene.control.TextField;
+import javafx.scene.input.MouseEvent;
+import javafx.scene.layout.GridPane;
+import javafx.scene.layout.StackPane;
+import javafx.scene.paint.Color;
+import javafx.scene.shape.Circle;
+import org.tinylog.Logger;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.StringJoiner;
+
+
+/**
+ * Class representing the board game controller including the rules of the game.
+ * When the {@code boardGame.server} system property names a game server as {@code host[:port]},
+ * the controller is a thin client of it: the moves of the user are sent to the server, which validates
+ * them, and the board only follows the moves the server reports.
+ */
+public class BoardGameController {
+
+    private enum SelectionPhase {
+        SELECT_FROM,
+        SELECT_TO;
+
+        public SelectionPhase alter() {
+            return switch (this) {
+                case SELECT_FROM -> SELECT_TO;
+                case SELECT_TO -> SELECT_FROM;
+            };
+        }
+    }
+
+    private static final int ANALYSIS_LINE_MOVES = 6;
+
+    private SelectionPhase selectionPhase = SelectionPhase.SELECT_FROM;
+
+    private List<Position> selectableBluePositions = new ArrayList<>();
+    private List<Position> selectableRedPositions = new ArrayList<>();
+
+
+    private Position selected;
+
+    private BoardGameModel model = new BoardGameModel();
+
+    @FXML
+    private GridPane gameBoard;
+
+    @FXML
+    private TextField numberOfTurnsField;
+
+    @FXML
+    private Button undoButton;
+
+    @FXML
+    private Button redoButton;
+
+    @FXML
+    private Label analysisLabel;
+
+    PlayerNameController nameController = new PlayerNameController();
+
+    private IntegerProperty numberOfTurns = new SimpleIntegerProperty();
+
+    private BoardRenderer renderer;
+
+    private GameRecordWriter recordWriter;
+
+    private GameSessionInformation sessionInformation;
+
+    private boolean sessionActive;
+
+    private AnalysisService analysisService;
+
+    private long analysedHash;
+
+    private GameClient client;
+
+    private StoneColor onlineColor;
+
+    @FXML
+    private void initialize() {
+        createBoard();
+        createStones();
+        createBindings();
+        setSelectablePositions();
+        showSelectablePositions();
+        renderer.render();
+        analysisService = new AnalysisService(Platform::runLater, this::showAnalysis);
+        updateAnalysis();
+        connectToServer(System.getProperty("boardGame.server"));
+    }
+
+    private void connectToServer(String server) {
+        if (server == null) {
+            return;
+        }
+        int separator = server.lastIndexOf(':');
+        var address = separator < 0 ? new InetSocketAddress(server, Protocol.DEFAULT_PORT)
+                : new InetSocketAddress(server.substring(0, separator),
+                        Integer.parseInt(server.substring(separator + 1)));
+        try {
+            client = GameClient.connect(address, Platform::runLater, new OnlineGame());
+            client.join();
+            Logger.info("Waiting for an opponent on {}", address);
+        } catch (IOException e) {
+            Logger.error(e, "Connecting to the game server failed");
+            client = null;
+        }
+        updateHistoryButtons();
+    }
+
+    /**
+     * Follows the game played on the server, called on the JavaFX application thread.
+     */
+    private class OnlineGame implements GameListener {
+
+        @Override
+        public void gameStarted(StoneColor color, int game) {
+            Logger.info("Playing {} in game {}", color, game);
+            onlineColor = color;
+        }
+
+        @Override
+        public void moveMade(int move) {
+            changeTurn(() -> {
+                var stoneNumber = BoardState.moveStone(move);
+                var direction = BoardState.moveDirection(move);
+                Logger.debug("Server moved stone {} {}", stoneNumber, direction);
+                model.makeMove(move);
+                recordMove(stoneNumber, direction);
+                numberOfTurns.set(numberOfTurns.get() + 1);
+                checkWinner();
+            });
+        }
+
+        @Override
+        public void moveRejected(int move) {
+            Logger.warn("The server rejected stone {} {}", BoardState.moveStone(move),
+                    BoardState.moveDirection(move));
+        }
+
+        @Override
+        public void gameOver(GameResult result) {
+            Logger.info("The online game is over: {}", result);
+            onlineColor = null;
+        }
+
+        @Override
+        public void disconnected() {
+            Logger.warn("Disconnected from the game server");
+            onlineColor = null;
+        }
+    }
+
+    /**
+     * Starts recording the moves of the game into a new file of the {@code games} directory,
+     * the result of the game is also appended to the session journal.
+     *
+     * @param information the session information stored in the header of the record
+     * @throws IOException if the record cannot be created
+     */
+    public void startRecording(GameSessionInformation information) throws IOException {
+        sessionInformation = information;
+        sessionActive = true;
+        if (Metrics.ENABLED) {
+            Metrics.GLOBAL.sessionStarted();
+        }
+        var directory = Files.createDirectories(Path.of("games"));
+        var file = directory.resolve("game-" + System.currentTimeMillis() + ".sgr");
+        recordWriter = new GameRecordWriter(new BufferedOutputStream(Files.newOutputStream(file)),
+                information, model.getStoneCount());
+        Logger.debug("Recording the game into {}", file);
+    }
+
+    /**
+     * Stops the analysis and releases its threads, called once the window of the game is closed.
+     * A game still in progress is abandoned.
+     */
+    public void close() {
+        endSession();
+        analysisService.close();
+    }
+
+    private void endSession() {
+        if (!sessionActive) {
+            return;
+        }
+        sessionActive = false;
+        if (Metrics.ENABLED) {
+            Metrics.GLOBAL.sessionEnded();
+        }
+    }
+
+    private void recordMove(int stoneNumber, StoneDirection direction) {
+        var result = model.getResult();
+        if (sessionInformation != null && result.isOver()) {
+            endSession();
+            BoardGameApplication.getJournal().appendResult(sessionInformation, result.name())
+                    .thenAccept(BoardGameApplication.getRatings()::apply)
+                    .exceptionally(failure -> {
+                        Logger.error(failure, "Journaling the result failed");
+                        return null;
+                    });
+        }
+        if (recordWriter == null) {
+            return;
+        }
+        try {
+            recordWriter.writeMove(stoneNumber, direction);
+            if (result.isOver()) {
+                recordWriter.finish();
+                recordWriter.close();
+                recordWriter = null;
+            } else {
+                recordWriter.flush();
+            }
+        } catch (IOException e) {
+            Logger.error(e, "Recording the game failed");
+            recordWriter = null;
+        }
+    }
+
+    private void recordUndo() {
+        if (recordWriter == null) {
+            return;
+        }
+        try {
+            recordWriter.writeUndo();
+            recordWriter.flush();
+        } catch (IOException e) {
+            Logger.error(e, "Recording the game failed");
+            recordWriter = null;
+        }
+    }
+
+    private void createBoard() {
+        renderer = new BoardRenderer(gameBoard, model.getSize(), model.getSize(),
+                this::handleMouseClick);
+    }
+
+    private void createStones() {
+        for (int i = 0; i < model.getStoneCount(); i++) {
+            var stone = createStone(Color.valueOf(model.getStoneColor(i).name()));
+            renderer.placeStone(i, stone, model.getStonePosition(i));
+        }
+        model.addBoardChangeListener(this::boardChanged);
+    }
+
+    private Circle createStone(Color color) {
+        var stone = new Circle(50);
+        stone.setFill(color);
+        return stone;
+    }
+
+    private void createBindings() {
+        numberOfTurnsField.textProperty().bind(numberOfTurns.asString());
+    }
+
+    private void checkWinner() {
+        var result = model.getResult();
+        if (result.getWinner() != null) {
+            Logger.debug("{} is the winner!", result.getWinner());
+        } else if (result == GameResult.DRAW) {
+            Logger.debug("The game is a draw, {} cannot move", model.getSideToMove());
+        }
+    }
+
+    @FXML
+    private void handleMouseClick(MouseEvent mouseEvent) {
+        var square = (StackPane) mouseEvent.getSource();
+        var row = GridPane.getRowIndex(square);
+        var col = GridPane.getColumnIndex(square);
+        var position = model.getPositionTable().get(row, col);
+        Logger.debug("Click on square {}", position);
+        handleClickOnSquare(position);
+        updateHistoryButtons();
+        renderer.render();
+        updateAnalysis();
+    }
+
+    @FXML
+    private void handleUndo() {
+        if (client != null || !model.canUndo() || model.getResult().isOver()) {
+            return;
+        }
+        changeTurn(() -> {
+            int move = model.undo();
+            Logger.debug("Undoing stone {} {}", BoardState.moveStone(move), BoardState.moveDirection(move));
+            numberOfTurns.set(numberOfTurns.get() - 1);
+            recordUndo();
+        });
+    }
+
+    @FXML
+    private void handleRedo() {
+        if (client != null || !model.canRedo() || model.getResult().isOver()) {
+            return;
+        }
+        changeTurn(() -> {
+            int move = model.redo();
+            Logger.debug("Redoing stone {} {}", BoardState.moveStone(move), BoardState.moveDirection(move));
+            numberOfTurns.set(numberOfTurns.get() + 1);
+            recordMove(BoardState.moveStone(move), BoardState.moveDirection(move));
+            checkWinner();
+        });
+    }
+
+    private void changeTurn(Runnable change) {
+        hideSelectablePositions();
+        if (selected != null) {
+            deselectSelectedPosition();
+        }
+        selectionPhase = SelectionPhase.SELECT_FROM;
+        change.run();
+        setSelectablePositions();
+        showSelectablePositions();
+        updateHistoryButtons();
+        renderer.render();
+        updateAnalysis();
+    }
+
+    /**
+     * Starts analysing the position in the background if it changed, the running analysis is stopped.
+     */
+    private void updateAnalysis() {
+        if (model.getResult().isOver()) {
+            analysisService.stop();
+            analysisLabel.setText("");
+            return;
+        }
+        if (model.getHash() != analysedHash) {
+            analysedHash = model.getHash();
+            analysisLabel.setText("Analysing...");
+            analysisService.analyze(model.copyState());
+        }
+    }
+
+    private void showAnalysis(Analysis analysis) {
+        if (analysis.hash() != model.getHash() || model.getResult().isOver()) {
+            return;
+        }
+        var state = model.copyState();
+        var positions = model.getPositionTable();
+        var line = new StringJoiner(" ");
+        for (int move : analysis.line().subList(0, Math.min(ANALYSIS_LINE_MOVES, analysis.line().size()))) {
+            int from = state.getSquare(BoardState.moveStone(move));
+            int to = state.getNeighbour(from, BoardState.moveDirection(move));
+            line.add(positions.get(from) + "-" + positions.get(to));
+            state.makeMove(move);
+        }
+        analysisLabel.setText(String.format("Depth %d, %s %+d: %s", analysis.depth(),
+                model.getSideToMove(), analysis.score(), line));
+    }
+
+    private void updateHistoryButtons() {
+        boolean over = client != null || model.getResult().isOver();
+        undoButton.setDisable(over || !model.canUndo());
+        redoButton.setDisable(over || !model.canRedo());
+    }
+
+    private void handleClickOnSquare(Position position) {
+        if (model.getResult().isOver() || client != null && model.getSideToMove() != onlineColor) {
+            return;
+        }
+        if (numberOfTurns.getValue() % 2 == 0) {
+            switch (selectionPhase) {
+                case SELECT_FROM -> {
+                    if (selectableBluePositions.contains(position)) {
+                        selectPosition(position);
+                        alterSelectionPhase();
+                    }
+                }
+                case SELECT_TO -> {
+                    if (selectableBluePositions.contains(position)) {
+                        var stoneNumber = model.getBlueStoneNumber(selected).getAsInt();
+                        var direction = StoneDirection.of(position.row() - selected.row(), position.col() - selected.col());
+                        playMove(stoneNumber, direction);
+                    }
+                }
+            }
+        } else {
+            switch (selectionPhase) {
+                case SELECT_FROM -> {
+                    if (selectableRedPositions.contains(position)) {
+                        selectPosition(position);
+                        alterSelectionPhase();
+                    }
+                }
+                case SELECT_TO -> {
+                    if (selectableRedPositions.contains(position)) {
+                        var stoneNumber = model.getRedStoneNumber(selected).getAsInt();
+                        var direction = StoneDirection.of(position.row() - selected.row(), position.col() - selected.col());
+                        playMove(stoneNumber, direction);
+                    }
+                }
+            }
+        }
+    }
+
+    private void playMove(int stoneNumber, StoneDirection direction) {
+        if (client != null) {
+            Logger.debug("Sending stone {} {}", stoneNumber, direction);
+            try {
+                client.sendMove(BoardState.encodeMove(stoneNumber, direction));
+            } catch (IOException e) {
+                Logger.error(e, "Sending the move failed");
+            }
+            deselectSelectedPosition();
+            alterSelectionPhase();
+            return;
+        }
+        Logger.debug("Moving stone {} {}", stoneNumber, direction);
+        model.move(stoneNumber, direction);
+        recordMove(stoneNumber, direction);
+        numberOfTurns.set(numberOfTurns.get() + 1);
+        deselectSelectedPosition();
+        alterSelectionPhase();
+        checkWinner();
+    }
+
+    private void alterSelectionPhase() {
+        selectionPhase = selectionPhase.alter();
+        hideSelectablePositions();
+        setSelectablePositions();
+        showSelectablePositions();
+    }
+
+    private void selectPosition(Position position) {
+        selected = position;
+        showSelectedPosition();
+    }
+
+    private void showSelectedPosition() {
+        renderer.setSelected(selected, true);
+    }
+
+    private void deselectSelectedPosition() {
+        hideSelectedPosition();
+        selected = null;
+    }
+
+    private void hideSelectedPosition() {
+        renderer.setSelected(selected, false);
+    }
+
+    private void setSelectablePositions() {
+        if (numberOfTurns.getValue() % 2 == 0) {
+            selectableBluePositions.clear();
+            switch (selectionPhase) {
+                case SELECT_FROM -> selectableBluePositions.addAll(model.getBluePositions());
+                case SELECT_TO -> {
+                    var stoneNumber = model.getBlueStoneNumber(selected).getAsInt();
+                    for (var direction : model.getValidMoves(stoneNumber)) {
+                        selectableBluePositions.add(model.getPositionTable().moveTo(selected, direction));
+                    }
+                }
+            }
+        } else {
+            selectableRedPositions.clear();
+            switch (selectionPhase) {
+                case SELECT_FROM -> selectableRedPositions.addAll(model.getRedPositions());
+                case SELECT_TO -> {
+                    var stoneNumber = model.getRedStoneNumber(selected).getAsInt();
+                    for (var direction : model.getValidMoves(stoneNumber)) {
+                        selectableRedPositions.add(model.getPositionTable().moveTo(selected, direction));
+                    }
+                }
+            }
+        }
+    }
+
+    private void showSelectablePositions() {
+        if (numberOfTurns.getValue() % 2 == 0) {
+            for (var selectablePosition : selectableBluePositions) {
+                renderer.setSelectable(selectablePosition, true);
+            }
+        } else {
+            for (var selectablePosition : selectableRedPositions) {
+                renderer.setSelectable(selectablePosition, true);
+            }
+        }
+
+    }
+
+    private void hideSelectablePositions() {
+        if (numberOfTurns.getValue() % 2 == 0) {
+            for (var selectablePosition : selectableBluePositions) {
+                renderer.setSelectable(selectablePosition, false);
+            }
+        } else {
+            for (var selectablePosition : selectableRedPositions) {
+                renderer.setSelectable(selectablePosition, false);
+            }
+        }
+
+    }
+
+    private void boardChanged(BoardChanged event) {
+        Logger.debug("Board changed {}", event.changes());
+        renderer.moveStones(event);
+    }
+}
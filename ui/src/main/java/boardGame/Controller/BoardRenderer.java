@@ -0,0 +1,159 @@
+package boardGame.Controller;
+
+import boardGame.BoardGameModel.BoardChanged;
+import boardGame.Movement.Position;
+import javafx.event.EventHandler;
+import javafx.scene.Node;
+import javafx.scene.input.MouseEvent;
+import javafx.scene.layout.GridPane;
+import javafx.scene.layout.StackPane;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Class drawing the squares of the game board, indexed by row and column.
+ * The highlights of the squares are first set as the wanted state and then rendered at once,
+ * only the squares whose wanted state differs from the drawn state get their style classes touched,
+ * so the cost of a repaint depends on the number of changed squares and not on the board size.
+ * The stones are moved by whole {@link BoardChanged} events, so a replayed sequence of moves
+ * touches each moved stone once.
+ */
+class BoardRenderer {
+
+    private static final int SELECTED = 1;
+    private static final int SELECTABLE = 2;
+
+    private final StackPane[][] squares;
+    private final int[][] wanted;
+    private final int[][] drawn;
+    private final List<Position> dirty = new ArrayList<>();
+    private Node[] stones = new Node[0];
+
+    /**
+     * Creates the squares of the board given.
+     *
+     * @param board   the grid receiving the squares
+     * @param rows    the number of rows
+     * @param cols    the number of columns
+     * @param onClick the handler of the clicks on a square
+     */
+    BoardRenderer(GridPane board, int rows, int cols, EventHandler<MouseEvent> onClick) {
+        squares = new StackPane[rows][cols];
+        wanted = new int[rows][cols];
+        drawn = new int[rows][cols];
+        for (int i = 0; i < rows; i++) {
+            for (int j = 0; j < cols; j++) {
+                var square = new StackPane();
+                square.getStyleClass().add("square");
+                square.setOnMouseClicked(onClick);
+                board.add(square, j, i);
+                squares[i][j] = square;
+            }
+        }
+    }
+
+    /**
+     * Returns the square at the position given.
+     *
+     * @param position the position of the square
+     * @return the square at the position
+     */
+    StackPane getSquare(Position position) {
+        return squares[position.row()][position.col()];
+    }
+
+    /**
+     * Sets whether the square at the position given is shown as selected at the next rendering.
+     *
+     * @param position the position of the square
+     * @param selected whether the square is selected
+     */
+    void setSelected(Position position, boolean selected) {
+        setFlag(position, SELECTED, selected);
+    }
+
+    /**
+     * Sets whether the square at the position given is shown as selectable at the next rendering.
+     *
+     * @param position   the position of the square
+     * @param selectable whether the square is selectable
+     */
+    void setSelectable(Position position, boolean selectable) {
+        setFlag(position, SELECTABLE, selectable);
+    }
+
+    private void setFlag(Position position, int flag, boolean value) {
+        int row = position.row();
+        int col = position.col();
+        int state = value ? wanted[row][col] | flag : wanted[row][col] & ~flag;
+        if (state != wanted[row][col]) {
+            if (wanted[row][col] == drawn[row][col]) {
+                dirty.add(position);
+            }
+            wanted[row][col] = state;
+        }
+    }
+
+    /**
+     * Draws the stone given on the square at the position given.
+     *
+     * @param stoneNumber the number of the stone
+     * @param stone       the node drawing the stone
+     * @param position    the position of the stone
+     */
+    void placeStone(int stoneNumber, Node stone, Position position) {
+        if (stoneNumber >= stones.length) {
+            stones = Arrays.copyOf(stones, stoneNumber + 1);
+        }
+        stones[stoneNumber] = stone;
+        getSquare(position).getChildren().add(stone);
+    }
+
+    /**
+     * Moves the stones changed by the event given. All of them leave their squares before any of them
+     * is added to its new square, so a stone may move to a square another stone of the event left.
+     *
+     * @param event the changes of the board
+     */
+    void moveStones(BoardChanged event) {
+        for (var change : event.changes()) {
+            getSquare(change.from()).getChildren().remove(stones[change.stoneNumber()]);
+        }
+        for (var change : event.changes()) {
+            getSquare(change.to()).getChildren().add(stones[change.stoneNumber()]);
+        }
+    }
+
+    /**
+     * Applies the wanted highlights to the squares whose drawn state differs.
+     */
+    void render() {
+        for (var position : dirty) {
+            int row = position.row();
+            int col = position.col();
+            int changed = wanted[row][col] ^ drawn[row][col];
+            if (changed == 0) {
+                continue;
+            }
+            var styleClass = squares[row][col].getStyleClass();
+            if ((changed & SELECTED) != 0) {
+                updateStyleClass(styleClass, "selected", (wanted[row][col] & SELECTED) != 0);
+            }
+            if ((changed & SELECTABLE) != 0) {
+                updateStyleClass(styleClass, "selectable", (wanted[row][col] & SELECTABLE) != 0);
+            }
+            drawn[row][col] = wanted[row][col];
+        }
+        dirty.clear();
+    }
+
+    private static void updateStyleClass(List<String> styleClass, String name, boolean present) {
+        if (present) {
+            styleClass.add(name);
+        } else {
+            styleClass.remove(name);
+        }
+    }
+}
@@ -1,7 +1,7 @@
 package boardGame.Controller;
 
+import boardGame.BoardGameApplication;
 import boardGame.GameSessionInformation.GameSessionInformation;
-import com.google.gson.GsonBuilder;
 import javafx.event.ActionEvent;
 import javafx.fxml.FXML;
 import javafx.fxml.FXMLLoader;
@@ -10,9 +10,8 @@ import javafx.scene.Parent;
 import javafx.scene.Scene;
 import javafx.scene.control.TextField;
 import javafx.stage.Stage;
+import org.tinylog.Logger;
 
-import java.io.FileReader;
-import java.io.FileWriter;
 import java.io.IOException;
 import java.time.ZonedDateTime;
 import java.time.format.DateTimeFormatter;
@@ -25,31 +24,41 @@ public class PlayerNameController {
     @FXML
     private TextField secondPlayerInput;
 
-    @FXML
-    protected void sessionInfoToJson() throws IOException {
-
-        var gson = new GsonBuilder().setPrettyPrinting().create();
-
+    private GameSessionInformation createSessionInfo() {
         var gameInfo = new GameSessionInformation();
         DateTimeFormatter formatter = DateTimeFormatter.ofPattern("MM/dd/yyyy - HH:mm:ss z");
         gameInfo.setZonedDateTime(ZonedDateTime.now().format(formatter));
         gameInfo.setFirstPlayerName(firstPlayerInput.getText());
         gameInfo.setSecondPlayerName(secondPlayerInput.getText());
+        return gameInfo;
+    }
 
-        System.out.println(gson.toJson(gameInfo));
-
-        try (var writer = new FileWriter("sessionInfo.json")) {
-            gson.toJson(gameInfo, writer);
-        }
-        System.out.println(gson.fromJson(new FileReader("sessionInfo.json"), GameSessionInformation.class));
+    /**
+     * Appends the start of the session to the session journal without waiting for the write.
+     *
+     * @param gameInfo the session information to journal
+     */
+    protected void journalSessionInfo(GameSessionInformation gameInfo) {
+        BoardGameApplication.getJournal().appendSession(gameInfo).whenComplete((entry, failure) -> {
+            if (failure != null) {
+                Logger.error(failure, "Journaling the session failed");
+            } else {
+                Logger.debug("Journaled session {}", entry);
+            }
+        });
     }
 
     @FXML
     private void switchScene(ActionEvent event) throws IOException {
         Stage stage = (Stage) ((Node) event.getSource()).getScene().getWindow();
-        Parent root = FXMLLoader.load(getClass().getResource("/fxml/ui.fxml"));
+        var loader = new FXMLLoader(getClass().getResource("/fxml/ui.fxml"));
+        Parent root = loader.load();
+        var gameInfo = createSessionInfo();
+        journalSessionInfo(gameInfo);
+        var controller = loader.<BoardGameController>getController();
+        controller.startRecording(gameInfo);
+        stage.setOnHidden(hidden -> controller.close());
         stage.setScene(new Scene(root));
         stage.show();
-        sessionInfoToJson();
     }
 }